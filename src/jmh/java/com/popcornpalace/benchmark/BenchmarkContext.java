@@ -0,0 +1,38 @@
+package com.popcornpalace.benchmark;
+
+import com.popcornpalace.PopcornPalaceApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+//  Application context on a private in-memory H2 database in PostgreSQL mode, without or with a web server
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String database) {
+        return start(database, WebApplicationType.NONE);
+    }
+
+    //  With Tomcat on a random port, read back from local.server.port
+    static ConfigurableApplicationContext startServer(String database) {
+        return start(database, WebApplicationType.SERVLET);
+    }
+
+    private static ConfigurableApplicationContext start(String database, WebApplicationType webApplicationType) {
+        return new SpringApplicationBuilder(PopcornPalaceApplication.class)
+                .web(webApplicationType)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + database
+                                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=ROW;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.flyway.enabled=false",
+                        "server.port=0",
+                        "logging.level.root=WARN")
+                .run();
+    }
+}
@@ -0,0 +1,152 @@
+package com.popcornpalace.benchmark;
+
+import com.popcornpalace.dto.BookingDto;
+import com.popcornpalace.dto.MovieDto;
+import com.popcornpalace.dto.SeatLayoutRequestDto;
+import com.popcornpalace.dto.ShowtimeDto;
+import com.popcornpalace.dto.TheaterDto;
+import com.popcornpalace.entity.Seat;
+import com.popcornpalace.exception.ConflictException;
+import com.popcornpalace.layout.SeatLayout;
+import com.popcornpalace.layout.SeatLayouts;
+import com.popcornpalace.pricing.OccupancyCounters;
+import com.popcornpalace.service.BookingService;
+import com.popcornpalace.service.MovieService;
+import com.popcornpalace.service.ShowtimeService;
+import com.popcornpalace.service.TheaterService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Booking creation through {@link BookingService} on a 1,000-seat theater with 500 upcoming showtimes.
+ * <p>
+ * {@code createBooking} books a different free seat on every call (the bookings are wiped between
+ * iterations, and the in-memory occupancy re-read so later iterations price like the first);
+ * {@code createBookingTaken} always asks for a seat known to be taken, which is rejected before the INSERT.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookingCreateBenchmark {
+
+    static final int SHOWTIMES = 500;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private JdbcTemplate jdbc;
+    private OccupancyCounters occupancyCounters;
+    private long[] showtimeIds;
+    private long[] seatIds;
+    private long takenShowtimeId;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("bench-bookings");
+        bookingService = context.getBean(BookingService.class);
+        jdbc = context.getBean(JdbcTemplate.class);
+        occupancyCounters = context.getBean(OccupancyCounters.class);
+
+        TheaterService theaterService = context.getBean(TheaterService.class);
+        long theaterId = theaterService.createTheater(TheaterDto.builder()
+                .name("Benchmark Hall")
+                .location("Bench")
+                .build()).getId();
+        SeatLayoutRequestDto.TypeRange vipRows = SeatLayoutRequestDto.TypeRange.builder()
+                .seatType(Seat.SeatType.VIP)
+                .fromRow(1)
+                .toRow(2)
+                .build();
+        theaterService.generateLayout(theaterId, SeatLayoutRequestDto.builder()
+                .rows(20)
+                .seatsPerRow(50)
+                .typeRanges(List.of(vipRows))
+                .build());
+        SeatLayout layout = context.getBean(SeatLayouts.class).layoutOf(theaterId);
+        seatIds = new long[layout.size()];
+        for (int i = 0; i < seatIds.length; i++) {
+            seatIds[i] = layout.seatId(i);
+        }
+
+        long movieId = context.getBean(MovieService.class).createMovie(MovieDto.builder()
+                .title("Benchmark Movie")
+                .genre("Drama")
+                .durationMinutes(100)
+                .rating(new BigDecimal("7.0"))
+                .releaseYear(2000)
+                .build()).getId();
+
+        ShowtimeService showtimeService = context.getBean(ShowtimeService.class);
+        LocalDateTime start = LocalDateTime.of(2099, 1, 1, 10, 0);
+        showtimeIds = new long[SHOWTIMES];
+        for (int i = 0; i <= SHOWTIMES; i++) {
+            LocalDateTime startTime = start.plusHours(4L * i);
+            long showtimeId = showtimeService.createShowtime(ShowtimeDto.builder()
+                    .movieId(movieId)
+                    .theaterId(theaterId)
+                    .startTime(startTime)
+                    .endTime(startTime.plusMinutes(100))
+                    .price(new BigDecimal("12.00"))
+                    .build()).getId();
+            if (i < SHOWTIMES) {
+                showtimeIds[i] = showtimeId;
+            } else {
+                takenShowtimeId = showtimeId;
+            }
+        }
+        bookingService.createBooking(booking(takenShowtimeId, seatIds[0]));
+    }
+
+    @Setup(Level.Iteration)
+    public void freeSeats() {
+        jdbc.update("delete from bookings where showtime_id <> ?", takenShowtimeId);
+        // The delete bypasses the service, so no cancellation events reach the counters
+        occupancyCounters.recount();
+        sequence.set(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BookingDto createBooking() {
+        long n = sequence.getAndIncrement();
+        long showtimeId = showtimeIds[(int) (n / seatIds.length % SHOWTIMES)];
+        return bookingService.createBooking(booking(showtimeId, seatIds[(int) (n % seatIds.length)]));
+    }
+
+    @Benchmark
+    public Object createBookingTaken() {
+        try {
+            return bookingService.createBooking(booking(takenShowtimeId, seatIds[0]));
+        } catch (ConflictException e) {
+            return e;
+        }
+    }
+
+    private static BookingDto booking(long showtimeId, long seatId) {
+        return BookingDto.builder()
+                .showtimeId(showtimeId)
+                .seatId(seatId)
+                .customerName("Bench Customer")
+                .customerEmail("bench@example.com")
+                .build();
+    }
+}
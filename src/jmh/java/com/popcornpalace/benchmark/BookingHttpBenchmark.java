@@ -0,0 +1,152 @@
+package com.popcornpalace.benchmark;
+
+import com.popcornpalace.dto.MovieDto;
+import com.popcornpalace.dto.SeatLayoutRequestDto;
+import com.popcornpalace.dto.ShowtimeDto;
+import com.popcornpalace.dto.TheaterDto;
+import com.popcornpalace.layout.SeatLayout;
+import com.popcornpalace.layout.SeatLayouts;
+import com.popcornpalace.pricing.OccupancyCounters;
+import com.popcornpalace.service.MovieService;
+import com.popcornpalace.service.ShowtimeService;
+import com.popcornpalace.service.TheaterService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code POST /api/bookings} end to end: HTTP over loopback to Tomcat, validation, the service, the
+ * database and the response body, on a 1,000-seat theater with 500 upcoming showtimes.
+ * <p>
+ * {@code created} books a different free seat on every call and answers 201 (the bookings are wiped
+ * between iterations, as in {@link BookingCreateBenchmark}); {@code conflict} always asks for the same
+ * taken seat and answers 409. The two should come out close: a known-taken seat is rejected before
+ * the INSERT and its problem body is written from a template.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookingHttpBenchmark {
+
+    static final int SHOWTIMES = 500;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbc;
+    private OccupancyCounters occupancyCounters;
+    private HttpClient client;
+    private URI bookings;
+    private long[] showtimeIds;
+    private long[] seatIds;
+    private long takenShowtimeId;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        context = BenchmarkContext.startServer("bench-bookings-http");
+        jdbc = context.getBean(JdbcTemplate.class);
+        occupancyCounters = context.getBean(OccupancyCounters.class);
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        bookings = URI.create("http://localhost:"
+                + context.getEnvironment().getProperty("local.server.port") + "/api/bookings");
+
+        TheaterService theaterService = context.getBean(TheaterService.class);
+        long theaterId = theaterService.createTheater(TheaterDto.builder()
+                .name("Benchmark Hall")
+                .location("Bench")
+                .build()).getId();
+        theaterService.generateLayout(theaterId, SeatLayoutRequestDto.builder()
+                .rows(20)
+                .seatsPerRow(50)
+                .build());
+        SeatLayout layout = context.getBean(SeatLayouts.class).layoutOf(theaterId);
+        seatIds = new long[layout.size()];
+        for (int i = 0; i < seatIds.length; i++) {
+            seatIds[i] = layout.seatId(i);
+        }
+
+        long movieId = context.getBean(MovieService.class).createMovie(MovieDto.builder()
+                .title("Benchmark Movie")
+                .genre("Drama")
+                .durationMinutes(100)
+                .rating(new BigDecimal("7.0"))
+                .releaseYear(2000)
+                .build()).getId();
+
+        ShowtimeService showtimeService = context.getBean(ShowtimeService.class);
+        LocalDateTime start = LocalDateTime.of(2099, 1, 1, 10, 0);
+        showtimeIds = new long[SHOWTIMES];
+        for (int i = 0; i <= SHOWTIMES; i++) {
+            LocalDateTime startTime = start.plusHours(4L * i);
+            long showtimeId = showtimeService.createShowtime(ShowtimeDto.builder()
+                    .movieId(movieId)
+                    .theaterId(theaterId)
+                    .startTime(startTime)
+                    .endTime(startTime.plusMinutes(100))
+                    .price(new BigDecimal("12.00"))
+                    .build()).getId();
+            if (i < SHOWTIMES) {
+                showtimeIds[i] = showtimeId;
+            } else {
+                takenShowtimeId = showtimeId;
+            }
+        }
+        int status = post(takenShowtimeId, seatIds[0]);
+        if (status != 201) {
+            throw new IllegalStateException("Could not book the taken seat: HTTP " + status);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void freeSeats() {
+        jdbc.update("delete from bookings where showtime_id <> ?", takenShowtimeId);
+        // The delete bypasses the service, so no cancellation events reach the counters
+        occupancyCounters.recount();
+        sequence.set(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int created() throws IOException, InterruptedException {
+        long n = sequence.getAndIncrement();
+        long showtimeId = showtimeIds[(int) (n / seatIds.length % SHOWTIMES)];
+        return post(showtimeId, seatIds[(int) (n % seatIds.length)]);
+    }
+
+    @Benchmark
+    public int conflict() throws IOException, InterruptedException {
+        return post(takenShowtimeId, seatIds[0]);
+    }
+
+    private int post(long showtimeId, long seatId) throws IOException, InterruptedException {
+        String json = "{\"showtimeId\":" + showtimeId + ",\"seatId\":" + seatId
+                + ",\"customerName\":\"Bench Customer\",\"customerEmail\":\"bench@example.com\"}";
+        HttpRequest request = HttpRequest.newBuilder(bookings)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray()).statusCode();
+    }
+}
@@ -0,0 +1,94 @@
+package com.popcornpalace.benchmark;
+
+import com.popcornpalace.dto.BookingDto;
+import com.popcornpalace.dto.DtoMapper;
+import com.popcornpalace.dto.MovieDto;
+import com.popcornpalace.dto.ShowtimeDto;
+import com.popcornpalace.dto.TheaterDto;
+import com.popcornpalace.entity.Booking;
+import com.popcornpalace.entity.Movie;
+import com.popcornpalace.entity.Seat;
+import com.popcornpalace.entity.Showtime;
+import com.popcornpalace.entity.Theater;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+//  Entity to DTO conversions shared by the services
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DtoMappingBenchmark {
+
+    private Movie movie;
+    private Theater theater;
+    private Showtime showtime;
+    private Booking booking;
+
+    @Setup
+    public void setUp() {
+        movie = Movie.builder()
+                .id(1L)
+                .title("Benchmark Movie")
+                .genre("Drama")
+                .durationMinutes(120)
+                .rating(new BigDecimal("7.5"))
+                .releaseYear(2020)
+                .version(3L)
+                .build();
+        theater = Theater.builder()
+                .id(2L)
+                .name("Hall 1")
+                .location("Downtown")
+                .capacity(200)
+                .build();
+        showtime = Showtime.builder()
+                .id(3L)
+                .movie(movie)
+                .theater(theater)
+                .startTime(LocalDateTime.of(2099, 1, 1, 18, 0))
+                .endTime(LocalDateTime.of(2099, 1, 1, 20, 0))
+                .price(new BigDecimal("12.00"))
+                .version(1L)
+                .build();
+        booking = Booking.builder()
+                .id(4L)
+                .showtime(showtime)
+                .showtimeStart(showtime.getStartTime())
+                .seat(Seat.builder().id(5L).row("A").seatNumber("1").seatType(Seat.SeatType.REGULAR).build())
+                .customerName("Bench Customer")
+                .customerEmail("bench@example.com")
+                .totalPrice(new BigDecimal("12.00"))
+                .bookingDate(OffsetDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public MovieDto movie() {
+        return DtoMapper.toDto(movie);
+    }
+
+    @Benchmark
+    public TheaterDto theater() {
+        return DtoMapper.toDto(theater);
+    }
+
+    @Benchmark
+    public ShowtimeDto showtime() {
+        return DtoMapper.toDto(showtime);
+    }
+
+    @Benchmark
+    public BookingDto booking() {
+        return DtoMapper.toDto(booking);
+    }
+}
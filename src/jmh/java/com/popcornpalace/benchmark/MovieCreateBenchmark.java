@@ -0,0 +1,97 @@
+package com.popcornpalace.benchmark;
+
+import com.popcornpalace.cache.MovieTitleFilter;
+import com.popcornpalace.dto.MovieDto;
+import com.popcornpalace.exception.ConflictException;
+import com.popcornpalace.repository.MovieRepository;
+import com.popcornpalace.service.MovieService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Movie create path with 100k movies already in the table.
+ * <p>
+ * {@code createNewTitle} is the common case the title filter answers without a query;
+ * {@code createDuplicateTitle} pays for the indexed existence query and the 409;
+ * {@code existsByNormalizedTitle} is that query on its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MovieCreateBenchmark {
+
+    static final int MOVIES = 100_000;
+
+    private ConfigurableApplicationContext context;
+    private MovieService movieService;
+    private MovieRepository movieRepository;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("bench-movies");
+        movieService = context.getBean(MovieService.class);
+        movieRepository = context.getBean(MovieRepository.class);
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        List<Object[]> rows = new ArrayList<>(MOVIES);
+        for (int i = 0; i < MOVIES; i++) {
+            rows.add(new Object[]{"Movie " + i, "movie " + i, "Drama", 100, new BigDecimal("7.0"), 2000});
+        }
+        jdbc.batchUpdate("""
+                insert into movies (title, normalized_title, genre, duration_minutes, rating, release_year, version)
+                values (?, ?, ?, ?, ?, ?, 0)
+                """, rows);
+        context.getBean(MovieTitleFilter.class).load();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MovieDto createNewTitle() {
+        return movieService.createMovie(movie("Benchmark " + sequence.incrementAndGet()));
+    }
+
+    @Benchmark
+    public Object createDuplicateTitle() {
+        try {
+            return movieService.createMovie(movie("MOVIE " + ThreadLocalRandom.current().nextInt(MOVIES)));
+        } catch (ConflictException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public boolean existsByNormalizedTitle() {
+        return movieRepository.existsByNormalizedTitle("movie " + ThreadLocalRandom.current().nextInt(MOVIES));
+    }
+
+    private static MovieDto movie(String title) {
+        return MovieDto.builder()
+                .title(title)
+                .genre("Drama")
+                .durationMinutes(100)
+                .rating(new BigDecimal("7.0"))
+                .releaseYear(2000)
+                .build();
+    }
+}
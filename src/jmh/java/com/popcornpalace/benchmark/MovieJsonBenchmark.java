@@ -0,0 +1,69 @@
+package com.popcornpalace.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.popcornpalace.dto.MovieDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of movie lists with the ObjectMapper configuration Spring MVC uses.
+ * <p>
+ * {@code mapperList} is what a controller returning {@code List<MovieDto>} pays; {@code writerArray}
+ * is the prepared array writer the in-memory catalog renders its snapshot with.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MovieJsonBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter arrayWriter;
+    private List<MovieDto> movies;
+    private MovieDto[] movieArray;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        arrayWriter = objectMapper.writerFor(MovieDto[].class);
+        movies = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            movies.add(MovieDto.builder()
+                    .id((long) i + 1)
+                    .title("Benchmark Movie " + i)
+                    .genre(i % 2 == 0 ? "Drama" : "Comedy")
+                    .durationMinutes(90 + i % 60)
+                    .rating(new BigDecimal("7.5"))
+                    .releaseYear(1980 + i % 45)
+                    .version(1L)
+                    .build());
+        }
+        movieArray = movies.toArray(MovieDto[]::new);
+    }
+
+    @Benchmark
+    public byte[] mapperList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(movies);
+    }
+
+    @Benchmark
+    public byte[] writerArray() throws JsonProcessingException {
+        return arrayWriter.writeValueAsBytes(movieArray);
+    }
+}
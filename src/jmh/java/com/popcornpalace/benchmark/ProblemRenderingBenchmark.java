@@ -0,0 +1,84 @@
+package com.popcornpalace.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popcornpalace.dto.BookingDto;
+import com.popcornpalace.exception.ConflictException;
+import com.popcornpalace.exception.GlobalExceptionHandler;
+import com.popcornpalace.exception.NotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.HttpRequestMethodNotSupportedException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Error responses: creating the exception and rendering its body in {@link GlobalExceptionHandler}.
+ * <p>
+ * The exceptions are created inside the benchmark, as on every real error. Conflicts, not-found and
+ * invalid input are stackless and written from pre-encoded templates; {@code created} is the body of
+ * a 201 booking response, serialized by Jackson, as the baseline a 409 should come close to.
+ * {@code methodNotAllowed} still goes through ProblemDetail and Jackson.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProblemRenderingBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private ObjectMapper objectMapper;
+    private MockHttpServletRequest request;
+    private BookingDto booking;
+
+    @Setup
+    public void setUp() {
+        handler = new GlobalExceptionHandler();
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        request = new MockHttpServletRequest("POST", "/api/bookings");
+        booking = BookingDto.builder()
+                .id(1L)
+                .showtimeId(42L)
+                .seatId(7L)
+                .customerName("Bench Customer")
+                .customerEmail("bench@example.com")
+                .totalPrice(new BigDecimal("15.00"))
+                .build();
+    }
+
+    @Benchmark
+    public byte[] created() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(booking);
+    }
+
+    @Benchmark
+    public byte[] conflict() {
+        return handler.onDomainConflict(
+                new ConflictException("Seat is already booked for this showtime"), request).getBody();
+    }
+
+    @Benchmark
+    public byte[] notFound() {
+        return handler.onNotFound(new NotFoundException("Showtime not found: 42"), request).getBody();
+    }
+
+    @Benchmark
+    public byte[] illegalArgument() {
+        return handler.onIllegalArgument(
+                new IllegalArgumentException("Cannot book tickets for past showtimes"), request).getBody();
+    }
+
+    @Benchmark
+    public byte[] methodNotAllowed() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(handler.onMethodNotSupported(
+                new HttpRequestMethodNotSupportedException("PATCH", List.of("GET", "POST")), request));
+    }
+}
@@ -0,0 +1,112 @@
+package com.popcornpalace.benchmark;
+
+import com.popcornpalace.dto.MovieDto;
+import com.popcornpalace.dto.TheaterDto;
+import com.popcornpalace.repository.ShowtimeRepository;
+import com.popcornpalace.service.MovieService;
+import com.popcornpalace.service.TheaterService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overlap checks that guard showtime create and update, with 20 theaters of 2,000 showtimes each.
+ * <p>
+ * {@code overlapping} probes a window that hits an existing showtime, {@code free} one that falls in
+ * the gap between two showtimes, {@code freeExcluding} is the update-time variant.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ShowtimeOverlapBenchmark {
+
+    static final int THEATERS = 20;
+    static final int SHOWTIMES_PER_THEATER = 2_000;
+    static final LocalDateTime FIRST_START = LocalDateTime.of(2099, 1, 1, 10, 0);
+
+    private ConfigurableApplicationContext context;
+    private ShowtimeRepository showtimeRepository;
+    private long[] theaterIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("bench-showtimes");
+        showtimeRepository = context.getBean(ShowtimeRepository.class);
+
+        long movieId = context.getBean(MovieService.class).createMovie(MovieDto.builder()
+                .title("Benchmark Movie")
+                .genre("Drama")
+                .durationMinutes(120)
+                .rating(new BigDecimal("7.0"))
+                .releaseYear(2000)
+                .build()).getId();
+
+        TheaterService theaterService = context.getBean(TheaterService.class);
+        theaterIds = new long[THEATERS];
+        List<Object[]> rows = new ArrayList<>(THEATERS * SHOWTIMES_PER_THEATER);
+        for (int t = 0; t < THEATERS; t++) {
+            theaterIds[t] = theaterService.createTheater(TheaterDto.builder()
+                    .name("Hall " + t)
+                    .location("Bench")
+                    .capacity(100)
+                    .build()).getId();
+            //  Two-hour showtimes every six hours: [start, start + 2h) is taken, [start + 3h, start + 4h) is free
+            for (int i = 0; i < SHOWTIMES_PER_THEATER; i++) {
+                LocalDateTime start = FIRST_START.plusHours(6L * i);
+                rows.add(new Object[]{movieId, theaterIds[t], Timestamp.valueOf(start),
+                        Timestamp.valueOf(start.plusHours(2)), new BigDecimal("12.00")});
+            }
+        }
+        context.getBean(JdbcTemplate.class).batchUpdate("""
+                insert into showtimes (movie_id, theater_id, start_time, end_time, price, version)
+                values (?, ?, ?, ?, ?, 0)
+                """, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean overlapping() {
+        LocalDateTime start = slot().plusMinutes(30);
+        return showtimeRepository.existsOverlappingShowtime(theater(), start, start.plusHours(2));
+    }
+
+    @Benchmark
+    public boolean free() {
+        LocalDateTime start = slot().plusHours(3);
+        return showtimeRepository.existsOverlappingShowtime(theater(), start, start.plusHours(1));
+    }
+
+    @Benchmark
+    public boolean freeExcluding() {
+        LocalDateTime start = slot().plusHours(3);
+        return showtimeRepository.existsOverlappingShowtimeExcluding(theater(), start, start.plusHours(1), 1L);
+    }
+
+    private long theater() {
+        return theaterIds[ThreadLocalRandom.current().nextInt(THEATERS)];
+    }
+
+    private static LocalDateTime slot() {
+        return FIRST_START.plusHours(6L * ThreadLocalRandom.current().nextInt(SHOWTIMES_PER_THEATER));
+    }
+}
@@ -0,0 +1,142 @@
+package com.popcornpalace.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+//  Writes a run as <scenario>-<timestamp>.json and .html into the output directory
+final class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<String, Object> report = new LinkedHashMap<>();
+
+    LoadReport(LoadTestOptions options, LoadStats stats, double elapsedSeconds) {
+        report.put("scenario", options.scenario().label());
+        report.put("database", options.database());
+        report.put("threads", options.threads());
+        report.put("targetRatePerSecond", options.rate());
+        report.put("durationSeconds", options.duration());
+        report.put("concurrency", options.concurrency());
+        report.put("maxHeapMb", Runtime.getRuntime().maxMemory() / (1024 * 1024));
+        report.put("startedAt", LocalDateTime.now().minusSeconds((long) elapsedSeconds).toString());
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        stats.endpoints().forEach((name, endpoint) -> endpoints.add(summary(name, endpoint, elapsedSeconds)));
+        report.put("endpoints", endpoints);
+    }
+
+    List<Path> write(Path dir, ObjectMapper objectMapper) throws IOException {
+        Files.createDirectories(dir);
+        String name = report.get("scenario") + "-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path json = dir.resolve(name + ".json");
+        Path html = dir.resolve(name + ".html");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(json.toFile(), report);
+        Files.writeString(html, html());
+        return List.of(json, html);
+    }
+
+    @SuppressWarnings("unchecked")
+    String text() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-34s %9s %9s %8s %8s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "conf%", "err%", "p50 ms", "p99 ms", "max ms"));
+        for (Map<String, Object> endpoint : (List<Map<String, Object>>) report.get("endpoints")) {
+            Map<String, Object> latency = (Map<String, Object>) endpoint.get("latencyMs");
+            out.append(String.format("%-34s %9d %9.1f %8.2f %8.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.get("name"), endpoint.get("requests"), endpoint.get("throughputPerSecond"),
+                    endpoint.get("conflictRatePercent"), endpoint.get("errorRatePercent"),
+                    latency.get("p50"), latency.get("p99"), latency.get("max")));
+        }
+        return out.toString();
+    }
+
+    private static Map<String, Object> summary(String name, LoadStats.Endpoint endpoint, double elapsedSeconds) {
+        long requests = endpoint.requests();
+        long errors = endpoint.clientErrors.sum() + endpoint.serverErrors.sum() + endpoint.failures.sum();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("name", name);
+        summary.put("requests", requests);
+        summary.put("throughputPerSecond", round(requests / elapsedSeconds));
+        summary.put("ok", endpoint.ok.sum());
+        summary.put("conflicts", endpoint.conflicts.sum());
+        summary.put("clientErrors", endpoint.clientErrors.sum());
+        summary.put("serverErrors", endpoint.serverErrors.sum());
+        summary.put("failures", endpoint.failures.sum());
+        summary.put("conflictRatePercent", percent(endpoint.conflicts.sum(), requests));
+        summary.put("errorRatePercent", percent(errors, requests));
+        summary.put("latencyMs", latency(endpoint.latencyMicros));
+        return summary;
+    }
+
+    private static Map<String, Object> latency(Histogram micros) {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("mean", round(micros.getMean() / 1000.0));
+        for (double percentile : PERCENTILES) {
+            String key = "p" + (percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile).replace(".", ""));
+            latency.put(key, round(micros.getValueAtPercentile(percentile) / 1000.0));
+        }
+        latency.put("max", round(micros.getMaxValue() / 1000.0));
+        return latency;
+    }
+
+    @SuppressWarnings("unchecked")
+    private String html() {
+        StringBuilder rows = new StringBuilder();
+        for (Map<String, Object> endpoint : (List<Map<String, Object>>) report.get("endpoints")) {
+            Map<String, Object> latency = (Map<String, Object>) endpoint.get("latencyMs");
+            rows.append("<tr><td>").append(escape(String.valueOf(endpoint.get("name")))).append("</td>");
+            for (String key : List.of("requests", "throughputPerSecond", "ok", "conflicts", "clientErrors",
+                    "serverErrors", "failures", "conflictRatePercent", "errorRatePercent")) {
+                rows.append("<td>").append(endpoint.get(key)).append("</td>");
+            }
+            for (Object value : latency.values()) {
+                rows.append("<td>").append(value).append("</td>");
+            }
+            rows.append("</tr>\n");
+        }
+        return """
+                <!DOCTYPE html>
+                <html><head><meta charset="utf-8"><title>Load test: %1$s</title>
+                <style>
+                body { font-family: sans-serif; margin: 2em; }
+                table { border-collapse: collapse; }
+                th, td { border: 1px solid #ccc; padding: 4px 8px; text-align: right; }
+                td:first-child, th:first-child { text-align: left; }
+                th { background: #f0f0f0; }
+                </style></head>
+                <body>
+                <h1>Load test: %1$s</h1>
+                <p>Database %2$s, %8$s threads, target %3$s req/s for %4$s s, at most %5$s requests in flight, started %6$s.
+                Latency is measured from each request's scheduled send time.</p>
+                <table>
+                <tr><th>Endpoint</th><th>Requests</th><th>Req/s</th><th>OK</th><th>409</th><th>4xx</th><th>5xx</th>
+                <th>Failed</th><th>Conflict %%</th><th>Error %%</th><th>Mean ms</th><th>p50 ms</th><th>p90 ms</th>
+                <th>p99 ms</th><th>p99.9 ms</th><th>Max ms</th></tr>
+                %7$s</table>
+                </body></html>
+                """.formatted(report.get("scenario"), report.get("database"), report.get("targetRatePerSecond"),
+                report.get("durationSeconds"), report.get("concurrency"), report.get("startedAt"), rows,
+                report.get("threads"));
+    }
+
+    private static double percent(long part, long total) {
+        return total == 0 ? 0.0 : round(100.0 * part / total);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
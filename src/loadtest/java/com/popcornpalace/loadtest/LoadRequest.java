@@ -0,0 +1,17 @@
+package com.popcornpalace.loadtest;
+
+//  One HTTP call of a scenario; name groups calls in the report (e.g. "POST /api/bookings")
+record LoadRequest(String name, String method, String path, String body) {
+
+    static LoadRequest get(String name, String path) {
+        return new LoadRequest(name, "GET", path, null);
+    }
+
+    static LoadRequest post(String name, String path, String body) {
+        return new LoadRequest(name, "POST", path, body);
+    }
+
+    static LoadRequest put(String name, String path, String body) {
+        return new LoadRequest(name, "PUT", path, body);
+    }
+}
@@ -0,0 +1,66 @@
+package com.popcornpalace.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+//  Latency histogram (microseconds) and outcome counters per request name, safe to record from any thread
+final class LoadStats {
+
+    static final String ALL = "all";
+
+    //  Anything slower than a minute is clamped; it is a failure by any standard anyway
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void record(String name, int status, long latencyNanos) {
+        long micros = Math.min(Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)), HIGHEST_MICROS);
+        endpoint(name).record(status, micros);
+        endpoint(ALL).record(status, micros);
+    }
+
+    //  Snapshot ordered by name, "all" included
+    Map<String, Endpoint> endpoints() {
+        return new TreeMap<>(endpoints);
+    }
+
+    private Endpoint endpoint(String name) {
+        return endpoints.computeIfAbsent(name, n -> new Endpoint());
+    }
+
+    static final class Endpoint {
+
+        final Histogram latencyMicros = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+        final LongAdder ok = new LongAdder();
+        final LongAdder conflicts = new LongAdder();
+        final LongAdder clientErrors = new LongAdder();
+        final LongAdder serverErrors = new LongAdder();
+        //  No HTTP response at all (connection refused, timeout, ...)
+        final LongAdder failures = new LongAdder();
+
+        private void record(int status, long micros) {
+            latencyMicros.recordValue(micros);
+            if (status < 0) {
+                failures.increment();
+            } else if (status == 409) {
+                conflicts.increment();
+            } else if (status >= 500) {
+                serverErrors.increment();
+            } else if (status >= 400) {
+                clientErrors.increment();
+            } else {
+                ok.increment();
+            }
+        }
+
+        long requests() {
+            return latencyMicros.getTotalCount();
+        }
+    }
+}
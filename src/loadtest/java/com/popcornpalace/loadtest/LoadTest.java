@@ -0,0 +1,102 @@
+package com.popcornpalace.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popcornpalace.PopcornPalaceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Boots the application on a random port, seeds it and replays one traffic scenario over HTTP.
+ * <p>
+ * {@code ./gradlew loadTest --args="scenario=on-sale rate=500 duration=60 concurrency=128"}; see
+ * {@link LoadTestOptions} for every option. Reports go to {@code build/reports/loadtest}.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        try (ConfigurableApplicationContext context = start(options)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            System.out.printf("Seeding %d movies, %d theaters ...%n", options.movies(), Seeder.THEATERS);
+            SeedData seed = Seeder.seed(context, options.movies(), options.seed());
+
+            ExecutorService executor = Executors.newFixedThreadPool(Math.max(4, options.concurrency() / 8));
+            try {
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(5))
+                        .executor(executor)
+                        .build();
+                OpenLoopDriver driver = new OpenLoopDriver(client, URI.create("http://localhost:" + port), options.concurrency());
+                Traffic traffic = new Traffic(seed, options.seed(), objectMapper);
+
+                if (options.warmup() > 0) {
+                    System.out.printf("Warming up for %d s ...%n", options.warmup());
+                    driver.run(options.scenario(), traffic, options.rate(), Duration.ofSeconds(options.warmup()), new LoadStats());
+                }
+
+                System.out.printf("Running %s at %d req/s for %d s ...%n",
+                        options.scenario().label(), options.rate(), options.duration());
+                LoadStats stats = new LoadStats();
+                long started = System.nanoTime();
+                driver.run(options.scenario(), traffic, options.rate(), Duration.ofSeconds(options.duration()), stats);
+                double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+                LoadReport report = new LoadReport(options, stats, elapsedSeconds);
+                System.out.print(report.text());
+                for (Path file : report.write(options.outputDir(), objectMapper)) {
+                    System.out.println("Report: " + file.toAbsolutePath());
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(LoadTestOptions options) {
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "popcorn.reactive-reads.enabled=true",
+                "logging.level.root=WARN"));
+        if (options.threads().equals("virtual")) {
+            properties.add("spring.profiles.active=virtual-threads");
+        }
+        if (options.database().equals("h2")) {
+            //  The migrations are PostgreSQL SQL; H2 gets its schema from Hibernate
+            properties.addAll(List.of(
+                    "spring.flyway.enabled=false",
+                    "spring.datasource.url=jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=ROW;DB_CLOSE_DELAY=-1",
+                    "spring.datasource.username=sa",
+                    "spring.datasource.password=",
+                    "spring.datasource.driver-class-name=org.h2.Driver",
+                    //  Same in-memory database as the JDBC URL
+                    "popcorn.reactive-reads.url=r2dbc:h2:mem:///loadtest?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=ROW;DB_CLOSE_DELAY=-1",
+                    "spring.jpa.hibernate.ddl-auto=create-drop"));
+        } else {
+            properties.addAll(List.of(
+                    "spring.datasource.url=" + options.jdbcUrl(),
+                    "spring.datasource.username=" + options.username(),
+                    "spring.datasource.password=" + options.password(),
+                    "popcorn.reactive-reads.url=" + options.jdbcUrl().replaceFirst("^jdbc:", "r2dbc:")));
+        }
+        return new SpringApplicationBuilder(PopcornPalaceApplication.class)
+                .properties(properties.toArray(String[]::new))
+                .run();
+    }
+}
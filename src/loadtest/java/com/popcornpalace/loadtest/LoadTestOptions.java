@@ -0,0 +1,72 @@
+package com.popcornpalace.loadtest;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Options of a load-test run, given as {@code key=value} arguments.
+ *
+ * @param scenario    traffic shape to replay
+ * @param database    {@code h2} (in-memory, default) or {@code postgres}
+ * @param threads     {@code platform} (Tomcat worker pool, default) or {@code virtual} (profile virtual-threads)
+ * @param rate        target arrivals per second; requests are sent on schedule whether or not earlier ones finished
+ * @param duration    measured seconds, after {@code warmup} unrecorded seconds
+ * @param concurrency cap on requests in flight; arrivals beyond it queue, and the wait counts as latency
+ */
+record LoadTestOptions(Scenario scenario,
+                       String database,
+                       String threads,
+                       String jdbcUrl,
+                       String username,
+                       String password,
+                       int rate,
+                       int duration,
+                       int warmup,
+                       int concurrency,
+                       int movies,
+                       long seed,
+                       Path outputDir) {
+
+    private static final Set<String> KEYS = Set.of("scenario", "db", "threads", "jdbc-url", "username", "password",
+            "rate", "duration", "warmup", "concurrency", "movies", "seed", "out");
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 1 || !KEYS.contains(arg.substring(0, eq))) {
+                throw new IllegalArgumentException("Expected key=value with key one of " + KEYS + ", got: " + arg);
+            }
+            values.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        String database = values.getOrDefault("db", "h2");
+        if (!database.equals("h2") && !database.equals("postgres")) {
+            throw new IllegalArgumentException("db must be h2 or postgres, got: " + database);
+        }
+        String threads = values.getOrDefault("threads", "platform");
+        if (!threads.equals("platform") && !threads.equals("virtual")) {
+            throw new IllegalArgumentException("threads must be platform or virtual, got: " + threads);
+        }
+        LoadTestOptions options = new LoadTestOptions(
+                Scenario.fromName(values.getOrDefault("scenario", "on-sale")),
+                database,
+                threads,
+                values.getOrDefault("jdbc-url", "jdbc:postgresql://localhost:5432/popcorn_palace"),
+                values.getOrDefault("username", "postgres"),
+                values.getOrDefault("password", "password123"),
+                Integer.parseInt(values.getOrDefault("rate", "200")),
+                Integer.parseInt(values.getOrDefault("duration", "30")),
+                Integer.parseInt(values.getOrDefault("warmup", "5")),
+                Integer.parseInt(values.getOrDefault("concurrency", "64")),
+                Integer.parseInt(values.getOrDefault("movies", "500")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Path.of(values.getOrDefault("out", "build/reports/loadtest")));
+        if (options.rate() < 1 || options.duration() < 1 || options.warmup() < 0
+                || options.concurrency() < 1 || options.movies() < 1) {
+            throw new IllegalArgumentException("rate, duration, concurrency and movies must be positive, warmup not negative");
+        }
+        return options;
+    }
+}
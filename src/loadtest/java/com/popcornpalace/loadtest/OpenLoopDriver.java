@@ -0,0 +1,70 @@
+package com.popcornpalace.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests at a fixed arrival rate regardless of how fast the server answers (open loop).
+ * <p>
+ * The i-th request is due at {@code start + i / rate}. Latency is measured from that due time, not from
+ * when the request was actually sent, so time spent waiting behind a slow server (or for one of the
+ * {@code concurrency} in-flight slots) is counted instead of silently lowering the load.
+ */
+final class OpenLoopDriver {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final int concurrency;
+
+    OpenLoopDriver(HttpClient client, URI baseUri, int concurrency) {
+        this.client = client;
+        this.baseUri = baseUri;
+        this.concurrency = concurrency;
+    }
+
+    //  Runs for the given time and returns once every request sent has completed
+    void run(Scenario scenario, Traffic traffic, int rate, Duration duration, LoadStats stats) {
+        Semaphore inFlight = new Semaphore(concurrency);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long i = 0; ; i++) {
+            long due = start + i * intervalNanos;
+            if (due - end >= 0) {
+                break;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            LoadRequest request = scenario.next(traffic);
+            inFlight.acquireUninterruptibly();
+            client.sendAsync(toHttpRequest(request), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        stats.record(request.name(), response == null ? -1 : response.statusCode(), System.nanoTime() - due);
+                        inFlight.release();
+                    });
+        }
+        inFlight.acquireUninterruptibly(concurrency);
+    }
+
+    private HttpRequest toHttpRequest(LoadRequest request) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(request.path()))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+        if (request.body() == null) {
+            return builder.method(request.method(), HttpRequest.BodyPublishers.noBody()).build();
+        }
+        return builder.header("Content-Type", "application/json")
+                .method(request.method(), HttpRequest.BodyPublishers.ofString(request.body()))
+                .build();
+    }
+}
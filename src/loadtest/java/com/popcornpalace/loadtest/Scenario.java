@@ -0,0 +1,138 @@
+package com.popcornpalace.loadtest;
+
+import com.popcornpalace.dto.BookingDto;
+import com.popcornpalace.dto.ShowtimeDto;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+//  Traffic shapes the harness can replay; each arrival is drawn from the mix below
+enum Scenario {
+
+    //  Premiere goes on sale: everyone books seats of one showtime, checks prices and the showtime
+    ON_SALE("on-sale") {
+        @Override
+        LoadRequest next(Traffic traffic) {
+            long showtimeId = traffic.seed.premiereShowtimeId();
+            int roll = traffic.random.nextInt(100);
+            if (roll < 70) {
+                long[] seats = traffic.seed.premiereSeatIds();
+                BookingDto booking = BookingDto.builder()
+                        .showtimeId(showtimeId)
+                        .seatId(seats[traffic.random.nextInt(seats.length)])
+                        .customerName("Load Customer " + traffic.next())
+                        .customerEmail("load@example.com")
+                        .build();
+                return LoadRequest.post("POST /api/bookings", "/api/bookings", traffic.json(booking));
+            }
+            if (roll < 90) {
+                return LoadRequest.get("GET /api/showtimes/{id}/prices", "/api/showtimes/" + showtimeId + "/prices");
+            }
+            return LoadRequest.get("GET /api/showtimes/{id}", "/api/showtimes/" + showtimeId);
+        }
+    },
+
+    //  Catalog browse surge: full catalog, search-as-you-type, facets, keyset pages
+    BROWSE("browse") {
+        @Override
+        LoadRequest next(Traffic traffic) {
+            int roll = traffic.random.nextInt(100);
+            if (roll < 40) {
+                return LoadRequest.get("GET /api/movies", "/api/movies");
+            }
+            if (roll < 75) {
+                return LoadRequest.get("GET /api/movies/search", "/api/movies/search?q=" + traffic.pick(traffic.seed.searchTerms()));
+            }
+            if (roll < 90) {
+                return LoadRequest.get("GET /api/movies/facets", "/api/movies/facets");
+            }
+            long after = traffic.pick(traffic.seed.movieIds()) - 1;
+            return LoadRequest.get("GET /api/movies/page", "/api/movies/page?size=50&after=" + after);
+        }
+    },
+
+    //  Schedule editing burst: new showtimes (some clashing with existing ones), price edits, reads
+    SCHEDULE_EDIT("schedule-edit") {
+        @Override
+        LoadRequest next(Traffic traffic) {
+            ShowtimeDto existing = traffic.pick(traffic.seed.showtimes());
+            int roll = traffic.random.nextInt(100);
+            if (roll < 35) {
+                //  One in ten lands on an existing showtime and should be refused with 409
+                LocalDateTime start = traffic.chance(10)
+                        ? existing.getStartTime()
+                        : LAST_NEW_SLOT.minusHours(4 * traffic.nextSlot(existing.getTheaterId()));
+                Duration length = Duration.between(existing.getStartTime(), existing.getEndTime());
+                ShowtimeDto showtime = ShowtimeDto.builder()
+                        .movieId(existing.getMovieId())
+                        .theaterId(existing.getTheaterId())
+                        .startTime(start)
+                        .endTime(start.plus(length))
+                        .price(new BigDecimal("12.00"))
+                        .build();
+                return LoadRequest.post("POST /api/showtimes", "/api/showtimes", traffic.json(showtime));
+            }
+            if (roll < 75) {
+                ShowtimeDto edited = ShowtimeDto.builder()
+                        .movieId(existing.getMovieId())
+                        .theaterId(existing.getTheaterId())
+                        .startTime(existing.getStartTime())
+                        .endTime(existing.getEndTime())
+                        .price(BigDecimal.valueOf(800 + traffic.random.nextInt(1200), 2))
+                        .build();
+                return LoadRequest.put("PUT /api/showtimes/{id}", "/api/showtimes/" + existing.getId(), traffic.json(edited));
+            }
+            return LoadRequest.get("GET /api/showtimes/{id}", "/api/showtimes/" + existing.getId());
+        }
+    },
+
+    //  Read surge over JDBC: catalog stream and showtime lookups (compare with reads-reactive at the same heap)
+    READS_BLOCKING("reads-blocking") {
+        @Override
+        LoadRequest next(Traffic traffic) {
+            if (traffic.random.nextInt(100) < 20) {
+                return LoadRequest.get("GET /api/movies/stream", "/api/movies/stream");
+            }
+            return LoadRequest.get("GET /api/showtimes/{id}", "/api/showtimes/" + traffic.pick(traffic.seed.showtimes()).getId());
+        }
+    },
+
+    //  The same reads over R2DBC
+    READS_REACTIVE("reads-reactive") {
+        @Override
+        LoadRequest next(Traffic traffic) {
+            if (traffic.random.nextInt(100) < 20) {
+                return LoadRequest.get("GET /api/reactive/movies", "/api/reactive/movies");
+            }
+            return LoadRequest.get("GET /api/reactive/showtimes/{id}",
+                    "/api/reactive/showtimes/" + traffic.pick(traffic.seed.showtimes()).getId());
+        }
+    };
+
+    //  New showtimes count back from the eve of the seeded schedule (2099), four hours apart per theater,
+    //  so they never clash by accident however long the run
+    private static final LocalDateTime LAST_NEW_SLOT = LocalDateTime.of(2098, 12, 31, 18, 0);
+
+    private final String label;
+
+    Scenario(String label) {
+        this.label = label;
+    }
+
+    abstract LoadRequest next(Traffic traffic);
+
+    String label() {
+        return label;
+    }
+
+    static Scenario fromName(String name) {
+        return Arrays.stream(values())
+                .filter(scenario -> scenario.label.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown scenario '" + name + "', expected one of "
+                        + Arrays.stream(values()).map(Scenario::label).collect(Collectors.joining(", "))));
+    }
+}
@@ -0,0 +1,21 @@
+package com.popcornpalace.loadtest;
+
+import com.popcornpalace.dto.ShowtimeDto;
+
+import java.util.List;
+
+/**
+ * What {@link Seeder} created.
+ *
+ * @param premiereShowtimeId the showtime everyone tries to book in the on-sale scenario
+ * @param premiereSeatIds    seats of the premiere's theater
+ * @param showtimes          every seeded showtime, for reads and edits
+ * @param searchTerms        title prefixes that match seeded movies
+ */
+record SeedData(List<Long> movieIds,
+                List<Long> theaterIds,
+                long premiereShowtimeId,
+                long[] premiereSeatIds,
+                List<ShowtimeDto> showtimes,
+                List<String> searchTerms) {
+}
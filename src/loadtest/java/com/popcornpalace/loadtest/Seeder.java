@@ -0,0 +1,108 @@
+package com.popcornpalace.loadtest;
+
+import com.popcornpalace.dto.MovieDto;
+import com.popcornpalace.dto.SeatLayoutRequestDto;
+import com.popcornpalace.dto.ShowtimeDto;
+import com.popcornpalace.dto.TheaterDto;
+import com.popcornpalace.entity.Seat;
+import com.popcornpalace.layout.SeatLayout;
+import com.popcornpalace.layout.SeatLayouts;
+import com.popcornpalace.service.MovieService;
+import com.popcornpalace.service.ShowtimeService;
+import com.popcornpalace.service.TheaterService;
+import org.springframework.context.ApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds the data the scenarios need through the services, so caches and indexes see it like live data.
+ * <p>
+ * Movies get run-unique titles ({@code seed} is part of them), so seeding an existing Postgres database
+ * again adds a fresh set instead of failing on duplicates.
+ */
+final class Seeder {
+
+    static final int THEATERS = 5;
+    static final int SHOWTIMES_PER_THEATER = 40;
+    static final String[] WORDS = {"Night", "River", "Galaxy", "Shadow", "Summer", "Empire", "Dream", "Storm"};
+    static final String[] GENRES = {"Drama", "Comedy", "Action", "Horror", "Animation", "Documentary"};
+
+    private Seeder() {
+    }
+
+    static SeedData seed(ApplicationContext context, int movies, long seed) {
+        MovieService movieService = context.getBean(MovieService.class);
+        TheaterService theaterService = context.getBean(TheaterService.class);
+        ShowtimeService showtimeService = context.getBean(ShowtimeService.class);
+
+        List<Long> movieIds = new ArrayList<>(movies);
+        List<MovieDto> created = new ArrayList<>(movies);
+        for (int i = 0; i < movies; i++) {
+            MovieDto movie = movieService.createMovie(MovieDto.builder()
+                    .title(WORDS[i % WORDS.length] + " " + WORDS[(i / WORDS.length) % WORDS.length]
+                            + " " + i + " (" + seed + ")")
+                    .genre(GENRES[i % GENRES.length])
+                    .durationMinutes(90 + i % 60)
+                    .rating(BigDecimal.valueOf(50 + i % 50, 1))
+                    .releaseYear(1980 + i % 45)
+                    .build());
+            movieIds.add(movie.getId());
+            created.add(movie);
+        }
+
+        List<Long> theaterIds = new ArrayList<>(THEATERS);
+        for (int t = 0; t < THEATERS; t++) {
+            long theaterId = theaterService.createTheater(TheaterDto.builder()
+                    .name("Load Hall " + t + " (" + seed + ")")
+                    .location("Load test")
+                    .capacity(1)
+                    .build()).getId();
+            theaterService.generateLayout(theaterId, SeatLayoutRequestDto.builder()
+                    .rows(20)
+                    .seatsPerRow(50)
+                    .typeRanges(List.of(SeatLayoutRequestDto.TypeRange.builder()
+                            .seatType(Seat.SeatType.VIP)
+                            .fromRow(1)
+                            .toRow(3)
+                            .build()))
+                    .build());
+            theaterIds.add(theaterId);
+        }
+
+        //  Each theater gets a showtime every six hours, far enough ahead to stay bookable
+        LocalDateTime first = LocalDateTime.of(2099, 1, 1, 10, 0);
+        List<ShowtimeDto> showtimes = new ArrayList<>(THEATERS * SHOWTIMES_PER_THEATER);
+        for (int t = 0; t < THEATERS; t++) {
+            for (int i = 0; i < SHOWTIMES_PER_THEATER; i++) {
+                MovieDto movie = created.get((t * SHOWTIMES_PER_THEATER + i) % created.size());
+                LocalDateTime start = first.plusHours(6L * i);
+                showtimes.add(showtimeService.createShowtime(ShowtimeDto.builder()
+                        .movieId(movie.getId())
+                        .theaterId(theaterIds.get(t))
+                        .startTime(start)
+                        .endTime(start.plusMinutes(movie.getDurationMinutes()))
+                        .price(new BigDecimal("12.00"))
+                        .build()));
+            }
+        }
+
+        SeatLayout premiereLayout = context.getBean(SeatLayouts.class).layoutOf(theaterIds.get(0));
+        long[] premiereSeatIds = new long[premiereLayout.size()];
+        for (int i = 0; i < premiereSeatIds.length; i++) {
+            premiereSeatIds[i] = premiereLayout.seatId(i);
+        }
+
+        List<String> searchTerms = new ArrayList<>();
+        for (String word : WORDS) {
+            searchTerms.add(word.toLowerCase());
+            searchTerms.add(word.substring(0, 3).toLowerCase());
+        }
+        searchTerms.add("nigth");
+        searchTerms.add("galxy+storm");
+
+        return new SeedData(movieIds, theaterIds, showtimes.get(0).getId(), premiereSeatIds, showtimes, searchTerms);
+    }
+}
@@ -0,0 +1,242 @@
+package com.popcornpalace.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popcornpalace.loadtest.StartupOptions.Variant;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cold-start benchmark: starts the boot jar in a fresh JVM per run and measures the time from
+ * launching the process to the first successful response, the number that decides whether a
+ * new instance is useful during a traffic spike. The context start time Spring logs is reported
+ * alongside it.
+ * <p>
+ * {@code ./gradlew startupBenchmark -Paot --args="variants=default,aot+cds,aot+cds+lazy runs=10"};
+ * see {@link StartupOptions} for every option. Needs the database the app normally uses
+ * ({@code docker compose up db}). For {@code cds} variants the jar is extracted and an archive is
+ * recorded by a training run, as the Dockerfile does. The first start of every variant only warms
+ * the OS file cache and is not counted.
+ */
+public final class StartupBenchmark {
+
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in ([0-9.]+) seconds");
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    private StartupBenchmark() {
+    }
+
+    record Sample(long firstResponseMillis, Double contextStartSeconds) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        StartupOptions options = StartupOptions.parse(args);
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        Path workDir = options.outputDir().resolve("work");
+        Files.createDirectories(workDir);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("jar", options.jar().toString());
+        report.put("path", options.path());
+        report.put("runs", options.runs());
+        report.put("startedAt", LocalDateTime.now().toString());
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (Variant variant : options.variants()) {
+            System.out.printf("Variant %s ...%n", variant.name());
+            List<String> jvmArgs = jvmArgs(variant, options, workDir);
+            Path jar = variant.cds() ? extractedJar(options, workDir) : options.jar();
+            List<Sample> samples = new ArrayList<>();
+            int failures = 0;
+            for (int run = 0; run <= options.runs(); run++) {
+                Path log = workDir.resolve(variant.name() + "-" + run + ".log");
+                try {
+                    Sample sample = start(jvmArgs, jar, variant, options, client, log);
+                    if (run > 0) {
+                        samples.add(sample);
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    failures++;
+                    System.out.printf("  run %d failed: %s (see %s)%n", run, e.getMessage(), log);
+                }
+            }
+            results.add(summary(variant, samples, failures));
+        }
+        report.put("variants", results);
+
+        System.out.print(text(results));
+        String name = "startup-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json";
+        Path file = options.outputDir().resolve(name);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        System.out.println("Report: " + file.toAbsolutePath());
+    }
+
+    private static List<String> jvmArgs(Variant variant, StartupOptions options, Path workDir)
+            throws IOException, InterruptedException {
+        List<String> jvmArgs = new ArrayList<>();
+        if (variant.aot()) {
+            jvmArgs.add("-Dspring.aot.enabled=true");
+        }
+        if (variant.cds()) {
+            Path archive = workDir.resolve(variant.name() + ".jsa");
+            train(archive, variant, options, workDir);
+            jvmArgs.add("-XX:SharedArchiveFile=" + archive);
+        }
+        return jvmArgs;
+    }
+
+    //  Same steps as the Dockerfile: start the context once, exit on refresh, dump the loaded classes
+    private static void train(Path archive, Variant variant, StartupOptions options, Path workDir)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of(java(), "-XX:ArchiveClassesAtExit=" + archive,
+                "-Dspring.context.exit=onRefresh"));
+        if (variant.aot()) {
+            command.add("-Dspring.aot.enabled=true");
+        }
+        command.addAll(List.of("-jar", extractedJar(options, workDir).toString(),
+                "--spring.profiles.active=" + (variant.lazy() ? "cds-training,lazy" : "cds-training")));
+        run(command, workDir.resolve(variant.name() + "-training.log"), options.timeout());
+        if (!Files.exists(archive)) {
+            throw new IllegalStateException("Training run did not write " + archive);
+        }
+    }
+
+    private static Path extractedJar(StartupOptions options, Path workDir) throws IOException, InterruptedException {
+        Path extracted = workDir.resolve("extracted");
+        Path jar = extracted.resolve(options.jar().getFileName());
+        if (!Files.exists(jar)) {
+            run(List.of(java(), "-Djarmode=tools", "-jar", options.jar().toString(),
+                    "extract", "--destination", extracted.toString()), workDir.resolve("extract.log"), options.timeout());
+        }
+        return jar;
+    }
+
+    private static Sample start(List<String> jvmArgs, Path jar, Variant variant, StartupOptions options,
+                                HttpClient client, Path log) throws IOException {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(java());
+        command.addAll(jvmArgs);
+        command.addAll(List.of("-jar", jar.toString(),
+                "--server.port=" + port,
+                "--spring.datasource.url=" + options.jdbcUrl(),
+                "--spring.datasource.username=" + options.username(),
+                "--spring.datasource.password=" + options.password()));
+        if (variant.lazy()) {
+            command.add("--spring.profiles.active=lazy");
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + options.path()))
+                .timeout(Duration.ofSeconds(options.timeout()))
+                .build();
+
+        long startedAt = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            long deadline = startedAt + TimeUnit.SECONDS.toNanos(options.timeout());
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("exited with " + process.exitValue());
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+                        return new Sample(millis, contextStartSeconds(log));
+                    }
+                } catch (ConnectException e) {
+                    //  Not listening yet
+                }
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+            throw new IllegalStateException("no successful response within " + options.timeout() + "s");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted", e);
+        } finally {
+            stop(process);
+        }
+    }
+
+    private static void run(List<String> command, Path log, int timeoutSeconds) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        if (!process.waitFor(timeoutSeconds, TimeUnit.SECONDS)) {
+            stop(process);
+            throw new IllegalStateException("Did not finish within " + timeoutSeconds + "s, see " + log);
+        }
+    }
+
+    private static void stop(Process process) {
+        process.destroy();
+        try {
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Double contextStartSeconds(Path log) throws IOException {
+        Matcher matcher = STARTED.matcher(Files.readString(log));
+        return matcher.find() ? Double.valueOf(matcher.group(1)) : null;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    //  The JVM running the benchmark, so every variant uses the same Java version
+    private static String java() {
+        return ProcessHandle.current().info().command().orElse("java");
+    }
+
+    private static Map<String, Object> summary(Variant variant, List<Sample> samples, int failures) {
+        List<Long> millis = samples.stream().map(Sample::firstResponseMillis).sorted().toList();
+        List<Double> context = samples.stream().map(Sample::contextStartSeconds)
+                .filter(seconds -> seconds != null).sorted().toList();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("variant", variant.name());
+        summary.put("runs", samples.size());
+        summary.put("failures", failures);
+        summary.put("firstResponseMillis", Map.of(
+                "median", millis.isEmpty() ? 0 : millis.get(millis.size() / 2),
+                "min", millis.isEmpty() ? 0 : millis.get(0),
+                "max", millis.isEmpty() ? 0 : millis.get(millis.size() - 1)));
+        summary.put("contextStartSecondsMedian", context.isEmpty() ? 0 : context.get(context.size() / 2));
+        return summary;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String text(List<Map<String, Object>> results) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-20s %5s %8s %14s %10s %10s %12s%n",
+                "variant", "runs", "failed", "first resp ms", "min ms", "max ms", "context s"));
+        for (Map<String, Object> result : results) {
+            Map<String, Object> millis = (Map<String, Object>) result.get("firstResponseMillis");
+            out.append(String.format("%-20s %5d %8d %14s %10s %10s %12s%n",
+                    result.get("variant"), result.get("runs"), result.get("failures"),
+                    millis.get("median"), millis.get("min"), millis.get("max"),
+                    result.get("contextStartSecondsMedian")));
+        }
+        return out.toString();
+    }
+}
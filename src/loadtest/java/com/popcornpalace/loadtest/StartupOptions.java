@@ -0,0 +1,78 @@
+package com.popcornpalace.loadtest;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Options of a startup benchmark, given as {@code key=value} arguments.
+ *
+ * @param jar      the boot jar to start; defaults to the one {@code bootJar} just built
+ * @param variants comma-separated; each is {@code default} or a {@code +}-joined set of {@code aot},
+ *                 {@code cds} and {@code lazy}, e.g. {@code aot+cds}. {@code aot} needs a jar built with {@code -Paot}
+ * @param runs     measured starts per variant
+ * @param path     the request that has to succeed; a catalog read goes through MVC, JPA and the pool
+ * @param timeout  seconds a start may take before the run counts as failed
+ */
+record StartupOptions(Path jar,
+                      List<Variant> variants,
+                      int runs,
+                      String path,
+                      String jdbcUrl,
+                      String username,
+                      String password,
+                      int timeout,
+                      Path outputDir) {
+
+    private static final Set<String> KEYS = Set.of("jar", "variants", "runs", "path", "jdbc-url", "username",
+            "password", "timeout", "out");
+
+    record Variant(String name, boolean aot, boolean cds, boolean lazy) {
+
+        static Variant parse(String name) {
+            if (name.equals("default")) {
+                return new Variant(name, false, false, false);
+            }
+            List<String> flags = Arrays.asList(name.split("\\+"));
+            if (!Set.of("aot", "cds", "lazy").containsAll(flags)) {
+                throw new IllegalArgumentException("Variant must be default or a +-joined set of aot, cds and lazy, got: " + name);
+            }
+            return new Variant(name, flags.contains("aot"), flags.contains("cds"), flags.contains("lazy"));
+        }
+    }
+
+    static StartupOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 1 || !KEYS.contains(arg.substring(0, eq))) {
+                throw new IllegalArgumentException("Expected key=value with key one of " + KEYS + ", got: " + arg);
+            }
+            values.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        String jar = values.getOrDefault("jar", System.getProperty("startup.jar"));
+        if (jar == null) {
+            throw new IllegalArgumentException("jar is required outside of ./gradlew startupBenchmark");
+        }
+        StartupOptions options = new StartupOptions(
+                Path.of(jar),
+                Arrays.stream(values.getOrDefault("variants", "default,lazy,cds").split(","))
+                        .map(String::trim)
+                        .map(Variant::parse)
+                        .toList(),
+                Integer.parseInt(values.getOrDefault("runs", "5")),
+                values.getOrDefault("path", "/api/movies"),
+                values.getOrDefault("jdbc-url", "jdbc:postgresql://localhost:5432/popcorn_palace"),
+                values.getOrDefault("username", "postgres"),
+                values.getOrDefault("password", "password123"),
+                Integer.parseInt(values.getOrDefault("timeout", "60")),
+                Path.of(values.getOrDefault("out", "build/reports/startup")));
+        if (options.runs() < 1 || options.timeout() < 1) {
+            throw new IllegalArgumentException("runs and timeout must be positive");
+        }
+        return options;
+    }
+}
@@ -0,0 +1,52 @@
+package com.popcornpalace.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+//  Per-run state the scenarios draw requests from; used by the single dispatcher thread only
+final class Traffic {
+
+    final SeedData seed;
+    final SplittableRandom random;
+    private final ObjectMapper objectMapper;
+    private long sequence;
+    private final Map<Long, Long> slots = new HashMap<>();
+
+    Traffic(SeedData seed, long randomSeed, ObjectMapper objectMapper) {
+        this.seed = seed;
+        this.random = new SplittableRandom(randomSeed);
+        this.objectMapper = objectMapper;
+    }
+
+    <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    //  Percent chance, 0..100
+    boolean chance(int percent) {
+        return random.nextInt(100) < percent;
+    }
+
+    long next() {
+        return sequence++;
+    }
+
+    //  0, 1, 2, ... per theater, so new showtimes of one theater never share a slot
+    long nextSlot(long theaterId) {
+        return slots.merge(theaterId, 1L, Long::sum) - 1;
+    }
+
+    String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -2,10 +2,14 @@ package com.popcornpalace;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
-@SpringBootApplication
+//  R2DBC is only used by the reactive reads (ReactiveReadConfig); an auto-configured ConnectionFactory would replace the JDBC DataSource
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+@ConfigurationPropertiesScan
 public class PopcornPalaceApplication {
     public static void main(String[] args) {
         SpringApplication.run(PopcornPalaceApplication.class, args);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,7 @@
+package com.popcornpalace.availability;
+
+import java.time.LocalDateTime;
+
+//  Where and when a showtime plays: what its in-memory seat map is built from and evicted by
+public record ScheduledTheater(Long theaterId, LocalDateTime startTime) {
+}
@@ -0,0 +1,310 @@
+package com.popcornpalace.availability;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popcornpalace.config.SeatStreamProperties;
+import com.popcornpalace.datasource.PrimaryReads;
+import com.popcornpalace.dto.SeatChangesDto;
+import com.popcornpalace.event.BookingCancelledEvent;
+import com.popcornpalace.event.BookingCreatedEvent;
+import com.popcornpalace.event.ChangeKind;
+import com.popcornpalace.event.ShowtimeChangedEvent;
+import com.popcornpalace.repository.BookingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory fan-out of committed seat changes to Server-Sent Event subscribers, per showtime.
+ * <p>
+ * Changes are collected per showtime and flushed every {@code batchInterval}: a burst of bookings
+ * becomes one {@code seats} event, serialized once for all subscribers. Only the latest state of a
+ * seat within a batch is sent, so every event can be applied as is. A new subscriber first gets a
+ * {@code snapshot} of the booked seats.
+ * <p>
+ * The flush never waits for a client. Every subscriber has a bounded queue drained by its own
+ * virtual thread; a subscriber whose queue overflows loses its queued events and is sent a fresh
+ * snapshot instead, and one that needs more than {@code maxResyncs} of those is dropped.
+ */
+@Slf4j
+@Component
+public class SeatChangeHub implements AutoCloseable {
+
+    static final String SNAPSHOT_EVENT = "snapshot";
+    static final String SEATS_EVENT = "seats";
+
+    private final BookingRepository bookingRepository;
+    private final ObjectMapper objectMapper;
+    private final SeatStreamProperties properties;
+
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    private final ScheduledExecutorService flusher;
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Timer fanout;
+    private final Counter resyncs;
+    private final Counter dropped;
+
+    public SeatChangeHub(BookingRepository bookingRepository, ObjectMapper objectMapper,
+                         SeatStreamProperties properties, MeterRegistry registry) {
+        this.bookingRepository = bookingRepository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.fanout = Timer.builder("popcorn.seats.stream.fanout")
+                .description("Time from the first seat change of a batch until a subscriber was sent the batch")
+                .register(registry);
+        this.resyncs = Counter.builder("popcorn.seats.stream.resyncs")
+                .description("Seat stream subscribers that fell behind and were sent a snapshot instead")
+                .register(registry);
+        this.dropped = Counter.builder("popcorn.seats.stream.dropped")
+                .description("Seat stream subscribers disconnected for falling behind repeatedly")
+                .register(registry);
+        Gauge.builder("popcorn.seats.stream.subscribers", subscribers, AtomicInteger::get)
+                .description("Open seat streams")
+                .register(registry);
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "seat-stream-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getBatchInterval().toNanos();
+        flusher.scheduleAtFixedRate(this::flush, interval, interval, TimeUnit.NANOSECONDS);
+    }
+
+    public SseEmitter subscribe(long showtimeId) {
+        return subscribe(showtimeId, new SseEmitter(properties.getTimeout().toMillis()));
+    }
+
+    SseEmitter subscribe(long showtimeId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(showtimeId, emitter, properties.getSubscriberBuffer());
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        channels.compute(showtimeId, (id, channel) -> {
+            Channel target = channel != null ? channel : new Channel();
+            target.subscribers.add(subscriber);
+            return target;
+        });
+        subscribers.incrementAndGet();
+        //  Registered before the snapshot is read, so no change can fall between the two
+        subscriber.resync.set(true);
+        schedule(subscriber);
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onBookingCreated(BookingCreatedEvent event) {
+        record(event.showtimeId(), event.seatId(), true);
+    }
+
+    @TransactionalEventListener
+    public void onBookingCancelled(BookingCancelledEvent event) {
+        record(event.showtimeId(), event.seatId(), false);
+    }
+
+    @TransactionalEventListener
+    public void onShowtimeChanged(ShowtimeChangedEvent event) {
+        if (event.kind() == ChangeKind.DELETED) {
+            Channel channel = channels.remove(event.showtimeId());
+            if (channel != null) {
+                channel.subscribers.forEach(subscriber -> senders.execute(subscriber.emitter::complete));
+            }
+        }
+    }
+
+    //  Showtimes nobody is watching are not tracked
+    private void record(Long showtimeId, Long seatId, boolean taken) {
+        Channel channel = channels.get(showtimeId);
+        if (channel == null) {
+            return;
+        }
+        channel.lock.lock();
+        try {
+            if (channel.pending.isEmpty()) {
+                channel.firstChangeNanos = System.nanoTime();
+            }
+            channel.pending.put(seatId, taken);
+        } finally {
+            channel.lock.unlock();
+        }
+    }
+
+    void flush() {
+        channels.forEach((showtimeId, channel) -> {
+            try {
+                flush(showtimeId, channel);
+            } catch (RuntimeException e) {
+                log.warn("Could not flush seat changes of showtime {}", showtimeId, e);
+            }
+        });
+    }
+
+    private void flush(Long showtimeId, Channel channel) throws JsonProcessingException {
+        Map<Long, Boolean> changes;
+        long firstChangeNanos;
+        channel.lock.lock();
+        try {
+            if (channel.pending.isEmpty()) {
+                return;
+            }
+            changes = channel.pending;
+            firstChangeNanos = channel.firstChangeNanos;
+            channel.pending = new LinkedHashMap<>();
+        } finally {
+            channel.lock.unlock();
+        }
+
+        List<Long> taken = new ArrayList<>();
+        List<Long> released = new ArrayList<>();
+        changes.forEach((seatId, isTaken) -> (isTaken ? taken : released).add(seatId));
+        Batch batch = new Batch(channel.sequence.incrementAndGet(),
+                objectMapper.writeValueAsString(new SeatChangesDto(showtimeId, taken, released)),
+                firstChangeNanos);
+
+        for (Subscriber subscriber : channel.subscribers) {
+            if (!subscriber.queue.offer(batch)) {
+                fallBehind(subscriber);
+            }
+            schedule(subscriber);
+        }
+    }
+
+    private void fallBehind(Subscriber subscriber) {
+        if (subscriber.resyncs.incrementAndGet() > properties.getMaxResyncs()) {
+            dropped.increment();
+            unsubscribe(subscriber);
+            //  complete() may wait for a send that is stuck on the client; not on this thread
+            senders.execute(subscriber.emitter::complete);
+            return;
+        }
+        resyncs.increment();
+        subscriber.queue.clear();
+        subscriber.resync.set(true);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            do {
+                while (subscriber.active.get()) {
+                    if (subscriber.resync.getAndSet(false)) {
+                        sendSnapshot(subscriber);
+                    }
+                    Batch batch = subscriber.queue.poll();
+                    if (batch == null) {
+                        break;
+                    }
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(Long.toString(batch.sequence()))
+                            .name(SEATS_EVENT)
+                            .data(batch.json(), MediaType.APPLICATION_JSON));
+                    fanout.record(System.nanoTime() - batch.firstChangeNanos(), TimeUnit.NANOSECONDS);
+                }
+                subscriber.draining.set(false);
+            } while (subscriber.active.get() && subscriber.hasWork() && subscriber.draining.compareAndSet(false, true));
+        } catch (IOException | RuntimeException e) {
+            //  Client went away; the emitter ignores the error if the container already knows
+            unsubscribe(subscriber);
+            subscriber.emitter.completeWithError(e);
+        }
+    }
+
+    private void sendSnapshot(Subscriber subscriber) throws IOException {
+        Channel channel = channels.get(subscriber.showtimeId);
+        long sequence = channel != null ? channel.sequence.get() : 0;
+        // The sequence above is matched to these seats, so they must not lag behind it
+        List<Long> booked = PrimaryReads.during(() -> bookingRepository.findSeatIdsByShowtimeId(subscriber.showtimeId));
+        subscriber.emitter.send(SseEmitter.event()
+                .id(Long.toString(sequence))
+                .name(SNAPSHOT_EVENT)
+                .data(objectMapper.writeValueAsString(new SeatChangesDto(subscriber.showtimeId, booked, List.of())),
+                        MediaType.APPLICATION_JSON));
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscriber.active.compareAndSet(true, false)) {
+            return;
+        }
+        subscribers.decrementAndGet();
+        channels.computeIfPresent(subscriber.showtimeId, (id, channel) -> {
+            channel.subscribers.remove(subscriber);
+            return channel.subscribers.isEmpty() ? null : channel;
+        });
+    }
+
+    int subscriberCount() {
+        return subscribers.get();
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdownNow();
+        channels.values().forEach(channel -> channel.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        channels.clear();
+        senders.shutdownNow();
+    }
+
+    private static final class Channel {
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final AtomicLong sequence = new AtomicLong();
+        //  Not synchronized: requests on virtual threads record changes, and a monitor would pin them
+        private final ReentrantLock lock = new ReentrantLock();
+        private Map<Long, Boolean> pending = new LinkedHashMap<>();
+        private long firstChangeNanos;
+    }
+
+    private static final class Subscriber {
+        private final long showtimeId;
+        private final SseEmitter emitter;
+        private final Queue<Batch> queue;
+        private final AtomicBoolean active = new AtomicBoolean(true);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean resync = new AtomicBoolean();
+        private final AtomicInteger resyncs = new AtomicInteger();
+
+        private Subscriber(long showtimeId, SseEmitter emitter, int buffer) {
+            this.showtimeId = showtimeId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(buffer);
+        }
+
+        private boolean hasWork() {
+            return resync.get() || !queue.isEmpty();
+        }
+    }
+
+    private record Batch(long sequence, String json, long firstChangeNanos) {
+    }
+}
@@ -0,0 +1,201 @@
+package com.popcornpalace.availability;
+
+import com.popcornpalace.cache.ResponseBodies;
+import com.popcornpalace.cache.SerializedBody;
+import com.popcornpalace.dto.SeatAvailabilityDto;
+import com.popcornpalace.dto.SeatMapDto;
+import com.popcornpalace.layout.SeatLayout;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Booked seats of one showtime with a version and the most recent changes.
+ * <p>
+ * Booked seats are a bit set over the ordinals of the theater's {@link SeatLayout}. Every change bumps
+ * the version by one and is written to a ring buffer, so the changes after any version still in the
+ * buffer can be replayed. Clients get the version as an opaque {@code epoch:version} cursor. The epoch
+ * is drawn at random for every load, so a cursor from before a reload, a restart or from another
+ * instance never matches and gets a snapshot.
+ */
+final class SeatMap {
+
+    private final long showtimeId;
+    private final SeatLayout layout;
+    private final LocalDateTime startTime;
+    private final String epoch;
+    private final BitSet booked;
+
+    //  changedSeat[version % capacity] is the seat changed by that version
+    private final long[] changedSeat;
+    private final BitSet changedToTaken;
+    private long version;
+    private int changes;
+
+    //  Not synchronized: polls run on virtual threads, and a monitor would pin them
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    //  Serialized snapshot of the version it was taken at; stale once the version moves on
+    private volatile CachedSnapshot cachedSnapshot;
+
+    //  Poll counter value of the last poll, for evicting the least recently polled maps
+    private volatile long lastPolled;
+
+    SeatMap(long showtimeId, SeatLayout layout, LocalDateTime startTime, List<Long> bookedSeatIds, int history,
+            String epoch) {
+        this.showtimeId = showtimeId;
+        this.layout = layout;
+        this.startTime = startTime;
+        this.epoch = epoch;
+        this.booked = new BitSet(layout.size());
+        for (Long seatId : bookedSeatIds) {
+            int ordinal = layout.ordinalOf(seatId);
+            if (ordinal >= 0) {
+                booked.set(ordinal);
+            }
+        }
+        this.changedSeat = new long[history];
+        this.changedToTaken = new BitSet(history);
+    }
+
+    SeatLayout layout() {
+        return layout;
+    }
+
+    LocalDateTime startTime() {
+        return startTime;
+    }
+
+    long lastPolled() {
+        return lastPolled;
+    }
+
+    void polled(long tick) {
+        lastPolled = tick;
+    }
+
+    //  false if the seat is not in this map's layout, which means the layout changed under it
+    boolean apply(long seatId, boolean taken) {
+        int ordinal = layout.ordinalOf(seatId);
+        if (ordinal < 0) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            if (booked.get(ordinal) == taken) {
+                return true;
+            }
+            booked.set(ordinal, taken);
+            version++;
+            int slot = slot(version);
+            changedSeat[slot] = seatId;
+            changedToTaken.set(slot, taken);
+            changes = Math.min(changes + 1, changedSeat.length);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //  Changes after the given cursor, or a snapshot if it is unknown or no longer in the buffer
+    SeatMapDto since(String cursor) {
+        lock.readLock().lock();
+        try {
+            long since = versionOf(cursor);
+            return needsSnapshot(since) ? snapshot() : delta(since);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //  Same as since, serialized; a snapshot is serialized once per version and shared
+    SerializedBody sinceAsBody(String cursor, ResponseBodies bodies) {
+        SeatMapDto map;
+        lock.readLock().lock();
+        try {
+            long since = versionOf(cursor);
+            if (!needsSnapshot(since)) {
+                map = delta(since);
+            } else {
+                CachedSnapshot cached = cachedSnapshot;
+                if (cached != null && cached.version() == version) {
+                    return cached.body();
+                }
+                map = snapshot();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        SerializedBody body = bodies.serialize(map);
+        if (map.isSnapshot()) {
+            cachedSnapshot = new CachedSnapshot(versionOf(map.getVersion()), body);
+        }
+        return body;
+    }
+
+    //  Version of a cursor of this map's epoch, -1 for anything else
+    private long versionOf(String cursor) {
+        if (cursor == null || cursor.length() <= epoch.length() + 1
+                || !cursor.startsWith(epoch) || cursor.charAt(epoch.length()) != ':') {
+            return -1;
+        }
+        try {
+            return Long.parseLong(cursor, epoch.length() + 1, cursor.length(), 10);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private boolean needsSnapshot(long since) {
+        return since < 0 || since > version || since < version - changes;
+    }
+
+    private SeatMapDto delta(long since) {
+        Map<Long, Boolean> latest = new LinkedHashMap<>();
+        for (long v = since + 1; v <= version; v++) {
+            int slot = slot(v);
+            latest.put(changedSeat[slot], changedToTaken.get(slot));
+        }
+        List<Long> taken = new ArrayList<>();
+        List<Long> released = new ArrayList<>();
+        latest.forEach((seatId, isTaken) -> (isTaken ? taken : released).add(seatId));
+        return SeatMapDto.builder()
+                .showtimeId(showtimeId)
+                .version(epoch + ":" + version)
+                .snapshot(false)
+                .taken(taken)
+                .released(released)
+                .build();
+    }
+
+    private SeatMapDto snapshot() {
+        List<SeatAvailabilityDto> seats = new ArrayList<>(layout.size());
+        for (int ordinal = 0; ordinal < layout.size(); ordinal++) {
+            seats.add(SeatAvailabilityDto.builder()
+                    .seatId(layout.seatId(ordinal))
+                    .row(layout.row(ordinal))
+                    .seatNumber(layout.seatNumber(ordinal))
+                    .seatType(layout.seatType(ordinal))
+                    .booked(booked.get(ordinal))
+                    .build());
+        }
+        return SeatMapDto.builder()
+                .showtimeId(showtimeId)
+                .version(epoch + ":" + version)
+                .snapshot(true)
+                .seats(seats)
+                .build();
+    }
+
+    private int slot(long v) {
+        return (int) Math.floorMod(v, (long) changedSeat.length);
+    }
+
+    private record CachedSnapshot(long version, SerializedBody body) {
+    }
+}
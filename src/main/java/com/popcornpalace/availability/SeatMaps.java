@@ -0,0 +1,155 @@
+package com.popcornpalace.availability;
+
+import com.popcornpalace.cache.ResponseBodies;
+import com.popcornpalace.cache.SerializedBody;
+import com.popcornpalace.config.SeatMapProperties;
+import com.popcornpalace.datasource.PrimaryReads;
+import com.popcornpalace.dto.SeatMapDto;
+import com.popcornpalace.event.BookingCancelledEvent;
+import com.popcornpalace.event.BookingCreatedEvent;
+import com.popcornpalace.event.ChangeKind;
+import com.popcornpalace.event.SeatLayoutChangedEvent;
+import com.popcornpalace.event.ShowtimeChangedEvent;
+import com.popcornpalace.exception.NotFoundException;
+import com.popcornpalace.layout.SeatLayouts;
+import com.popcornpalace.repository.BookingRepository;
+import com.popcornpalace.repository.ShowtimeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versioned seat maps per showtime, kept in memory for polling clients.
+ * <p>
+ * A showtime's map is read from the database once, on first poll; after that it follows committed
+ * bookings and cancellations, and polls are answered from memory. Maps of deleted showtimes, of
+ * rescheduled showtimes or showtimes moved to another theater, and of theaters whose layout changed are
+ * dropped. A periodic sweep drops maps of showtimes that have started and, beyond {@code max-maps}, the
+ * least recently polled ones.
+ */
+@Component
+@RequiredArgsConstructor
+public class SeatMaps {
+
+    private final ShowtimeRepository showtimeRepository;
+    private final BookingRepository bookingRepository;
+    private final SeatLayouts seatLayouts;
+    private final SeatMapProperties properties;
+    private final ResponseBodies responseBodies;
+
+    private final Map<Long, SeatMap> maps = new ConcurrentHashMap<>();
+
+    //  Bumped on every committed change; guards against caching a map read before it
+    private final AtomicLong changes = new AtomicLong();
+
+    //  Logical clock for least recently polled
+    private final AtomicLong polls = new AtomicLong();
+
+    public SeatMapDto since(long showtimeId, String since) {
+        return mapOf(showtimeId).since(since);
+    }
+
+    //  The same as JSON, for the response
+    public SerializedBody sinceAsBody(long showtimeId, String since) {
+        return mapOf(showtimeId).sinceAsBody(since, responseBodies);
+    }
+
+    private SeatMap mapOf(long showtimeId) {
+        SeatMap map = cachedOrLoaded(showtimeId);
+        map.polled(polls.incrementAndGet());
+        return map;
+    }
+
+    private SeatMap cachedOrLoaded(long showtimeId) {
+        SeatMap map = maps.get(showtimeId);
+        if (map != null) {
+            return map;
+        }
+        long stamp = changes.get();
+        SeatMap loaded = PrimaryReads.during(() -> load(showtimeId));
+        SeatMap existing = maps.putIfAbsent(showtimeId, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        if (changes.get() != stamp) {
+            // A change committed while we were reading; ours may already be behind
+            maps.remove(showtimeId, loaded);
+        }
+        return loaded;
+    }
+
+    private SeatMap load(long showtimeId) {
+        ScheduledTheater scheduled = showtimeRepository.findScheduledTheaterById(showtimeId)
+                .orElseThrow(() -> new NotFoundException(
+                        "Showtime not found: " + showtimeId)); // 404
+        return new SeatMap(showtimeId, seatLayouts.layoutOf(scheduled.theaterId()), scheduled.startTime(),
+                bookingRepository.findSeatIdsByShowtimeId(showtimeId),
+                properties.getHistory(), Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36));
+    }
+
+    @Scheduled(fixedDelayString = "${popcorn.seat-map.sweep-interval:PT1M}",
+            initialDelayString = "${popcorn.seat-map.sweep-interval:PT1M}")
+    public void sweep() {
+        sweep(LocalDateTime.now());
+    }
+
+    //  Removing a map needs no stamp: the next poll loads a fresh one under a new epoch
+    void sweep(LocalDateTime now) {
+        maps.values().removeIf(map -> !map.startTime().isAfter(now));
+        int excess = maps.size() - properties.getMaxMaps();
+        if (excess > 0) {
+            maps.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().lastPolled()))
+                    .limit(excess)
+                    .toList()
+                    .forEach(entry -> maps.remove(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBookingCreated(BookingCreatedEvent event) {
+        apply(event.showtimeId(), event.seatId(), true);
+    }
+
+    @TransactionalEventListener
+    public void onBookingCancelled(BookingCancelledEvent event) {
+        apply(event.showtimeId(), event.seatId(), false);
+    }
+
+    @TransactionalEventListener
+    public void onShowtimeChanged(ShowtimeChangedEvent event) {
+        if (event.kind() == ChangeKind.CREATED) {
+            return;
+        }
+        changes.incrementAndGet();
+        SeatMap map = maps.get(event.showtimeId());
+        if (map != null && (event.kind() == ChangeKind.DELETED
+                || !Objects.equals(event.showtime().getTheaterId(), map.layout().theaterId())
+                || !Objects.equals(event.showtime().getStartTime(), map.startTime()))) {
+            maps.remove(event.showtimeId(), map);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onSeatLayoutChanged(SeatLayoutChangedEvent event) {
+        changes.incrementAndGet();
+        maps.values().removeIf(map -> map.layout().theaterId() == event.theaterId());
+    }
+
+    private void apply(Long showtimeId, Long seatId, boolean taken) {
+        changes.incrementAndGet();
+        SeatMap map = maps.get(showtimeId);
+        if (map != null && !map.apply(seatId, taken)) {
+            maps.remove(showtimeId, map);
+        }
+    }
+}
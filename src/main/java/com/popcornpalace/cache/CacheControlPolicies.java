@@ -0,0 +1,35 @@
+package com.popcornpalace.cache;
+
+import com.popcornpalace.config.HttpCacheProperties;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+//  Cache-Control headers built once from popcorn.http-cache.policies
+@Component
+public class CacheControlPolicies {
+
+    private static final CacheControl DEFAULT = CacheControl.noCache();
+
+    private final Map<String, CacheControl> policies = new HashMap<>();
+
+    public CacheControlPolicies(HttpCacheProperties properties) {
+        properties.getPolicies().forEach((endpoint, policy) -> policies.put(endpoint, toCacheControl(policy)));
+    }
+
+    public CacheControl forEndpoint(String endpoint) {
+        return policies.getOrDefault(endpoint, DEFAULT);
+    }
+
+    private static CacheControl toCacheControl(HttpCacheProperties.Policy policy) {
+        CacheControl cacheControl = policy.isNoCache()
+                ? CacheControl.noCache()
+                : CacheControl.maxAge(policy.getMaxAge());
+        if (policy.isMustRevalidate()) {
+            cacheControl = cacheControl.mustRevalidate();
+        }
+        return policy.isCachePrivate() ? cacheControl.cachePrivate() : cacheControl.cachePublic();
+    }
+}
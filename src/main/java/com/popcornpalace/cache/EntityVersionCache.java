@@ -0,0 +1,114 @@
+package com.popcornpalace.cache;
+
+import com.popcornpalace.datasource.PrimaryReads;
+import com.popcornpalace.event.ChangeKind;
+import com.popcornpalace.event.ShowtimeChangedEvent;
+import com.popcornpalace.repository.ShowtimeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory showtime versions used to answer conditional GETs without a database round trip.
+ * <p>
+ * Showtimes remember the version last read or created and, once read, the serialized response body
+ * of that version, so repeated GETs skip both the database and Jackson. ETags carry a per-process
+ * epoch, so tags issued by a previous run (or another instance) never match and simply cause a
+ * normal 200. Local writes invalidate through after-commit events; writes made through other
+ * instances are caught by re-checking every known version against the database once per
+ * {@code popcorn.http-cache.max-staleness}. The movie collection version lives in {@link MovieCatalog}.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityVersionCache {
+
+    private static final int REVALIDATE_BATCH = 1000;
+
+    private final ShowtimeRepository showtimeRepository;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Map<Long, KnownShowtime> showtimes = new ConcurrentHashMap<>();
+
+    //  Bumped on every showtime invalidation; guards against caching a version read before it
+    private final AtomicLong showtimeInvalidations = new AtomicLong();
+
+    //  ETag of a showtime if its current version is known, null otherwise
+    public String showtimeEtag(Long showtimeId) {
+        KnownShowtime known = showtimes.get(showtimeId);
+        return known == null ? null : known.etag();
+    }
+
+    //  Serialized body of the version the ETag (from showtimeEtag) names; null if the version changed or was not read yet
+    public SerializedBody showtimeBody(Long showtimeId, String etag) {
+        KnownShowtime known = showtimes.get(showtimeId);
+        return known != null && known.etag().equals(etag) ? known.body() : null;
+    }
+
+    public String showtimeEtag(Long showtimeId, long version) {
+        return "\"st-" + epoch + "-" + showtimeId + "-" + version + "\"";
+    }
+
+    //  Take before reading a showtime from the database, pass to rememberShowtime afterwards
+    public long showtimeStamp() {
+        return showtimeInvalidations.get();
+    }
+
+    public void rememberShowtime(Long showtimeId, Long version, SerializedBody body, long stamp) {
+        if (version == null) {
+            return;
+        }
+        KnownShowtime known = new KnownShowtime(version, showtimeEtag(showtimeId, version), body);
+        showtimes.put(showtimeId, known);
+        if (showtimeInvalidations.get() != stamp) {
+            // A write committed while we were reading; our version may already be stale
+            showtimes.remove(showtimeId, known);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onShowtimeChanged(ShowtimeChangedEvent event) {
+        showtimeInvalidations.incrementAndGet();
+        if (event.kind() == ChangeKind.CREATED && event.showtime().getVersion() != null) {
+            Long version = event.showtime().getVersion();
+            showtimes.put(event.showtimeId(), new KnownShowtime(
+                    version, showtimeEtag(event.showtimeId(), version), null));
+        } else {
+            showtimes.remove(event.showtimeId());
+        }
+    }
+
+    //  Drops every known showtime whose version moved on (or that is gone) without an event reaching this instance
+    @Scheduled(fixedDelayString = "${popcorn.http-cache.max-staleness:PT5S}",
+            initialDelayString = "${popcorn.http-cache.max-staleness:PT5S}")
+    public void revalidate() {
+        List<Long> ids = new ArrayList<>(showtimes.keySet());
+        for (int from = 0; from < ids.size(); from += REVALIDATE_BATCH) {
+            List<Long> batch = ids.subList(from, Math.min(ids.size(), from + REVALIDATE_BATCH));
+            Map<Long, Long> versions = new HashMap<>();
+            List<Object[]> rows = PrimaryReads.during(() -> showtimeRepository.findVersionsByIdIn(batch));
+            for (Object[] row : rows) {
+                versions.put((Long) row[0], (Long) row[1]);
+            }
+            for (Long id : batch) {
+                KnownShowtime known = showtimes.get(id);
+                if (known != null && !Objects.equals(known.version(), versions.get(id))) {
+                    showtimes.remove(id, known);
+                }
+            }
+        }
+    }
+
+    //  ETag built once per version; body is null until the version is read
+    private record KnownShowtime(Long version, String etag, SerializedBody body) {
+    }
+}
@@ -0,0 +1,151 @@
+package com.popcornpalace.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.popcornpalace.datasource.PrimaryReads;
+import com.popcornpalace.dto.MovieDto;
+import com.popcornpalace.entity.MovieCatalogCounter;
+import com.popcornpalace.event.MovieCatalogReloadedEvent;
+import com.popcornpalace.event.MovieChangedEvent;
+import com.popcornpalace.event.MoviesImportedEvent;
+import com.popcornpalace.repository.MovieCatalogCounterRepository;
+import com.popcornpalace.repository.MovieRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holder of the current {@link MovieCatalogSnapshot}.
+ * <p>
+ * Readers just load the reference. Writers are serialized by a lock: after each committed
+ * change the affected movie is re-read by id and a new snapshot is swapped in, so listeners
+ * running out of commit order still end up with the latest committed row.
+ * <p>
+ * Changes committed through other instances raise no event here. Every transaction that writes
+ * movies bumps the single-row {@link MovieCatalogCounter} before it commits; the counter is read
+ * once per {@code popcorn.http-cache.max-staleness} and compared with the value taken before the
+ * last full load, and the catalog is reloaded when they differ. Such a reload is announced with a
+ * {@link MovieCatalogReloadedEvent}, so indexes built from the snapshot can rebuild.
+ */
+@Slf4j
+@Component
+public class MovieCatalog {
+
+    private final MovieRepository movieRepository;
+    private final MovieCatalogCounterRepository counterRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectWriter arrayWriter;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicReference<MovieCatalogSnapshot> current = new AtomicReference<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    //  Taken before the last full load; a local change makes it differ, which costs one extra reload
+    private volatile long loadedFrom;
+
+    public MovieCatalog(MovieRepository movieRepository, MovieCatalogCounterRepository counterRepository,
+                        ObjectMapper objectMapper, ApplicationEventPublisher eventPublisher) {
+        this.movieRepository = movieRepository;
+        this.counterRepository = counterRepository;
+        this.eventPublisher = eventPublisher;
+        this.arrayWriter = objectMapper.writerFor(MovieDto[].class);
+    }
+
+    public MovieCatalogSnapshot snapshot() {
+        MovieCatalogSnapshot snapshot = current.get();
+        return snapshot != null ? snapshot : reload();
+    }
+
+    //  Full reload, also used after bulk changes
+    public MovieCatalogSnapshot reload() {
+        writeLock.lock();
+        try {
+            // Taken first: a change committed during the load then shows up as a difference later
+            long changes = changes();
+            MovieDto[] movies = PrimaryReads.during(movieRepository::findAllAsDto).toArray(MovieDto[]::new);
+            MovieCatalogSnapshot snapshot = swap(movies);
+            loadedFrom = changes;
+            log.info("Movie catalog loaded: {} movies, version {}", movies.length, snapshot.version());
+            return snapshot;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    //  Runs before other movie listeners, so they can read the change from the snapshot
+    @Order(0)
+    @TransactionalEventListener
+    public void onMovieChanged(MovieChangedEvent event) {
+        writeLock.lock();
+        try {
+            MovieCatalogSnapshot snapshot = current.get();
+            if (snapshot == null) {
+                return; // not loaded yet, the first read will load everything
+            }
+            MovieDto[] movies = PrimaryReads.during(() -> movieRepository.findDtoById(event.movieId()))
+                    .map(snapshot::withMovie)
+                    .orElseGet(() -> snapshot.withoutMovie(event.movieId()));
+            swap(movies);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    //  A bulk import touches too many rows to patch one by one
+    @Order(0)
+    @TransactionalEventListener
+    public void onMoviesImported(MoviesImportedEvent event) {
+        reload();
+    }
+
+    //  In the writing transaction, so the counter moves exactly when movies do; its row lock is held
+    //  only from here to the commit
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void countMovieChange(MovieChangedEvent event) {
+        countChange();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void countMoviesImported(MoviesImportedEvent event) {
+        countChange();
+    }
+
+    @Scheduled(fixedDelayString = "${popcorn.http-cache.max-staleness:PT5S}",
+            initialDelayString = "${popcorn.http-cache.max-staleness:PT5S}")
+    public void revalidate() {
+        if (current.get() != null && changes() != loadedFrom) {
+            eventPublisher.publishEvent(new MovieCatalogReloadedEvent(reload().version()));
+        }
+    }
+
+    private long changes() {
+        return PrimaryReads.during(counterRepository::findChanges).orElse(0L);
+    }
+
+    private void countChange() {
+        if (counterRepository.increment() == 0) {
+            // Schema built by ddl-auto (tests, benchmarks): the row Flyway seeds is missing
+            counterRepository.save(new MovieCatalogCounter(MovieCatalogCounter.ID, 1L));
+        }
+    }
+
+    private MovieCatalogSnapshot swap(MovieDto[] movies) {
+        MovieCatalogSnapshot previous = current.get();
+        long version = previous == null ? 1 : previous.version() + 1;
+        MovieCatalogSnapshot next = new MovieCatalogSnapshot(
+                version,
+                System.currentTimeMillis(),
+                "\"movies-" + epoch + "-" + version + "\"",
+                movies,
+                arrayWriter);
+        current.set(next);
+        return next;
+    }
+}
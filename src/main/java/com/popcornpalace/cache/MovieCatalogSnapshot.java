@@ -0,0 +1,110 @@
+package com.popcornpalace.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.popcornpalace.dto.MovieDto;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable view of the whole movie catalog: movies sorted by id, a parallel id array for
+ * binary-search lookups and the serialized JSON of the full list (plain and gzip), built once per snapshot.
+ * The shared {@link MovieDto} instances must be treated as read-only.
+ */
+public final class MovieCatalogSnapshot {
+
+    private final long version;
+    private final long lastModified;
+    private final String etag;
+    private final MovieDto[] movies;
+    private final long[] ids;
+    private final List<MovieDto> list;
+    private final ObjectWriter arrayWriter;
+
+    private volatile SerializedBody body;
+
+    public MovieCatalogSnapshot(long version, long lastModified, String etag, MovieDto[] movies, ObjectWriter arrayWriter) {
+        this.version = version;
+        this.lastModified = lastModified;
+        this.etag = etag;
+        this.movies = movies;
+        this.ids = new long[movies.length];
+        for (int i = 0; i < movies.length; i++) {
+            ids[i] = movies[i].getId();
+        }
+        this.list = Collections.unmodifiableList(Arrays.asList(movies));
+        this.arrayWriter = arrayWriter;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public long lastModified() {
+        return lastModified;
+    }
+
+    public String etag() {
+        return etag;
+    }
+
+    public List<MovieDto> movies() {
+        return list;
+    }
+
+    public int size() {
+        return movies.length;
+    }
+
+    public MovieDto findById(long id) {
+        int index = Arrays.binarySearch(ids, id);
+        return index >= 0 ? movies[index] : null;
+    }
+
+    //  Serialized on first use, then shared by every request that sees this snapshot
+    public SerializedBody body() {
+        SerializedBody serialized = body;
+        if (serialized == null) {
+            try {
+                serialized = new SerializedBody(arrayWriter.writeValueAsBytes(movies));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Cannot serialize movie catalog", e);
+            }
+            body = serialized;
+        }
+        return serialized;
+    }
+
+    public byte[] json() {
+        return body().json();
+    }
+
+    //  Copy-on-write: a new array with the movie inserted or replaced, the receiver is untouched
+    MovieDto[] withMovie(MovieDto movie) {
+        int index = Arrays.binarySearch(ids, movie.getId());
+        if (index >= 0) {
+            MovieDto[] copy = movies.clone();
+            copy[index] = movie;
+            return copy;
+        }
+        int insertAt = -index - 1;
+        MovieDto[] copy = new MovieDto[movies.length + 1];
+        System.arraycopy(movies, 0, copy, 0, insertAt);
+        copy[insertAt] = movie;
+        System.arraycopy(movies, insertAt, copy, insertAt + 1, movies.length - insertAt);
+        return copy;
+    }
+
+    MovieDto[] withoutMovie(long id) {
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            return movies;
+        }
+        MovieDto[] copy = new MovieDto[movies.length - 1];
+        System.arraycopy(movies, 0, copy, 0, index);
+        System.arraycopy(movies, index + 1, copy, index, movies.length - index - 1);
+        return copy;
+    }
+}
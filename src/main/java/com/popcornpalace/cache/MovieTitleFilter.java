@@ -0,0 +1,71 @@
+package com.popcornpalace.cache;
+
+import com.popcornpalace.datasource.PrimaryReads;
+import com.popcornpalace.repository.MovieRepository;
+import com.popcornpalace.util.BloomFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bloom filter over normalized movie titles, so that creating or renaming a movie to a title that
+ * is definitely new needs no uniqueness query.
+ * <p>
+ * The filter only ever answers "definitely new" or "maybe taken"; a "maybe" falls back to the
+ * query. It can miss titles written by another instance or while it was loading, but those
+ * inserts are still rejected by the unique index on {@code normalized_title}. Deleted titles stay
+ * in the filter until the next reload and only cost an extra query.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MovieTitleFilter {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_CAPACITY = 10_000;
+
+    private final MovieRepository movieRepository;
+
+    //  Not synchronized: a virtual thread waiting on the query inside would pin its carrier thread
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    //  Null until loaded; everything is "maybe taken" until then
+    private volatile BloomFilter filter;
+
+    public boolean mightContain(String normalizedTitle) {
+        BloomFilter current = filter;
+        return current == null || current.mightContain(normalizedTitle);
+    }
+
+    public void add(String normalizedTitle) {
+        BloomFilter current = filter;
+        if (current == null) {
+            return;
+        }
+        current.add(normalizedTitle);
+        if (current.isSaturated()) {
+            load(); // rare: resize to the new catalog size, which also drops deleted titles
+        }
+    }
+
+    //  Rebuild from the database, sized at twice the current catalog
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        loadLock.lock();
+        try {
+            // Titles missing from a lagging replica would be answered "definitely new"
+            List<String> titles = PrimaryReads.during(movieRepository::findAllNormalizedTitles);
+            BloomFilter loaded = BloomFilter.create(Math.max(MIN_CAPACITY, titles.size() * 2), FALSE_POSITIVE_RATE);
+            titles.forEach(loaded::add);
+            filter = loaded;
+            log.info("Movie title filter loaded: {} titles", titles.size());
+        } finally {
+            loadLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.popcornpalace.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popcornpalace.config.HttpCacheProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Serializes cacheable response bodies and writes them as bytes, so a cached body skips Jackson
+ * entirely. Bodies of at least {@code popcorn.http-cache.gzip-min-bytes} are sent gzip-compressed
+ * to clients that accept it, from the compressed copy kept with the body. The compressed body is a
+ * different representation, so it carries its own ETag: the identity tag with {@code -gz} appended.
+ */
+@Component
+public class ResponseBodies {
+
+    private static final String GZIP = "gzip";
+
+    private final ObjectMapper objectMapper;
+    private final int gzipMinBytes;
+
+    public ResponseBodies(ObjectMapper objectMapper, HttpCacheProperties properties) {
+        this.objectMapper = objectMapper;
+        this.gzipMinBytes = properties.getGzipMinBytes();
+    }
+
+    public SerializedBody serialize(Object value) {
+        try {
+            return new SerializedBody(objectMapper.writeValueAsBytes(value));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    public ResponseEntity<byte[]> write(ResponseEntity.BodyBuilder response, SerializedBody body, WebRequest request) {
+        response.contentType(MediaType.APPLICATION_JSON);
+        if (body.json().length < gzipMinBytes) {
+            return response.body(body.json());
+        }
+        response.varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (!acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return response.body(body.json());
+        }
+        ResponseEntity<byte[]> gzipped = response.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(body.gzip());
+        String etag = gzipped.getHeaders().getETag();
+        if (etag == null) {
+            return gzipped;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(gzipped.getHeaders());
+        headers.setETag(gzipEtag(etag));
+        return new ResponseEntity<>(gzipped.getBody(), headers, gzipped.getStatusCode());
+    }
+
+    /**
+     * {@link WebRequest#checkNotModified(String)} for a body written by {@link #write}: the client may hold
+     * either the identity or the gzip tag. The response is only touched on a match, so a 200 carries the
+     * tag of the body actually sent rather than one set here.
+     */
+    public static boolean checkNotModified(WebRequest request, String etag) {
+        return checkNotModified(request, etag, -1);
+    }
+
+    //  The same with Last-Modified, consulted only without If-None-Match
+    public static boolean checkNotModified(WebRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return lastModified >= 0 && request.checkNotModified(lastModified);
+        }
+        String gzipEtag = gzipEtag(etag);
+        for (String tag : ifNoneMatch.split(",")) {
+            String opaque = tag.trim();
+            if (opaque.startsWith("W/")) {
+                opaque = opaque.substring(2);
+            }
+            if (opaque.equals(gzipEtag)) {
+                return request.checkNotModified(gzipEtag);
+            }
+            if (opaque.equals(etag) || opaque.equals("*")) {
+                return request.checkNotModified(etag);
+            }
+        }
+        return false;
+    }
+
+    //  "tag" -> "tag-gz", W/"tag" -> W/"tag-gz"
+    static String gzipEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gz\"";
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase(GZIP) || name.equals("*")) {
+                // gzip;q=0 means "not gzip"
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,40 @@
+package com.popcornpalace.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A JSON response body serialized once, shared by every request that serves the same version.
+ * The gzip form is compressed on first request and kept alongside; both arrays must not be modified.
+ */
+public final class SerializedBody {
+
+    private final byte[] json;
+
+    private volatile byte[] gzip;
+
+    public SerializedBody(byte[] json) {
+        this.json = json;
+    }
+
+    public byte[] json() {
+        return json;
+    }
+
+    public byte[] gzip() {
+        byte[] bytes = gzip;
+        if (bytes == null) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 32);
+            try (GZIPOutputStream zip = new GZIPOutputStream(out)) {
+                zip.write(json);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            bytes = out.toByteArray();
+            gzip = bytes;
+        }
+        return bytes;
+    }
+}
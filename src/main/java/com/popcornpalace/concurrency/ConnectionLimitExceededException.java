@@ -0,0 +1,11 @@
+package com.popcornpalace.concurrency;
+
+import java.sql.SQLTransientConnectionException;
+
+//  No connection permit freed up within max-wait; answered with 503 and Retry-After
+public class ConnectionLimitExceededException extends SQLTransientConnectionException {
+
+    public ConnectionLimitExceededException(String reason) {
+        super(reason, "08004");
+    }
+}
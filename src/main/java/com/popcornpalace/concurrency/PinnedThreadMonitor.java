@@ -0,0 +1,72 @@
+package com.popcornpalace.concurrency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports virtual threads that blocked while pinned to their carrier, typically inside a
+ * {@code synchronized} block or a native frame, from the JDK's {@code jdk.VirtualThreadPinned} JFR event.
+ * <p>
+ * Each event is timed in {@code popcorn.virtual.threads.pinned}, tagged with the innermost frame of
+ * our own code (or the top frame if there is none). The stack of each new location is logged once.
+ */
+@Slf4j
+public class PinnedThreadMonitor implements AutoCloseable {
+
+    static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.popcornpalace.";
+
+    private final MeterRegistry registry;
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+    private final RecordingStream stream;
+
+    public PinnedThreadMonitor(Duration threshold, MeterRegistry registry) {
+        this.registry = registry;
+        this.stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::onPinned);
+        stream.startAsync();
+    }
+
+    void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        String location = location(frames);
+        Timer.builder("popcorn.virtual.threads.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier thread")
+                .tag("location", location)
+                .register(registry)
+                .record(event.getDuration());
+        if (reported.add(location)) {
+            StringBuilder stack = new StringBuilder();
+            frames.forEach(frame -> stack.append("\n\tat ").append(name(frame)).append(':').append(frame.getLineNumber()));
+            log.warn("Virtual thread pinned for {} ms at {}{}", event.getDuration().toMillis(), location, stack);
+        }
+    }
+
+    static String location(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            if (frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+                return name(frame);
+            }
+        }
+        return frames.isEmpty() ? "unknown" : name(frames.get(0));
+    }
+
+    private static String name(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+}
@@ -0,0 +1,30 @@
+package com.popcornpalace.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "popcorn.http-cache")
+public class HttpCacheProperties {
+
+    //  Cache-Control policy per endpoint key (e.g. "movies", "showtime")
+    private Map<String, Policy> policies = new LinkedHashMap<>();
+
+    //  Longest time an in-memory version or body may lag a write made through another instance
+    private Duration maxStaleness = Duration.ofSeconds(5);
+
+    //  Pre-serialized bodies at least this large are also served gzip-compressed
+    private int gzipMinBytes = 1024;
+
+    @Data
+    public static class Policy {
+        private Duration maxAge = Duration.ZERO;
+        private boolean noCache = false;
+        private boolean mustRevalidate = true;
+        private boolean cachePrivate = false;
+    }
+}
@@ -0,0 +1,20 @@
+package com.popcornpalace.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "popcorn.partitioning")
+public class PartitioningProperties {
+
+    //  Turn on only after db/partitioning/partition_showtimes_bookings.sql has been applied (PostgreSQL only)
+    private boolean enabled = false;
+
+    //  How many future months always have their own partition
+    private int monthsAhead = 3;
+
+    //  Months older than this are detached and compacted into the archive tables
+    private int retentionMonths = 6;
+
+    private String cron = "0 15 3 * * *";
+}
@@ -0,0 +1,42 @@
+package com.popcornpalace.config;
+
+import com.popcornpalace.entity.Seat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "popcorn.pricing")
+public class PricingProperties {
+
+    //  Multiplier on the showtime price per seat type; missing types are charged the base price
+    private Map<Seat.SeatType, BigDecimal> seatTypeMultipliers = new EnumMap<>(Map.of(
+            Seat.SeatType.REGULAR, new BigDecimal("1.00"),
+            Seat.SeatType.PREMIUM, new BigDecimal("1.25"),
+            Seat.SeatType.VIP, new BigDecimal("1.50")));
+
+    //  The highest tier whose min-occupancy (booked / capacity, 0..1) has been reached applies
+    private List<Tier> occupancyTiers = new ArrayList<>(List.of(
+            new Tier(0.0, new BigDecimal("1.00")),
+            new Tier(0.5, new BigDecimal("1.10")),
+            new Tier(0.8, new BigDecimal("1.25"))));
+
+    //  How often the in-memory booked seats are re-read from the database to correct drift
+    private Duration recountInterval = Duration.ofMinutes(5);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Tier {
+        private double minOccupancy;
+        private BigDecimal multiplier;
+    }
+}
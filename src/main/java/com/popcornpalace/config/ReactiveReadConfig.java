@@ -0,0 +1,77 @@
+package com.popcornpalace.config;
+
+import com.popcornpalace.repository.ReactiveReadRepository;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * R2DBC pool for the reactive read endpoints, and the executor their streams are written on.
+ * <p>
+ * The pool is owned by {@link ReactiveReadRepository} and deliberately not a {@code ConnectionFactory}
+ * bean: Spring Boot backs off its JDBC DataSource as soon as one exists, and JPA and every write
+ * stay on JDBC.
+ * <p>
+ * Under MVC a {@code Flux} response is written by the async executor, one blocking servlet write per
+ * element, and Boot's default executor has 8 threads: eight slow clients would stall every stream.
+ * Streams get their own executor instead, {@code stream-writer-threads} platform threads, or one
+ * virtual thread per write when {@code spring.threads.virtual.enabled} is set.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "popcorn.reactive-reads", name = "enabled", havingValue = "true")
+public class ReactiveReadConfig {
+
+    @Bean
+    ReactiveReadRepository reactiveReadRepository(ReactiveReadProperties properties) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(properties.getUrl()).mutate();
+        if (properties.getUsername() != null) {
+            options.option(ConnectionFactoryOptions.USER, properties.getUsername());
+        }
+        if (properties.getPassword() != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, properties.getPassword());
+        }
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .name("reactive-reads")
+                .initialSize(properties.getInitialSize())
+                .maxSize(properties.getMaxSize())
+                .build());
+        return new ReactiveReadRepository(pool, properties.getFetchSize());
+    }
+
+    //  Also writes StreamingResponseBody (GET /api/movies/stream), the other streamed response
+    @Bean
+    WebMvcConfigurer reactiveStreamWriters(ReactiveReadProperties properties, Environment environment) {
+        AsyncTaskExecutor writers = streamWriters(properties, environment);
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.setTaskExecutor(writers);
+            }
+        };
+    }
+
+    private static AsyncTaskExecutor streamWriters(ReactiveReadProperties properties, Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("stream-writer-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("stream-writer-");
+        executor.setCorePoolSize(properties.getStreamWriterThreads());
+        executor.setMaxPoolSize(properties.getStreamWriterThreads());
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,26 @@
+package com.popcornpalace.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "popcorn.reactive-reads")
+public class ReactiveReadProperties {
+
+    //  Serve the /api/reactive read endpoints over R2DBC
+    private boolean enabled = false;
+
+    //  r2dbc:postgresql://host:5432/db; may point at a read replica
+    private String url;
+    private String username;
+    private String password;
+
+    private int initialSize = 2;
+    private int maxSize = 20;
+
+    //  Rows fetched per round trip when streaming; the next batch is only requested once the client has taken these
+    private int fetchSize = 500;
+
+    //  Threads writing streamed responses (MVC async executor); each write blocks on a slow client, so size to concurrent streams
+    private int streamWriterThreads = 64;
+}
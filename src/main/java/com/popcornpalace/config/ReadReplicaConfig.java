@@ -0,0 +1,83 @@
+package com.popcornpalace.config;
+
+import com.popcornpalace.datasource.ReadWriteRoutingDataSource;
+import com.popcornpalace.datasource.ReadYourWritesFilter;
+import com.popcornpalace.datasource.Replica;
+import com.popcornpalace.datasource.ReplicaMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read/write split: spring.datasource stays the primary, popcorn.datasource.replicas serve read-only
+ * transactions. The application DataSource is a lazy proxy over the router, so the connection is taken
+ * only at the first statement, after the transaction's read-only flag is known.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "popcorn.datasource", name = "read-replicas-enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    //  Migrations go straight to the primary rather than through the routing proxy
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean
+    ReplicaMonitor replicaMonitor(ReplicaProperties properties, ObjectProvider<MeterRegistry> registry) {
+        List<Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            ReplicaProperties.Replica replica = properties.getReplicas().get(i);
+            String name = replica.getName() != null ? replica.getName() : "replica-" + (i + 1);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(name);
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername());
+            pool.setPassword(replica.getPassword());
+            pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+            pool.setReadOnly(true);
+            //  Start even if the replica is down; the monitor keeps it out of rotation until it answers
+            pool.setInitializationFailTimeout(-1);
+            registry.ifAvailable(meters -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meters)));
+            replicas.add(new Replica(name, pool, replica.getLagQuery()));
+        }
+        ReplicaMonitor monitor = new ReplicaMonitor(replicas, properties.getMaxLag());
+        monitor.checkAll();
+        return monitor;
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(HikariDataSource primaryDataSource, ReplicaMonitor replicaMonitor) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primaryDataSource, replicaMonitor.replicas()));
+    }
+
+    @Bean
+    FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReplicaProperties properties) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(properties.getStickiness()));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
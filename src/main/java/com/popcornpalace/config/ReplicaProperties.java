@@ -0,0 +1,38 @@
+package com.popcornpalace.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "popcorn.datasource")
+public class ReplicaProperties {
+
+    //  Route read-only transactions to the replicas below; off means a single DataSource as before
+    private boolean readReplicasEnabled = false;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    //  After a client writes, its reads go to the primary for this long (read-your-writes)
+    private Duration stickiness = Duration.ofSeconds(5);
+
+    //  A replica further behind than this is skipped until it catches up
+    private Duration maxLag = Duration.ofSeconds(2);
+
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    @Data
+    public static class Replica {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+
+        //  Returns the replica's lag in seconds (one numeric column); none means health is checked only
+        private String lagQuery;
+    }
+}
@@ -0,0 +1,20 @@
+package com.popcornpalace.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "popcorn.seat-map")
+public class SeatMapProperties {
+
+    //  Recent seat changes kept per showtime; clients further behind get a full snapshot
+    private int history = 256;
+
+    //  Seat maps kept in memory; beyond this the least recently polled are dropped at the next sweep
+    private int maxMaps = 10_000;
+
+    //  How often maps of started showtimes, and the excess over max-maps, are dropped
+    private Duration sweepInterval = Duration.ofMinutes(1);
+}
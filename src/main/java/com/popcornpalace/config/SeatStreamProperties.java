@@ -0,0 +1,23 @@
+package com.popcornpalace.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "popcorn.seat-stream")
+public class SeatStreamProperties {
+
+    //  Seat changes are collected for this long and sent as one event per showtime
+    private Duration batchInterval = Duration.ofMillis(100);
+
+    //  Events queued per subscriber; a subscriber that falls further behind is resynced
+    private int subscriberBuffer = 16;
+
+    //  Resyncs a subscriber may need before it is dropped; clients reconnect and start over
+    private int maxResyncs = 3;
+
+    //  Streams are closed after this long; EventSource clients reconnect on their own
+    private Duration timeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,63 @@
+package com.popcornpalace.config;
+
+import com.popcornpalace.sql.SqlBudgetFilter;
+import com.popcornpalace.sql.SqlCountingListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+//  Per-request SQL accounting: the DataSource is wrapped with datasource-proxy, the filter checks budgets
+@Configuration
+@ConditionalOnProperty(prefix = "popcorn.sql-budget", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlBudgetConfig {
+
+    private static final String APPLICATION_DATA_SOURCE = "dataSource";
+
+    @Bean
+    static BeanPostProcessor sqlCountingDataSourcePostProcessor(Environment environment) {
+        SqlCountingListener listener = new SqlCountingListener();
+        //  Bound by hand: post-processors are created before @ConfigurationProperties beans
+        SqlBudgetProperties properties = Binder.get(environment)
+                .bind("popcorn.sql-budget", SqlBudgetProperties.class)
+                .orElseGet(SqlBudgetProperties::new);
+        //  Rows are only reported in the dev headers; proxying every ResultSet costs a call per row in production
+        boolean countRows = properties.isResponseHeaders() || properties.isFailOnViolation();
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                //  Only the DataSource the application uses; with read replicas the primary pool is a bean as well
+                if (APPLICATION_DATA_SOURCE.equals(beanName)
+                        && bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(listener)
+                            .methodListener(listener);
+                    if (countRows) {
+                        builder.proxyResultSet();
+                    }
+                    return builder.build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    FilterRegistrationBean<SqlBudgetFilter> sqlBudgetFilter(SqlBudgetProperties properties, MeterRegistry registry) {
+        FilterRegistrationBean<SqlBudgetFilter> registration =
+                new FilterRegistrationBean<>(new SqlBudgetFilter(properties, registry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
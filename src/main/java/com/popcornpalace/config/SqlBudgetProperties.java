@@ -0,0 +1,30 @@
+package com.popcornpalace.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "popcorn.sql-budget")
+public class SqlBudgetProperties {
+
+    //  Wrap the DataSource and account statements per HTTP request
+    private boolean enabled = true;
+
+    //  Statements a request may run unless its endpoint has its own budget
+    private int defaultMaxStatements = 10;
+
+    //  Budget per endpoint, keyed "<METHOD> <path pattern>", e.g. "POST /api/bookings"
+    private Map<String, Integer> endpoints = new LinkedHashMap<>();
+
+    //  The same SELECT this many times in one request is reported as a probable N+1
+    private int repeatedSelectThreshold = 3;
+
+    //  Throw instead of logging a warning (tests)
+    private boolean failOnViolation = false;
+
+    //  Add X-Sql-Statements / X-Sql-Rows / X-Sql-Time-Ms to responses (dev)
+    private boolean responseHeaders = false;
+}
@@ -0,0 +1,57 @@
+package com.popcornpalace.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.SpringProperties;
+import org.springframework.web.servlet.HandlerAdapter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+/**
+ * Startup behaviour for the fast-start build (see README "Fast startup").
+ * <p>
+ * With the {@code lazy} profile, beans are created on first use, except for the application's own
+ * beans and the MVC infrastructure the first request goes through. The application's beans are
+ * either on the request path or hold {@code @Scheduled} jobs, which are only scheduled for beans
+ * that exist. What stays lazy is what requests rarely touch: OpenAPI docs, actuator endpoints and
+ * the rest of the auto-configured extras.
+ */
+@Configuration
+public class StartupConfig {
+
+    private static final String APPLICATION_PACKAGE = "com.popcornpalace.";
+
+    private static final List<Class<?>> REQUEST_PATH_TYPES = List.of(
+            HandlerMapping.class, HandlerAdapter.class, HandlerExceptionResolver.class, ObjectMapper.class);
+
+    //  Only consulted when spring.main.lazy-initialization is on
+    @Bean
+    static LazyInitializationExcludeFilter eagerRequestPath() {
+        return (beanName, definition, beanType) -> isEager(beanType);
+    }
+
+    //  A CDS training run (-Dspring.context.exit=onRefresh) only loads classes and has no database to migrate
+    @Bean
+    FlywayMigrationStrategy flywayMigrationStrategy() {
+        return flyway -> {
+            if (!"onRefresh".equals(SpringProperties.getProperty("spring.context.exit"))) {
+                flyway.migrate();
+            }
+        };
+    }
+
+    static boolean isEager(Class<?> beanType) {
+        if (beanType == null) {
+            return false;
+        }
+        if (beanType.getName().startsWith(APPLICATION_PACKAGE)) {
+            return true;
+        }
+        return REQUEST_PATH_TYPES.stream().anyMatch(type -> type.isAssignableFrom(beanType));
+    }
+}
@@ -0,0 +1,76 @@
+package com.popcornpalace.config;
+
+import com.popcornpalace.concurrency.ConnectionLimitingDataSource;
+import com.popcornpalace.concurrency.PinnedThreadMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+//  Request execution on virtual threads (spring.threads.virtual.enabled=true): a pool-sized connection cap and pinning reports
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    private static final String APPLICATION_DATA_SOURCE = "dataSource";
+
+    @Bean
+    static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        //  Bound by hand: post-processors are created before @ConfigurationProperties beans
+        VirtualThreadProperties properties = Binder.get(environment)
+                .bind("popcorn.virtual-threads", VirtualThreadProperties.class)
+                .orElseGet(VirtualThreadProperties::new);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (APPLICATION_DATA_SOURCE.equals(beanName)
+                        && bean instanceof DataSource dataSource && !isLimited(dataSource)) {
+                    int limit = properties.getMaxConnections() > 0
+                            ? properties.getMaxConnections()
+                            : primaryPoolSize(dataSource);
+                    return new ConnectionLimitingDataSource(dataSource, limit, properties.getMaxWait());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder connectionLimitMetrics(DataSource dataSource) throws SQLException {
+        return dataSource.unwrap(ConnectionLimitingDataSource.class)::bindTo;
+    }
+
+    @Bean
+    PinnedThreadMonitor pinnedThreadMonitor(VirtualThreadProperties properties, MeterRegistry registry) {
+        return new PinnedThreadMonitor(properties.getPinnedThreshold(), registry);
+    }
+
+    private static boolean isLimited(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(ConnectionLimitingDataSource.class);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    //  Through the SQL accounting and read-replica wrappers; outside a transaction the routing resolves to the primary
+    private static int primaryPoolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot read the pool size of " + dataSource, e);
+        }
+        throw new IllegalStateException("Set popcorn.virtual-threads.max-connections for a non-Hikari DataSource");
+    }
+}
@@ -0,0 +1,21 @@
+package com.popcornpalace.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+//  Only used with spring.threads.virtual.enabled=true (profile virtual-threads)
+@Data
+@ConfigurationProperties(prefix = "popcorn.virtual-threads")
+public class VirtualThreadProperties {
+
+    //  Connections handed out at once (0 = the primary pool size)
+    private int maxConnections = 0;
+
+    //  How long a connection request waits for a permit before the request is rejected with 503
+    private Duration maxWait = Duration.ofSeconds(1);
+
+    //  Pinned virtual threads blocked at least this long are counted and reported
+    private Duration pinnedThreshold = Duration.ofMillis(20);
+}
@@ -7,13 +7,19 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
@@ -45,5 +51,14 @@ public class BookingController {
         return ResponseEntity.created(location).body(created);
     }
 
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Cancel a booking, given the email it was made with; the seat becomes available again")
+    @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content(mediaType = "application/problem+json"))
+    @ApiResponse(responseCode = "404", description = "Not found, wrong email or already cancelled", content = @Content(mediaType = "application/problem+json"))
+    public ResponseEntity<Void> cancelBooking(@PathVariable @NotNull @Positive Long id,
+                                              @RequestParam @NotBlank String customerEmail) {
+        bookingService.cancelBooking(id, customerEmail);
+        return ResponseEntity.noContent().build();
+    }
 
 }
@@ -1,15 +1,35 @@
 package com.popcornpalace.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.popcornpalace.cache.CacheControlPolicies;
+import com.popcornpalace.cache.MovieCatalogSnapshot;
+import com.popcornpalace.cache.ResponseBodies;
 import com.popcornpalace.dto.MovieDto;
+import com.popcornpalace.dto.MovieFacetsDto;
+import com.popcornpalace.dto.MovieImportReportDto;
+import com.popcornpalace.dto.MoviePageDto;
+import com.popcornpalace.importer.ImportFormat;
+import com.popcornpalace.service.MovieImportService;
 import com.popcornpalace.service.MovieService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -19,11 +39,17 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.List;
 
@@ -36,6 +62,10 @@ import java.util.List;
 public class MovieController {
 
     private final MovieService movieService;
+    private final MovieImportService movieImportService;
+    private final CacheControlPolicies cachePolicies;
+    private final ResponseBodies responseBodies;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @Operation(summary = "Create a new movie")
@@ -51,6 +81,17 @@ public class MovieController {
         return ResponseEntity.created(location).body(created);
     }
 
+    @PostMapping(value = "/import", consumes = {ImportFormat.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Bulk import movies from CSV (with header row) or NDJSON; returns a per-row error report")
+    @ApiResponse(responseCode = "200", description = "Imported; rejected rows are listed in the report")
+    @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content(mediaType = "application/problem+json"))
+    public ResponseEntity<MovieImportReportDto> importMovies(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        // The body is read row by row from the request stream, never buffered whole
+        return ResponseEntity.ok(movieImportService.importMovies(body, ImportFormat.fromContentType(contentType)));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update movie")
     @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content(mediaType = "application/problem+json"))
@@ -72,7 +113,73 @@ public class MovieController {
 
     @GetMapping
     @Operation(summary = "Get all movies")
-    public ResponseEntity<List<MovieDto>> getAllMovies() {
-        return ResponseEntity.ok(movieService.getAllMovies());
+    @ApiResponse(responseCode = "200", description = "OK",
+            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = MovieDto.class))))
+    @ApiResponse(responseCode = "304", description = "Not modified")
+    public ResponseEntity<byte[]> getAllMovies(WebRequest request) {
+        // Body, ETag and Last-Modified all come from the same immutable snapshot; no database access
+        MovieCatalogSnapshot snapshot = movieService.getCatalogSnapshot();
+        if (ResponseBodies.checkNotModified(request, snapshot.etag(), snapshot.lastModified())) {
+            return null; // 304
+        }
+        return responseBodies.write(ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .lastModified(snapshot.lastModified())
+                .cacheControl(cachePolicies.forEndpoint("movies")), snapshot.body(), request);
+    }
+
+    @GetMapping("/page")
+    @Operation(summary = "Get a page of movies ordered by id (keyset pagination)")
+    @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content(mediaType = "application/problem+json"))
+    public ResponseEntity<MoviePageDto> getMoviesPage(
+            @RequestParam(required = false) @PositiveOrZero Long after,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(500) int size) {
+        return ResponseEntity.ok(movieService.getMoviesPage(after, size));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search movies by title (prefix and typo tolerant), optionally within a genre")
+    @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content(mediaType = "application/problem+json"))
+    public ResponseEntity<List<MovieDto>> searchMovies(
+            @RequestParam @NotBlank @Size(max = 255) String q,
+            @RequestParam(required = false) String genre,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(50) int limit) {
+        return ResponseEntity.ok(movieService.searchMovies(q, genre, limit));
+    }
+
+    @GetMapping("/facets")
+    @Operation(summary = "Movie counts per genre, release year and decade, overall and for movies now playing")
+    public ResponseEntity<MovieFacetsDto> getFacets() {
+        return ResponseEntity.ok(movieService.getFacets());
+    }
+
+    @GetMapping("/stream")
+    @Operation(summary = "Stream all movies as NDJSON (format=ndjson) or a JSON array (format=json)")
+    @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content(mediaType = "application/problem+json"))
+    public ResponseEntity<StreamingResponseBody> streamMovies(@RequestParam(defaultValue = "ndjson") String format) {
+        boolean ndjson = switch (format) {
+            case "ndjson" -> true;
+            case "json" -> false;
+            default -> throw new IllegalArgumentException("Unsupported format: " + format);
+        };
+
+        // Rows are written as they are read from the database cursor; the response is never buffered whole
+        ObjectWriter writer = objectMapper.writerFor(MovieDto.class);
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter sequence = ndjson
+                    ? writer.withRootValueSeparator("\n").writeValues(out)
+                    : writer.writeValuesAsArray(out)) {
+                movieService.streamMovies(movie -> {
+                    try {
+                        sequence.write(movie);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(body);
     }
 }
@@ -0,0 +1,69 @@
+package com.popcornpalace.controller;
+
+import com.popcornpalace.dto.MovieDto;
+import com.popcornpalace.dto.SeatAvailabilityDto;
+import com.popcornpalace.dto.ShowtimeDto;
+import com.popcornpalace.exception.NotFoundException;
+import com.popcornpalace.repository.ReactiveReadRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read endpoints backed by R2DBC. The servlet thread is released as soon as the handler returns the
+ * publisher. NDJSON streams are written element by element on the MVC async executor (see
+ * {@link com.popcornpalace.config.ReactiveReadConfig}) with blocking servlet writes: a slow client
+ * holds a writer thread while its write is pending. The next element is only requested once the
+ * previous one was written.
+ */
+@Validated
+@RestController
+@RequestMapping("/api/reactive")
+@Tag(name = "Reactive Reads", description = "Non-blocking catalog, showtime and seat availability reads")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "popcorn.reactive-reads", name = "enabled", havingValue = "true")
+public class ReactiveReadController {
+
+    private final ReactiveReadRepository reactiveReadRepository;
+
+    @GetMapping(value = "/movies", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all movies as NDJSON")
+    public Flux<MovieDto> streamMovies() {
+        return reactiveReadRepository.findAllMovies();
+    }
+
+    @GetMapping("/showtimes/{id}")
+    @Operation(summary = "Get showtime by ID")
+    @ApiResponse(responseCode = "404", description = "Not found", content = @Content(mediaType = "application/problem+json"))
+    public Mono<ShowtimeDto> getShowtime(@PathVariable @NotNull @Positive Long id) {
+        return showtime(id);
+    }
+
+    @GetMapping(value = "/showtimes/{id}/seats", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream the seats of a showtime's theater with their booking state as NDJSON")
+    @ApiResponse(responseCode = "404", description = "Not found", content = @Content(mediaType = "application/problem+json"))
+    public Flux<SeatAvailabilityDto> streamSeatAvailability(@PathVariable @NotNull @Positive Long id) {
+        return showtime(id).flatMapMany(showtime ->
+                reactiveReadRepository.findSeatAvailability(showtime.getId(), showtime.getTheaterId()));
+    }
+
+    private Mono<ShowtimeDto> showtime(Long id) {
+        return reactiveReadRepository.findShowtime(id)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Showtime not found: " + id)));
+    }
+}
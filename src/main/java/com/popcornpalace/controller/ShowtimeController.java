@@ -1,18 +1,35 @@
 package com.popcornpalace.controller;
 
+import com.popcornpalace.availability.SeatChangeHub;
+import com.popcornpalace.availability.SeatMaps;
+import com.popcornpalace.cache.CacheControlPolicies;
+import com.popcornpalace.cache.EntityVersionCache;
+import com.popcornpalace.cache.ResponseBodies;
+import com.popcornpalace.cache.SerializedBody;
+import com.popcornpalace.datasource.PrimaryReads;
+import com.popcornpalace.dto.SeatMapDto;
 import com.popcornpalace.dto.ShowtimeDto;
+import com.popcornpalace.dto.ShowtimePricesDto;
+import com.popcornpalace.pricing.Occupancy;
+import com.popcornpalace.pricing.PricedShowtime;
+import com.popcornpalace.pricing.PricingEngine;
 import com.popcornpalace.service.ShowtimeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -27,6 +44,12 @@ import java.net.URI;
 public class ShowtimeController {
 
     private final ShowtimeService showtimeService;
+    private final EntityVersionCache versionCache;
+    private final CacheControlPolicies cachePolicies;
+    private final ResponseBodies responseBodies;
+    private final SeatChangeHub seatChangeHub;
+    private final SeatMaps seatMaps;
+    private final PricingEngine pricingEngine;
 
     @PostMapping
     @Operation(summary = "Create a new showtime")
@@ -44,9 +67,78 @@ public class ShowtimeController {
 
     @GetMapping("/{id}")
     @Operation(summary = "Get showtime by ID")
+    @ApiResponse(responseCode = "200", description = "OK",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ShowtimeDto.class)))
+    @ApiResponse(responseCode = "304", description = "Not modified")
     @ApiResponse(responseCode = "404", description = "Not found", content = @Content(mediaType = "application/problem+json"))
-    public ResponseEntity<ShowtimeDto> getShowtimeById(@PathVariable @NotNull @Positive Long id) {
-        return ResponseEntity.ok(showtimeService.getShowtimeById(id));
+    public ResponseEntity<byte[]> getShowtimeById(@PathVariable @NotNull @Positive Long id, WebRequest request) {
+        // Known version: answer If-None-Match before any database query
+        String cachedEtag = versionCache.showtimeEtag(id);
+        if (cachedEtag != null && ResponseBodies.checkNotModified(request, cachedEtag)) {
+            return null; // 304
+        }
+
+        // Body of the known version: no database query and no serialization
+        SerializedBody cachedBody = versionCache.showtimeBody(id, cachedEtag);
+        if (cachedBody != null) {
+            return responseBodies.write(ResponseEntity.ok()
+                    .cacheControl(cachePolicies.forEndpoint("showtime"))
+                    .eTag(cachedEtag), cachedBody, request);
+        }
+
+        long stamp = versionCache.showtimeStamp();
+        // Read from the primary: the body is remembered and served to every client until the next change
+        ShowtimeDto showtime = PrimaryReads.during(() -> showtimeService.getShowtimeById(id));
+        SerializedBody body = responseBodies.serialize(showtime);
+        versionCache.rememberShowtime(id, showtime.getVersion(), body, stamp);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(cachePolicies.forEndpoint("showtime"));
+        if (showtime.getVersion() != null) {
+            response.eTag(versionCache.showtimeEtag(id, showtime.getVersion()));
+        }
+        return responseBodies.write(response, body, request);
+    }
+
+    @GetMapping("/{id}/prices")
+    @Operation(summary = "Get current ticket prices of a showtime by seat type")
+    @ApiResponse(responseCode = "304", description = "Not modified")
+    @ApiResponse(responseCode = "404", description = "Not found", content = @Content(mediaType = "application/problem+json"))
+    public ResponseEntity<ShowtimePricesDto> getShowtimePrices(@PathVariable @NotNull @Positive Long id, WebRequest request) {
+        // Tagged by what the prices are computed from, so a 304 skips the quote and the body
+        PricedShowtime showtime = showtimeService.getPricedShowtime(id);
+        Occupancy occupancy = pricingEngine.occupancy(id, showtime.theaterId());
+        String etag = "\"pr-" + pricingEngine.tag(showtime, occupancy) + "\"";
+        if (request.checkNotModified(etag)) {
+            return null; // 304
+        }
+        ShowtimePricesDto prices = showtimeService.getShowtimePrices(showtime, occupancy);
+        return ResponseEntity.ok()
+                .cacheControl(cachePolicies.forEndpoint("prices"))
+                .eTag(etag)
+                .body(prices);
+    }
+
+    @GetMapping("/{id}/seats")
+    @Operation(summary = "Get the seat map of a showtime, or only its changes since a version",
+            description = "since is the version of an earlier response. Without it, or when it is too old or was issued "
+                    + "before a reload or by another instance, the full seat map; otherwise the seats taken and released since")
+    @ApiResponse(responseCode = "200", description = "OK",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = SeatMapDto.class)))
+    @ApiResponse(responseCode = "404", description = "Not found", content = @Content(mediaType = "application/problem+json"))
+    public ResponseEntity<byte[]> getSeatMap(@PathVariable @NotNull @Positive Long id,
+                                             @RequestParam(required = false) @Size(max = 64) String since,
+                                             WebRequest request) {
+        return responseBodies.write(ResponseEntity.ok(), seatMaps.sinceAsBody(id, since), request);
+    }
+
+    @GetMapping(value = "/{id}/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream seat changes of a showtime",
+            description = "A snapshot event with the booked seats, then batched seats events with taken and released seat ids")
+    @ApiResponse(responseCode = "404", description = "Not found", content = @Content(mediaType = "application/problem+json"))
+    public SseEmitter streamSeatChanges(@PathVariable @NotNull @Positive Long id) {
+        showtimeService.getShowtimeById(id); // 404 before the stream opens
+        return seatChangeHub.subscribe(id);
     }
 
     @PutMapping("/{id}")
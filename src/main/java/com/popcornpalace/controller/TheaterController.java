@@ -0,0 +1,89 @@
+package com.popcornpalace.controller;
+
+import com.popcornpalace.dto.SeatLayoutRequestDto;
+import com.popcornpalace.dto.TheaterDto;
+import com.popcornpalace.service.TheaterService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+
+
+@Validated
+@RestController
+@RequestMapping("/api/theaters")
+@Tag(name = "Theater Management", description = "APIs for managing theaters and their seat layouts")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class TheaterController {
+
+    private final TheaterService theaterService;
+
+    @PostMapping
+    @Operation(summary = "Create a new theater")
+    @ApiResponse(responseCode = "201", description = "Created")
+    @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content(mediaType = "application/problem+json"))
+    public ResponseEntity<TheaterDto> createTheater(@Valid @RequestBody TheaterDto theaterDto) {
+        TheaterDto created = theaterService.createTheater(theaterDto);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(created.getId())
+                .toUri();
+        return ResponseEntity.created(location).body(created);
+    }
+
+    @GetMapping
+    @Operation(summary = "Get all theaters")
+    public ResponseEntity<List<TheaterDto>> getAllTheaters() {
+        return ResponseEntity.ok(theaterService.getAllTheaters());
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get theater by ID")
+    @ApiResponse(responseCode = "404", description = "Not found", content = @Content(mediaType = "application/problem+json"))
+    public ResponseEntity<TheaterDto> getTheaterById(@PathVariable @NotNull @Positive Long id) {
+        return ResponseEntity.ok(theaterService.getTheaterById(id));
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Update theater")
+    @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content(mediaType = "application/problem+json"))
+    @ApiResponse(responseCode = "404", description = "Not found", content = @Content(mediaType = "application/problem+json"))
+    @ApiResponse(responseCode = "409", description = "Conflict", content = @Content(mediaType = "application/problem+json"))
+    public ResponseEntity<TheaterDto> updateTheater(
+            @PathVariable @NotNull @Positive Long id,
+            @Valid @RequestBody TheaterDto theaterDto) {
+        return ResponseEntity.ok(theaterService.updateTheater(id, theaterDto));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete theater and its seats")
+    @ApiResponse(responseCode = "404", description = "Not found", content = @Content(mediaType = "application/problem+json"))
+    @ApiResponse(responseCode = "409", description = "Conflict", content = @Content(mediaType = "application/problem+json"))
+    public ResponseEntity<Void> deleteTheater(@PathVariable @NotNull @Positive Long id) {
+        theaterService.deleteTheater(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{id}/layout")
+    @Operation(summary = "Replace the theater's seats with a generated grid; capacity becomes the seat count")
+    @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content(mediaType = "application/problem+json"))
+    @ApiResponse(responseCode = "404", description = "Not found", content = @Content(mediaType = "application/problem+json"))
+    @ApiResponse(responseCode = "409", description = "Conflict", content = @Content(mediaType = "application/problem+json"))
+    public ResponseEntity<TheaterDto> generateLayout(
+            @PathVariable @NotNull @Positive Long id,
+            @Valid @RequestBody SeatLayoutRequestDto layout) {
+        return ResponseEntity.ok(theaterService.generateLayout(id, layout));
+    }
+}
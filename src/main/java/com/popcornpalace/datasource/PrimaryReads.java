@@ -0,0 +1,38 @@
+package com.popcornpalace.datasource;
+
+import java.util.function.Supplier;
+
+//  Set for the current request when its reads must see the primary (it writes, or its client wrote recently)
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> REQUIRED = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static boolean required() {
+        return REQUIRED.get() != null;
+    }
+
+    //  Runs reads whose result is kept and served to everyone (in-memory caches): a lagging replica
+    //  would otherwise seed them with a state that events already applied can no longer correct
+    public static <T> T during(Supplier<T> reads) {
+        if (required()) {
+            return reads.get();
+        }
+        require();
+        try {
+            return reads.get();
+        } finally {
+            clear();
+        }
+    }
+
+    static void require() {
+        REQUIRED.set(Boolean.TRUE);
+    }
+
+    static void clear() {
+        REQUIRED.remove();
+    }
+}
@@ -0,0 +1,54 @@
+package com.popcornpalace.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to an available replica (round robin) and everything else to the primary.
+ * <p>
+ * The primary is used when the transaction is not read-only, when there is no transaction, when the
+ * request needs read-your-writes ({@link PrimaryReads}), or when no replica is available. The routing
+ * decision reads the transaction's read-only flag, which Spring sets after the transaction has begun,
+ * so this DataSource must sit behind a {@code LazyConnectionDataSourceProxy} that defers the real
+ * connection to the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final Replica[] replicas;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<Replica> replicas) {
+        this.replicas = replicas.toArray(Replica[]::new);
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (Replica replica : replicas) {
+            targets.put(replica.name(), replica.dataSource());
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || PrimaryReads.required()) {
+            return PRIMARY;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, replicas.length));
+        for (int i = 0; i < replicas.length; i++) {
+            Replica replica = replicas[(start + i) % replicas.length];
+            if (replica.available()) {
+                return replica.name();
+            }
+        }
+        return PRIMARY;
+    }
+}
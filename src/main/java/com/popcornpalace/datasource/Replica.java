@@ -0,0 +1,44 @@
+package com.popcornpalace.datasource;
+
+import javax.sql.DataSource;
+
+//  One read replica and its last observed state; written by ReplicaMonitor, read by the router
+public final class Replica {
+
+    private final String name;
+    private final DataSource dataSource;
+    private final String lagQuery;
+    private volatile boolean available;
+    private volatile double lagSeconds;
+
+    public Replica(String name, DataSource dataSource, String lagQuery) {
+        this.name = name;
+        this.dataSource = dataSource;
+        this.lagQuery = lagQuery;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    public String lagQuery() {
+        return lagQuery;
+    }
+
+    public boolean available() {
+        return available;
+    }
+
+    public double lagSeconds() {
+        return lagSeconds;
+    }
+
+    void update(boolean available, double lagSeconds) {
+        this.lagSeconds = lagSeconds;
+        this.available = available;
+    }
+}
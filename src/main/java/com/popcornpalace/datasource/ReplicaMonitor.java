@@ -0,0 +1,82 @@
+package com.popcornpalace.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Marks replicas available or not: a replica must answer within the check timeout and, when it has a
+ * lag query, be no more than {@code maxLag} behind. Unavailable replicas are skipped by the router,
+ * which falls back to the primary when none is left.
+ */
+@Slf4j
+public class ReplicaMonitor implements AutoCloseable {
+
+    private static final int CHECK_TIMEOUT_SECONDS = 2;
+
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+
+    public ReplicaMonitor(List<Replica> replicas, Duration maxLag) {
+        this.replicas = replicas;
+        this.maxLag = maxLag;
+    }
+
+    public List<Replica> replicas() {
+        return replicas;
+    }
+
+    @Scheduled(fixedDelayString = "${popcorn.datasource.health-check-interval:PT5S}",
+            initialDelayString = "${popcorn.datasource.health-check-interval:PT5S}")
+    public void checkAll() {
+        for (Replica replica : replicas) {
+            check(replica);
+        }
+    }
+
+    void check(Replica replica) {
+        boolean wasAvailable = replica.available();
+        boolean available;
+        double lag = 0;
+        try (Connection connection = replica.dataSource().getConnection()) {
+            available = connection.isValid(CHECK_TIMEOUT_SECONDS);
+            if (available && replica.lagQuery() != null) {
+                lag = lagSeconds(connection, replica.lagQuery());
+                available = lag * 1000 <= maxLag.toMillis();
+            }
+        } catch (SQLException e) {
+            available = false;
+            log.debug("Replica {} check failed", replica.name(), e);
+        }
+        replica.update(available, lag);
+        if (available != wasAvailable) {
+            log.warn("Replica {} is now {} (lag {} s)", replica.name(), available ? "in rotation" : "out of rotation", lag);
+        }
+    }
+
+    //  Replica pools are owned here, not by the context
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource() instanceof HikariDataSource pool) {
+                pool.close();
+            }
+        }
+    }
+
+    private static double lagSeconds(Connection connection, String lagQuery) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(CHECK_TIMEOUT_SECONDS);
+            try (ResultSet rs = statement.executeQuery(lagQuery)) {
+                return rs.next() ? rs.getDouble(1) : 0;
+            }
+        }
+    }
+}
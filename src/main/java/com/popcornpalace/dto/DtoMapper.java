@@ -0,0 +1,58 @@
+package com.popcornpalace.dto;
+
+import com.popcornpalace.entity.Booking;
+import com.popcornpalace.entity.Movie;
+import com.popcornpalace.entity.Showtime;
+import com.popcornpalace.entity.Theater;
+
+//  Entity to DTO conversions shared by the services
+public final class DtoMapper {
+
+    private DtoMapper() {
+    }
+
+    public static MovieDto toDto(Movie movie) {
+        return MovieDto.builder()
+                .id(movie.getId())
+                .title(movie.getTitle())
+                .genre(movie.getGenre())
+                .durationMinutes(movie.getDurationMinutes())
+                .rating(movie.getRating())
+                .releaseYear(movie.getReleaseYear())
+                .version(movie.getVersion())
+                .build();
+    }
+
+    public static TheaterDto toDto(Theater theater) {
+        return TheaterDto.builder()
+                .id(theater.getId())
+                .name(theater.getName())
+                .location(theater.getLocation())
+                .capacity(theater.getCapacity())
+                .build();
+    }
+
+    //  Only the ids of movie and theater are read, so lazy references stay uninitialized
+    public static ShowtimeDto toDto(Showtime showtime) {
+        return ShowtimeDto.builder()
+                .id(showtime.getId())
+                .movieId(showtime.getMovie().getId())
+                .theaterId(showtime.getTheater().getId())
+                .startTime(showtime.getStartTime())
+                .endTime(showtime.getEndTime())
+                .price(showtime.getPrice())
+                .version(showtime.getVersion())
+                .build();
+    }
+
+    public static BookingDto toDto(Booking booking) {
+        return BookingDto.builder()
+                .id(booking.getId())
+                .showtimeId(booking.getShowtime().getId())
+                .seatId(booking.getSeat().getId())
+                .customerName(booking.getCustomerName())
+                .customerEmail(booking.getCustomerEmail())
+                .totalPrice(booking.getTotalPrice())
+                .build();
+    }
+}
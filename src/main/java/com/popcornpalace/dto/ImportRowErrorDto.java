@@ -0,0 +1,21 @@
+package com.popcornpalace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportRowErrorDto {
+
+    //  1-based data row (CSV header and blank lines not counted)
+    private int row;
+
+    //  Null when the row could not be parsed
+    private String title;
+
+    private String message;
+}
@@ -1,5 +1,6 @@
 package com.popcornpalace.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
@@ -45,4 +46,7 @@ public class MovieDto {
     @Max(value = 2030, message = "Release year cannot exceed 2030")
     private Integer releaseYear;
 
-}
\ No newline at end of file
+    //  Entity version, used for ETags only; null when not known (e.g. after a bulk update)
+    @JsonIgnore
+    private Long version;
+}
@@ -0,0 +1,27 @@
+package com.popcornpalace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MovieFacetsDto {
+
+    //  Movie counts per genre, release year and decade (e.g. 1990) over the whole catalog
+    private Map<String, Integer> genres;
+
+    private Map<Integer, Integer> releaseYears;
+
+    private Map<Integer, Integer> decades;
+
+    //  The same counts over movies with at least one upcoming showtime
+    private Map<String, Integer> nowPlayingGenres;
+
+    private Map<Integer, Integer> nowPlayingDecades;
+}
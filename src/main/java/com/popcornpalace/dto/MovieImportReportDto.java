@@ -0,0 +1,26 @@
+package com.popcornpalace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MovieImportReportDto {
+
+    private int received;
+
+    private int imported;
+
+    private int rejected;
+
+    //  Rejected rows in input order; capped, see errorsTruncated
+    private List<ImportRowErrorDto> errors;
+
+    private boolean errorsTruncated;
+}
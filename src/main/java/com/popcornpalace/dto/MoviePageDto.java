@@ -0,0 +1,20 @@
+package com.popcornpalace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MoviePageDto {
+
+    private List<MovieDto> items;
+
+    //  Pass as "after" to fetch the next page; null on the last page
+    private Long nextAfter;
+}
@@ -0,0 +1,24 @@
+package com.popcornpalace.dto;
+
+import com.popcornpalace.entity.Seat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeatAvailabilityDto {
+
+    private Long seatId;
+
+    private String row;
+
+    private String seatNumber;
+
+    private Seat.SeatType seatType;
+
+    private boolean booked;
+}
@@ -0,0 +1,23 @@
+package com.popcornpalace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeatChangesDto {
+
+    private Long showtimeId;
+
+    //  Seat ids booked since the previous event; a snapshot lists every booked seat
+    private List<Long> taken;
+
+    //  Seat ids freed by cancelled bookings since the previous event
+    private List<Long> released;
+}
@@ -0,0 +1,65 @@
+package com.popcornpalace.dto;
+
+import com.popcornpalace.entity.Seat;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rectangular seat grid: rows are labelled A, B, ... Z, AA, AB, ... and seats are numbered from 1.
+ * Every seat is REGULAR unless a type range covers it; later ranges override earlier ones.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeatLayoutRequestDto {
+
+    @NotNull(message = "Rows is required")
+    @Min(value = 1, message = "Rows must be at least 1")
+    @Max(value = 100, message = "Rows cannot exceed 100")
+    private Integer rows;
+
+    @NotNull(message = "Seats per row is required")
+    @Min(value = 1, message = "Seats per row must be at least 1")
+    @Max(value = 100, message = "Seats per row cannot exceed 100")
+    private Integer seatsPerRow;
+
+    @Valid
+    @Builder.Default
+    private List<TypeRange> typeRanges = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class TypeRange {
+
+        @NotNull(message = "Seat type is required")
+        private Seat.SeatType seatType;
+
+        //  1-based, inclusive
+        @NotNull(message = "From row is required")
+        @Min(value = 1, message = "From row must be at least 1")
+        private Integer fromRow;
+
+        @NotNull(message = "To row is required")
+        @Min(value = 1, message = "To row must be at least 1")
+        private Integer toRow;
+
+        //  1-based, inclusive; null means the whole row
+        @Min(value = 1, message = "From seat must be at least 1")
+        private Integer fromSeat;
+
+        @Min(value = 1, message = "To seat must be at least 1")
+        private Integer toSeat;
+    }
+}
@@ -0,0 +1,29 @@
+package com.popcornpalace.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeatMapDto {
+
+    private Long showtimeId;
+
+    //  Opaque cursor; pass as ?since= on the next poll
+    private String version;
+
+    //  true: seats holds the full seat map; false: taken and released hold the changes since the requested version
+    private boolean snapshot;
+
+    private List<SeatAvailabilityDto> seats;
+
+    private List<Long> taken;
+
+    private List<Long> released;
+}
@@ -1,5 +1,6 @@
 package com.popcornpalace.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
@@ -39,4 +40,8 @@ public class ShowtimeDto {
     @DecimalMin(value = "0.01", message = "Price must be at least 0.01")
     @DecimalMax(value = "1000.00", message = "Price cannot exceed 1000.00")
     private BigDecimal price;
+
+    //  Entity version, used for ETags only; null when not known (e.g. after a bulk update)
+    @JsonIgnore
+    private Long version;
 }
@@ -0,0 +1,31 @@
+package com.popcornpalace.dto;
+
+import com.popcornpalace.entity.Seat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShowtimePricesDto {
+
+    private Long showtimeId;
+
+    private BigDecimal basePrice;
+
+    private Integer bookedSeats;
+
+    private Integer capacity;
+
+    //  Multiplier of the occupancy tier in effect
+    private BigDecimal occupancyMultiplier;
+
+    //  Price of one ticket per seat type
+    private Map<Seat.SeatType, BigDecimal> prices;
+}
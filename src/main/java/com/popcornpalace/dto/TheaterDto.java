@@ -0,0 +1,30 @@
+package com.popcornpalace.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TheaterDto {
+
+    private Long id;
+
+    @NotBlank(message = "Name is required")
+    @Size(max = 255, message = "Name cannot exceed 255 characters")
+    private String name;
+
+    @NotBlank(message = "Location is required")
+    @Size(max = 500, message = "Location cannot exceed 500 characters")
+    private String location;
+
+    //  The seat count of the layout (0 until one is generated); ignored in requests
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer capacity;
+}
@@ -7,6 +7,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -22,12 +23,14 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 
 @Entity
 @Table(
         name = "bookings",
-        uniqueConstraints = @UniqueConstraint(columnNames = {"showtime_id", "seat_id"})
+        uniqueConstraints = @UniqueConstraint(columnNames = {"showtime_id", "seat_id"}),
+        indexes = @Index(name = "idx_bookings_seat", columnList = "seat_id")
 )
 @Data
 @NoArgsConstructor
@@ -44,6 +47,13 @@ public class Booking {
     @NotNull(message = "Showtime is required")
     private Showtime showtime;
 
+    // Copy of the showtime start; it is the partition key of the bookings table and what cancellation
+    // checks. A rescheduled showtime carries it along: through ON UPDATE CASCADE on a partitioned
+    // database, through ShowtimeService.updateShowtime otherwise.
+    @NotNull(message = "Showtime start is required")
+    @Column(name = "showtime_start", nullable = false)
+    private LocalDateTime showtimeStart;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "seat_id", nullable = false)
     @NotNull(message = "Seat is required")
@@ -6,7 +6,11 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import com.popcornpalace.util.TitleNormalizer;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
@@ -39,6 +43,10 @@ public class Movie {
     @Column(nullable = false, unique = true)
     private String title;
 
+    //  Case and whitespace folded title; its unique index enforces title uniqueness
+    @Column(name = "normalized_title", nullable = false, unique = true)
+    private String normalizedTitle;
+
     @NotBlank(message = "Genre is required")
     @Size(max = 100, message = "Genre cannot exceed 100 characters")
     @Column(nullable = false)
@@ -59,4 +67,15 @@ public class Movie {
     @NotNull(message = "Release year is required")
     @Column(nullable = false)
     private Integer releaseYear;
+
+    //  Incremented on every change; the source of HTTP ETags
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @PrePersist
+    @PreUpdate
+    void normalizeTitle() {
+        normalizedTitle = TitleNormalizer.normalize(title);
+    }
 }
@@ -0,0 +1,31 @@
+package com.popcornpalace.entity;
+
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//  Single row (id 1) counting the transactions that wrote movies, polled instead of the movies table
+@Entity
+@Table(name = "movie_catalog_counter")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MovieCatalogCounter {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @NotNull
+    @Column(nullable = false)
+    private Long changes;
+}
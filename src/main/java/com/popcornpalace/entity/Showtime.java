@@ -11,6 +11,7 @@ import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
@@ -25,9 +26,11 @@ import java.time.LocalDateTime;
 @Entity
 @Table(
         name = "showtimes",
+        //  Key columns of the V2 migration indexes (INCLUDE columns exist only in the migration)
         indexes = {
-                @Index(name = "idx_showtimes_theater_start", columnList = "theater_id, start_time"),
-                @Index(name = "idx_showtimes_theater_end", columnList = "theater_id, end_time")
+                @Index(name = "idx_showtimes_theater_end", columnList = "theater_id, end_time"),
+                @Index(name = "idx_showtimes_start", columnList = "start_time"),
+                @Index(name = "idx_showtimes_movie", columnList = "movie_id")
         }
 )
 @Data
@@ -63,4 +66,9 @@ public class Showtime {
     @DecimalMax(value = "1000.00", message = "Price cannot exceed 1000.00")
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal price;
+
+    //  Incremented on every change; the source of HTTP ETags
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
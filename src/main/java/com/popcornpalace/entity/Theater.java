@@ -39,8 +39,9 @@ public class Theater {
     @Column(nullable = false)
     private String location;
 
+    //  Always the number of seats in the layout
     @NotNull(message = "Capacity is required")
-    @Min(value = 1, message = "Capacity must be at least 1")
+    @Min(value = 0, message = "Capacity cannot be negative")
     @Max(value = 1000, message = "Capacity cannot exceed 1000")
     @Column(nullable = false)
     private Integer capacity;
@@ -0,0 +1,40 @@
+package com.popcornpalace.entity;
+
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "theater_layouts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TheaterLayout {
+
+    @Id
+    @Column(name = "theater_id")
+    private Long theaterId;
+
+    //  Incremented every time the layout is regenerated
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @NotNull
+    @Column(nullable = false)
+    private Integer seatCount;
+
+    //  SeatLayout.encode(): about 6 bytes per seat for generated layouts
+    @NotNull
+    @Column(nullable = false, length = 65535)
+    private byte[] data;
+}
@@ -0,0 +1,5 @@
+package com.popcornpalace.event;
+
+//  Published by BookingService inside the cancelling transaction; listeners react after commit
+public record BookingCancelledEvent(Long showtimeId, Long seatId) {
+}
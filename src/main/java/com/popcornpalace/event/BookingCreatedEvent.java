@@ -0,0 +1,5 @@
+package com.popcornpalace.event;
+
+//  Published by BookingService inside the booking transaction; listeners react after commit
+public record BookingCreatedEvent(Long showtimeId, Long seatId) {
+}
@@ -0,0 +1,5 @@
+package com.popcornpalace.event;
+
+public enum ChangeKind {
+    CREATED, UPDATED, DELETED
+}
@@ -0,0 +1,5 @@
+package com.popcornpalace.event;
+
+//  Published by MovieCatalog after reloading for changes written through another instance, which raise no movie events here
+public record MovieCatalogReloadedEvent(long version) {
+}
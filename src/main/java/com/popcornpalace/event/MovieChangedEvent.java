@@ -0,0 +1,19 @@
+package com.popcornpalace.event;
+
+import com.popcornpalace.dto.MovieDto;
+
+//  Published by MovieService inside the write transaction; listeners react after commit
+public record MovieChangedEvent(ChangeKind kind, Long movieId, MovieDto movie) {
+
+    public static MovieChangedEvent created(MovieDto movie) {
+        return new MovieChangedEvent(ChangeKind.CREATED, movie.getId(), movie);
+    }
+
+    public static MovieChangedEvent updated(MovieDto movie) {
+        return new MovieChangedEvent(ChangeKind.UPDATED, movie.getId(), movie);
+    }
+
+    public static MovieChangedEvent deleted(Long movieId) {
+        return new MovieChangedEvent(ChangeKind.DELETED, movieId, null);
+    }
+}
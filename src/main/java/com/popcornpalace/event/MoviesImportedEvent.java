@@ -0,0 +1,5 @@
+package com.popcornpalace.event;
+
+//  Published by the bulk import inside its transaction; too many rows for per-movie events, listeners reload
+public record MoviesImportedEvent(int imported) {
+}
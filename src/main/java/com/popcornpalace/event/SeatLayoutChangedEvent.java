@@ -0,0 +1,5 @@
+package com.popcornpalace.event;
+
+//  Published by TheaterService when a theater's seats are replaced or removed; listeners react after commit
+public record SeatLayoutChangedEvent(Long theaterId) {
+}
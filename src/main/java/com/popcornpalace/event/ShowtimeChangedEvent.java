@@ -0,0 +1,19 @@
+package com.popcornpalace.event;
+
+import com.popcornpalace.dto.ShowtimeDto;
+
+//  Published by ShowtimeService inside the write transaction; listeners react after commit
+public record ShowtimeChangedEvent(ChangeKind kind, Long showtimeId, ShowtimeDto showtime) {
+
+    public static ShowtimeChangedEvent created(ShowtimeDto showtime) {
+        return new ShowtimeChangedEvent(ChangeKind.CREATED, showtime.getId(), showtime);
+    }
+
+    public static ShowtimeChangedEvent updated(ShowtimeDto showtime) {
+        return new ShowtimeChangedEvent(ChangeKind.UPDATED, showtime.getId(), showtime);
+    }
+
+    public static ShowtimeChangedEvent deleted(Long showtimeId) {
+        return new ShowtimeChangedEvent(ChangeKind.DELETED, showtimeId, null);
+    }
+}
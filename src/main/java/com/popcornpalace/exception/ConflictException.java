@@ -1,7 +1,7 @@
 package com.popcornpalace.exception;
 
-public class ConflictException extends RuntimeException {
+public class ConflictException extends DomainException {
     public ConflictException(String message) {
         super(message);
     }
-}
\ No newline at end of file
+}
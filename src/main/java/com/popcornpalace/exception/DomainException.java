@@ -0,0 +1,15 @@
+package com.popcornpalace.exception;
+
+/**
+ * Base of exceptions for expected outcomes of a request, such as a seat that is already booked.
+ * <p>
+ * They are thrown at request rate under contention and answered with a fixed problem response,
+ * never logged with a trace, so they skip capturing a stack trace, which is most of the cost of
+ * creating an exception.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+}
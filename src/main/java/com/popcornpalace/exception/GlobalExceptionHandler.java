@@ -1,13 +1,19 @@
 package com.popcornpalace.exception;
 
+import com.popcornpalace.concurrency.ConnectionLimitExceededException;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.BindException;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -21,11 +27,27 @@ import java.net.URI;
 import java.time.OffsetDateTime;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    //  Expected outcomes answered at request rate under contention; pre-encoded, see ProblemTemplate
+    private static final ProblemTemplate NOT_FOUND = ProblemTemplate.of(HttpStatus.NOT_FOUND,
+            "Resource not found", "https://errors.popcornpalace.dev/not-found", "NOT_FOUND");
+    private static final ProblemTemplate CONFLICT = ProblemTemplate.of(HttpStatus.CONFLICT,
+            "Conflict", "https://errors.popcornpalace.dev/conflict", "CONFLICT");
+    private static final ProblemTemplate INTEGRITY_CONFLICT = ProblemTemplate.of(HttpStatus.CONFLICT,
+            "Integrity violation", "https://errors.popcornpalace.dev/conflict", "CONFLICT");
+    private static final ProblemTemplate INVALID_INPUT = ProblemTemplate.of(HttpStatus.BAD_REQUEST,
+            "Invalid input", "https://errors.popcornpalace.dev/invalid-input", "INVALID_INPUT");
+    private static final ProblemTemplate OVERLOADED = ProblemTemplate.of(HttpStatus.SERVICE_UNAVAILABLE,
+            "Service overloaded", "https://errors.popcornpalace.dev/overloaded", "OVERLOADED");
+
+    //  Type URIs of the remaining problems, parsed once
+    private static final Map<String, URI> TYPE_URIS = new ConcurrentHashMap<>();
+
     /* ------------ 400: Validation (body) ------------ */
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
@@ -120,16 +142,8 @@ public class GlobalExceptionHandler {
 
     /* ------------ 404 ------------ */
     @ExceptionHandler(EntityNotFoundException.class)
-    @ResponseStatus(HttpStatus.NOT_FOUND)
-    public ProblemDetail onNotFound(EntityNotFoundException ex, HttpServletRequest req) {
-        return problem(
-                HttpStatus.NOT_FOUND,
-                "Resource not found",
-                "https://errors.popcornpalace.dev/not-found",
-                ex.getMessage(),
-                req,
-                "NOT_FOUND"
-        );
+    public ResponseEntity<byte[]> onNotFound(EntityNotFoundException ex, HttpServletRequest req) {
+        return NOT_FOUND.render(ex.getMessage(), req.getRequestURI());
     }
 
     /* ------------ 405 ------------ */
@@ -149,43 +163,34 @@ public class GlobalExceptionHandler {
 
     /* ------------ 409 ------------ */
     @ExceptionHandler(ConflictException.class)
-    @ResponseStatus(HttpStatus.CONFLICT)
-    public ProblemDetail onDomainConflict(ConflictException ex, HttpServletRequest req) {
-        return problem(
-                HttpStatus.CONFLICT,
-                "Conflict",
-                "https://errors.popcornpalace.dev/conflict",
-                ex.getMessage(),
-                req,
-                "CONFLICT"
-        );
+    public ResponseEntity<byte[]> onDomainConflict(ConflictException ex, HttpServletRequest req) {
+        return CONFLICT.render(ex.getMessage(), req.getRequestURI());
     }
 
     @ExceptionHandler(DataIntegrityViolationException.class)
-    @ResponseStatus(HttpStatus.CONFLICT)
-    public ProblemDetail onIntegrityConflict(DataIntegrityViolationException ex, HttpServletRequest req) {
-        return problem(
-                HttpStatus.CONFLICT,
-                "Integrity violation",
-                "https://errors.popcornpalace.dev/conflict",
-                "Duplicate or integrity constraint violation",
-                req,
-                "CONFLICT"
-        );
+    public ResponseEntity<byte[]> onIntegrityConflict(DataIntegrityViolationException ex, HttpServletRequest req) {
+        return INTEGRITY_CONFLICT.render("Duplicate or integrity constraint violation", req.getRequestURI());
     }
 
     /* ------------ 400 generic ------------ */
     @ExceptionHandler(IllegalArgumentException.class)
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ProblemDetail onIllegalArgument(IllegalArgumentException ex, HttpServletRequest req) {
-        return problem(
-                HttpStatus.BAD_REQUEST,
-                "Invalid input",
-                "https://errors.popcornpalace.dev/invalid-input",
-                ex.getMessage(),
-                req,
-                "INVALID_INPUT"
-        );
+    public ResponseEntity<byte[]> onIllegalArgument(IllegalArgumentException ex, HttpServletRequest req) {
+        return INVALID_INPUT.render(ex.getMessage(), req.getRequestURI());
+    }
+
+    /* ------------ 503 ------------ */
+    //  The connection limit of virtual threads, wrapped by the transaction manager or Hibernate on the way up
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<?> onConnectionUnavailable(Exception ex, HttpServletRequest req) {
+        Throwable cause = NestedExceptionUtils.getRootCause(ex);
+        if (!(cause instanceof ConnectionLimitExceededException)) {
+            return ResponseEntity.internalServerError().body(onGeneric(ex, req));
+        }
+        ResponseEntity<byte[]> rendered = OVERLOADED.render(cause.getMessage(), req.getRequestURI());
+        return ResponseEntity.status(rendered.getStatusCode())
+                .headers(rendered.getHeaders())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(rendered.getBody());
     }
 
     /* ------------ 500 ------------ */
@@ -226,7 +231,7 @@ public class GlobalExceptionHandler {
     ) {
         ProblemDetail pd = ProblemDetail.forStatus(status);
         pd.setTitle(title);
-        pd.setType(URI.create(type));
+        pd.setType(TYPE_URIS.computeIfAbsent(type, URI::create));
         pd.setDetail(detail);
 
         // RFC 9457: instance — это идентификатор ресурса/запроса (путь)
@@ -0,0 +1,16 @@
+package com.popcornpalace.exception;
+
+import jakarta.persistence.EntityNotFoundException;
+
+//  Stackless like DomainException; stays an EntityNotFoundException so JPA's own not-found errors share its 404 handler
+public class NotFoundException extends EntityNotFoundException {
+
+    public NotFoundException(String message) {
+        super(message);
+    }
+
+    @Override
+    public Throwable fillInStackTrace() {
+        return this;
+    }
+}
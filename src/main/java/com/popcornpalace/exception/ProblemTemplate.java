@@ -0,0 +1,90 @@
+package com.popcornpalace.exception;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+
+/**
+ * A problem response (RFC 9457) encoded as JSON once, up to the fields that change per request.
+ * <p>
+ * type, title and status lead and code closes, all encoded when the template is built; detail,
+ * instance and timestamp are escaped into the gaps. The output has the fields, order and content
+ * type of the {@code ProblemDetail} responses, without building a ProblemDetail, its property map or
+ * URIs, and without Jackson. The timestamp is formatted at most once per millisecond.
+ */
+final class ProblemTemplate {
+
+    private static final JsonStringEncoder ENCODER = JsonStringEncoder.getInstance();
+    private static final byte[] INSTANCE = utf8("\",\"instance\":\"");
+    private static final byte[] TIMESTAMP = utf8("\",\"timestamp\":\"");
+
+    private static volatile FormattedTimestamp lastTimestamp = new FormattedTimestamp(Long.MIN_VALUE, new byte[0]);
+
+    private final HttpStatus status;
+    private final byte[] head;
+    private final byte[] tail;
+
+    private ProblemTemplate(HttpStatus status, byte[] head, byte[] tail) {
+        this.status = status;
+        this.head = head;
+        this.tail = tail;
+    }
+
+    static ProblemTemplate of(HttpStatus status, String title, String type, String code) {
+        String head = "{\"type\":\"" + new String(ENCODER.quoteAsString(type))
+                + "\",\"title\":\"" + new String(ENCODER.quoteAsString(title))
+                + "\",\"status\":" + status.value()
+                + ",\"detail\":\"";
+        String tail = "\",\"code\":\"" + new String(ENCODER.quoteAsString(code)) + "\"}";
+        return new ProblemTemplate(status, utf8(head), utf8(tail));
+    }
+
+    ResponseEntity<byte[]> render(String detail, String instance) {
+        byte[] detailBytes = ENCODER.quoteAsUTF8(detail != null ? detail : "");
+        byte[] instanceBytes = ENCODER.quoteAsUTF8(instance != null ? instance : "");
+        byte[] timestamp = timestamp();
+
+        byte[] body = new byte[head.length + detailBytes.length + INSTANCE.length + instanceBytes.length
+                + TIMESTAMP.length + timestamp.length + tail.length];
+        int at = append(body, 0, head);
+        at = append(body, at, detailBytes);
+        at = append(body, at, INSTANCE);
+        at = append(body, at, instanceBytes);
+        at = append(body, at, TIMESTAMP);
+        at = append(body, at, timestamp);
+        append(body, at, tail);
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .body(body);
+    }
+
+    //  Same text as OffsetDateTime.now().toString(), at millisecond precision
+    private static byte[] timestamp() {
+        long now = System.currentTimeMillis();
+        FormattedTimestamp last = lastTimestamp;
+        if (last.millis() != now) {
+            last = new FormattedTimestamp(now,
+                    utf8(OffsetDateTime.ofInstant(Instant.ofEpochMilli(now), ZoneId.systemDefault()).toString()));
+            lastTimestamp = last;
+        }
+        return last.utf8();
+    }
+
+    private static int append(byte[] target, int at, byte[] part) {
+        System.arraycopy(part, 0, target, at, part.length);
+        return at + part.length;
+    }
+
+    private static byte[] utf8(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record FormattedTimestamp(long millis, byte[] utf8) {
+    }
+}
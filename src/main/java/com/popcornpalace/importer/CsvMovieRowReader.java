@@ -0,0 +1,142 @@
+package com.popcornpalace.importer;
+
+import com.popcornpalace.dto.MovieDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * RFC 4180 CSV with a header row naming the columns, in any order:
+ * {@code title, genre, durationMinutes, rating, releaseYear} (snake_case also accepted).
+ * Quoted fields may contain commas, doubled quotes and line breaks.
+ */
+class CsvMovieRowReader implements MovieRowReader {
+
+    private static final String[] COLUMNS = {"title", "genre", "durationminutes", "rating", "releaseyear"};
+
+    private final BufferedReader reader;
+    private final int[] positions = new int[COLUMNS.length];
+    private int row;
+
+    CsvMovieRowReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV import is empty, a header row is required");
+        }
+        for (int c = 0; c < COLUMNS.length; c++) {
+            positions[c] = -1;
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT);
+                if (name.equals(COLUMNS[c])) {
+                    positions[c] = i;
+                }
+            }
+            if (positions[c] < 0) {
+                throw new IllegalArgumentException("CSV header is missing column: " + COLUMNS[c]);
+            }
+        }
+    }
+
+    @Override
+    public MovieRow next() throws IOException {
+        List<String> fields;
+        do {
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+
+        row++;
+        try {
+            return MovieRow.parsed(row, MovieDto.builder()
+                    .title(field(fields, 0))
+                    .genre(field(fields, 1))
+                    .durationMinutes(toInteger(field(fields, 2), "durationMinutes"))
+                    .rating(toDecimal(field(fields, 3)))
+                    .releaseYear(toInteger(field(fields, 4), "releaseYear"))
+                    .build());
+        } catch (IllegalArgumentException e) {
+            return MovieRow.malformed(row, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String field(List<String> fields, int column) {
+        int position = positions[column];
+        return position < fields.size() ? fields.get(position) : null;
+    }
+
+    //  Blank stays null so that bean validation reports it as missing
+    private static Integer toInteger(String value, String column) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number in column " + column + ": " + value);
+        }
+    }
+
+    private static BigDecimal toDecimal(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number in column rating: " + value);
+        }
+    }
+
+    //  Fields of the next record, or null at the end of the input
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("CSV ends inside a quoted field");
+                }
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,15 @@
+package com.popcornpalace.importer;
+
+import com.popcornpalace.dto.MovieDto;
+
+//  One input record: the parsed movie, or why it could not be parsed. Rows are numbered from 1, headers excluded
+public record MovieRow(int row, MovieDto movie, String error) {
+
+    public static MovieRow parsed(int row, MovieDto movie) {
+        return new MovieRow(row, movie, null);
+    }
+
+    public static MovieRow malformed(int row, String error) {
+        return new MovieRow(row, null, error);
+    }
+}
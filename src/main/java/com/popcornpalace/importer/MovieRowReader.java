@@ -0,0 +1,27 @@
+package com.popcornpalace.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Pull parser over an import body. Reads one record at a time, so the input is never held in memory.
+ */
+public interface MovieRowReader extends Closeable {
+
+    //  Next record, or null at the end of the input
+    MovieRow next() throws IOException;
+
+    static MovieRowReader open(ImportFormat format, InputStream in, ObjectMapper objectMapper) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        return switch (format) {
+            case CSV -> new CsvMovieRowReader(reader);
+            case NDJSON -> new NdjsonMovieRowReader(reader, objectMapper);
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package com.popcornpalace.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.popcornpalace.dto.MovieDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+//  One MovieDto JSON object per line; blank lines are skipped
+class NdjsonMovieRowReader implements MovieRowReader {
+
+    private final BufferedReader reader;
+    private final ObjectReader movieReader;
+    private int row;
+
+    NdjsonMovieRowReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.movieReader = objectMapper.readerFor(MovieDto.class);
+    }
+
+    @Override
+    public MovieRow next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        row++;
+        try {
+            return MovieRow.parsed(row, movieReader.readValue(line));
+        } catch (JsonProcessingException e) {
+            return MovieRow.malformed(row, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
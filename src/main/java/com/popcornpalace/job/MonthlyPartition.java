@@ -0,0 +1,38 @@
+package com.popcornpalace.job;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+//  One month of a range-partitioned table, e.g. showtimes_p2025_10 holds [2025-10-01, 2025-11-01)
+public record MonthlyPartition(String parentTable, YearMonth month) {
+
+    private static final Pattern NAME = Pattern.compile("^(\\w+)_p(\\d{4})_(\\d{2})$");
+
+    public static MonthlyPartition of(String parentTable, YearMonth month) {
+        return new MonthlyPartition(parentTable, month);
+    }
+
+    public static Optional<MonthlyPartition> parse(String partitionName) {
+        Matcher m = NAME.matcher(partitionName);
+        if (!m.matches()) {
+            return Optional.empty(); // e.g. the default partition
+        }
+        YearMonth month = YearMonth.of(Integer.parseInt(m.group(2)), Integer.parseInt(m.group(3)));
+        return Optional.of(new MonthlyPartition(m.group(1), month));
+    }
+
+    public String name() {
+        return "%s_p%04d_%02d".formatted(parentTable, month.getYear(), month.getMonthValue());
+    }
+
+    public LocalDateTime from() {
+        return month.atDay(1).atStartOfDay();
+    }
+
+    public LocalDateTime to() {
+        return month.plusMonths(1).atDay(1).atStartOfDay();
+    }
+}
@@ -0,0 +1,117 @@
+package com.popcornpalace.job;
+
+import com.popcornpalace.config.PartitioningProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Keeps the monthly partitions of {@code showtimes} and {@code bookings} rolling:
+ * partitions for the next months are created ahead of time, and months past the
+ * retention window are detached and compacted into {@code *_archive} tables, so the
+ * live tables and their indexes only cover recent and upcoming showtimes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "popcorn.partitioning", name = "enabled", havingValue = "true")
+public class PartitionMaintenanceJob {
+
+    static final String SHOWTIMES = "showtimes";
+    static final String BOOKINGS = "bookings";
+
+    private static final DateTimeFormatter BOUND = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PartitioningProperties properties;
+
+    @Scheduled(cron = "${popcorn.partitioning.cron:0 15 3 * * *}")
+    public void maintain() {
+        YearMonth current = YearMonth.now();
+        createUpcomingPartitions(current);
+        archiveExpiredPartitions(current);
+    }
+
+    void createUpcomingPartitions(YearMonth current) {
+        Set<YearMonth> existing = existingMonths(SHOWTIMES);
+        for (int i = 0; i <= properties.getMonthsAhead(); i++) {
+            YearMonth month = current.plusMonths(i);
+            if (existing.contains(month)) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    createPartition(MonthlyPartition.of(SHOWTIMES, month));
+                    createPartition(MonthlyPartition.of(BOOKINGS, month));
+                });
+                log.info("Created partitions for {}", month);
+            } catch (RuntimeException e) {
+                // Rows for this month already landed in the default partition; they stay there until moved by hand
+                log.error("Could not create partitions for {}", month, e);
+            }
+        }
+    }
+
+    void archiveExpiredPartitions(YearMonth current) {
+        YearMonth oldestKept = current.minusMonths(properties.getRetentionMonths());
+        for (YearMonth month : existingMonths(SHOWTIMES)) {
+            if (!month.isBefore(oldestKept)) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> archive(month));
+            log.info("Archived partitions for {}", month);
+        }
+    }
+
+    private void createPartition(MonthlyPartition partition) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')"
+                .formatted(partition.name(), partition.parentTable(),
+                        BOUND.format(partition.from()), BOUND.format(partition.to())));
+    }
+
+    //  Bookings go first: the showtimes partition cannot be detached while bookings still reference it
+    private void archive(YearMonth month) {
+        moveToArchive(MonthlyPartition.of(BOOKINGS, month), "showtime_id, seat_id");
+        moveToArchive(MonthlyPartition.of(SHOWTIMES, month), "theater_id, start_time");
+    }
+
+    private void moveToArchive(MonthlyPartition partition, String clusterColumns) {
+        String name = partition.name();
+        if (!existingMonths(partition.parentTable()).contains(partition.month())) {
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE %s DETACH PARTITION %s".formatted(partition.parentTable(), name));
+        // Rows are written in index order into a fillfactor 100 table, which keeps the archive dense
+        jdbcTemplate.execute("INSERT INTO %s_archive SELECT * FROM %s ORDER BY %s"
+                .formatted(partition.parentTable(), name, clusterColumns));
+        jdbcTemplate.execute("DROP TABLE " + name);
+    }
+
+    private Set<YearMonth> existingMonths(String parentTable) {
+        List<String> names = jdbcTemplate.queryForList("""
+                select c.relname
+                from pg_inherits i
+                join pg_class c on c.oid = i.inhrelid
+                join pg_class p on p.oid = i.inhparent
+                where p.relname = ?
+                """, String.class, parentTable);
+        Set<YearMonth> months = new TreeSet<>();
+        names.stream()
+                .map(MonthlyPartition::parse)
+                .flatMap(Optional::stream)
+                .forEach(p -> months.add(p.month()));
+        return months;
+    }
+}
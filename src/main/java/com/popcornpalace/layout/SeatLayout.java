@@ -0,0 +1,205 @@
+package com.popcornpalace.layout;
+
+import com.popcornpalace.entity.Seat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable seat map of one theater, packed into primitive arrays indexed by seat ordinal.
+ * <p>
+ * Ordinals follow ascending seat id, so the id of a seat maps to the same ordinal for as long as the
+ * layout exists (seat ids are never reused, and a regenerated layout gets new ids). Row and seat
+ * number labels are stored once in small dictionaries. {@link #encode()} gives the compact binary
+ * form stored in {@code theater_layouts}: ids as delta varints, then the per-seat dictionary indexes.
+ */
+public final class SeatLayout {
+
+    private static final byte FORMAT = 1;
+    private static final Seat.SeatType[] TYPES = Seat.SeatType.values();
+
+    private final long theaterId;
+    private final long version;
+    private final long[] seatIds;
+    private final String[] rowLabels;
+    private final short[] rowOf;
+    private final String[] numberLabels;
+    private final short[] numberOf;
+    private final byte[] typeOf;
+
+    //  One seat as read from the seats table
+    public record Entry(long seatId, String row, String seatNumber, Seat.SeatType seatType) {
+    }
+
+    private SeatLayout(long theaterId, long version, long[] seatIds, String[] rowLabels, short[] rowOf,
+                       String[] numberLabels, short[] numberOf, byte[] typeOf) {
+        this.theaterId = theaterId;
+        this.version = version;
+        this.seatIds = seatIds;
+        this.rowLabels = rowLabels;
+        this.rowOf = rowOf;
+        this.numberLabels = numberLabels;
+        this.numberOf = numberOf;
+        this.typeOf = typeOf;
+    }
+
+    public static SeatLayout of(long theaterId, long version, List<Entry> seats) {
+        List<Entry> sorted = new ArrayList<>(seats);
+        sorted.sort(Comparator.comparingLong(Entry::seatId));
+        int size = sorted.size();
+        long[] seatIds = new long[size];
+        short[] rowOf = new short[size];
+        short[] numberOf = new short[size];
+        byte[] typeOf = new byte[size];
+        Map<String, Short> rows = new HashMap<>();
+        Map<String, Short> numbers = new HashMap<>();
+        List<String> rowLabels = new ArrayList<>();
+        List<String> numberLabels = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Entry seat = sorted.get(i);
+            seatIds[i] = seat.seatId();
+            rowOf[i] = intern(seat.row(), rows, rowLabels);
+            numberOf[i] = intern(seat.seatNumber(), numbers, numberLabels);
+            typeOf[i] = (byte) seat.seatType().ordinal();
+        }
+        return new SeatLayout(theaterId, version, seatIds, rowLabels.toArray(String[]::new), rowOf,
+                numberLabels.toArray(String[]::new), numberOf, typeOf);
+    }
+
+    public long theaterId() {
+        return theaterId;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return seatIds.length;
+    }
+
+    //  Ordinal of the seat, or -1 if it is not part of this theater
+    public int ordinalOf(long seatId) {
+        int ordinal = Arrays.binarySearch(seatIds, seatId);
+        return ordinal < 0 ? -1 : ordinal;
+    }
+
+    public long seatId(int ordinal) {
+        return seatIds[ordinal];
+    }
+
+    public String row(int ordinal) {
+        return rowLabels[rowOf[ordinal]];
+    }
+
+    public String seatNumber(int ordinal) {
+        return numberLabels[numberOf[ordinal]];
+    }
+
+    public Seat.SeatType seatType(int ordinal) {
+        return TYPES[typeOf[ordinal]];
+    }
+
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + seatIds.length * 6);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT);
+            out.writeInt(seatIds.length);
+            writeLabels(out, rowLabels);
+            writeLabels(out, numberLabels);
+            long previous = 0;
+            for (long seatId : seatIds) {
+                writeVarLong(out, seatId - previous);
+                previous = seatId;
+            }
+            for (int i = 0; i < seatIds.length; i++) {
+                out.writeShort(rowOf[i]);
+                out.writeShort(numberOf[i]);
+                out.writeByte(typeOf[i]);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static SeatLayout decode(long theaterId, long version, byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte format = in.readByte();
+            if (format != FORMAT) {
+                throw new IllegalStateException("Unknown seat layout format " + format + " for theater " + theaterId);
+            }
+            int size = in.readInt();
+            String[] rowLabels = readLabels(in);
+            String[] numberLabels = readLabels(in);
+            long[] seatIds = new long[size];
+            long previous = 0;
+            for (int i = 0; i < size; i++) {
+                previous += readVarLong(in);
+                seatIds[i] = previous;
+            }
+            short[] rowOf = new short[size];
+            short[] numberOf = new short[size];
+            byte[] typeOf = new byte[size];
+            for (int i = 0; i < size; i++) {
+                rowOf[i] = in.readShort();
+                numberOf[i] = in.readShort();
+                typeOf[i] = in.readByte();
+            }
+            return new SeatLayout(theaterId, version, seatIds, rowLabels, rowOf, numberLabels, numberOf, typeOf);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static short intern(String label, Map<String, Short> indexes, List<String> labels) {
+        return indexes.computeIfAbsent(label, l -> {
+            labels.add(l);
+            return (short) (labels.size() - 1);
+        });
+    }
+
+    private static void writeLabels(DataOutputStream out, String[] labels) throws IOException {
+        out.writeShort(labels.length);
+        for (String label : labels) {
+            out.writeUTF(label);
+        }
+    }
+
+    private static String[] readLabels(DataInputStream in) throws IOException {
+        String[] labels = new String[in.readUnsignedShort()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = in.readUTF();
+        }
+        return labels;
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.popcornpalace.layout;
+
+import com.popcornpalace.entity.Seat;
+import com.popcornpalace.entity.TheaterLayout;
+import com.popcornpalace.event.SeatLayoutChangedEvent;
+import com.popcornpalace.repository.SeatRepository;
+import com.popcornpalace.repository.TheaterLayoutRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seat layouts by theater, cached in memory.
+ * <p>
+ * A layout is decoded from its {@code theater_layouts} row. Theaters whose seats predate that table
+ * have no row; their layout is built from the seats table and cached, and gets stored the next time
+ * the layout is regenerated. Entries are evicted after a layout change commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class SeatLayouts {
+
+    private final TheaterLayoutRepository layoutRepository;
+    private final SeatRepository seatRepository;
+
+    private final Map<Long, SeatLayout> layouts = new ConcurrentHashMap<>();
+
+    //  Bumped on every eviction; guards against caching a layout read before it
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public SeatLayout layoutOf(long theaterId) {
+        SeatLayout cached = layouts.get(theaterId);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = invalidations.get();
+        SeatLayout layout = layoutRepository.findById(theaterId)
+                .map(stored -> SeatLayout.decode(theaterId, stored.getVersion(), stored.getData()))
+                .orElseGet(() -> SeatLayout.of(theaterId, 0, readSeats(theaterId)));
+        layouts.put(theaterId, layout);
+        if (invalidations.get() != stamp) {
+            // A layout change committed while we were reading; ours may already be stale
+            layouts.remove(theaterId, layout);
+        }
+        return layout;
+    }
+
+    //  Store the layout of the theater's current seats; call in the transaction that changed them
+    public void store(long theaterId) {
+        SeatLayout layout = SeatLayout.of(theaterId, 0, readSeats(theaterId));
+        TheaterLayout stored = layoutRepository.findById(theaterId)
+                .orElseGet(() -> TheaterLayout.builder().theaterId(theaterId).build());
+        stored.setSeatCount(layout.size());
+        stored.setData(layout.encode());
+        layoutRepository.save(stored);
+    }
+
+    public void delete(long theaterId) {
+        layoutRepository.deleteByTheaterId(theaterId);
+    }
+
+    @TransactionalEventListener
+    public void onSeatLayoutChanged(SeatLayoutChangedEvent event) {
+        invalidations.incrementAndGet();
+        layouts.remove(event.theaterId());
+    }
+
+    private List<SeatLayout.Entry> readSeats(long theaterId) {
+        return seatRepository.findLayoutEntriesByTheaterId(theaterId).stream()
+                .map(row -> new SeatLayout.Entry(
+                        (Long) row[0], (String) row[1], (String) row[2], (Seat.SeatType) row[3]))
+                .toList();
+    }
+}
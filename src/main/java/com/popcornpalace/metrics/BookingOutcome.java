@@ -0,0 +1,20 @@
+package com.popcornpalace.metrics;
+
+//  How a booking attempt ended; one counter per value
+public enum BookingOutcome {
+    SUCCESS("success"),
+    CONFLICT("conflict"),
+    PAST_SHOWTIME("past_showtime"),
+    WRONG_THEATER("wrong_theater"),
+    NOT_FOUND("not_found");
+
+    private final String tag;
+
+    BookingOutcome(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
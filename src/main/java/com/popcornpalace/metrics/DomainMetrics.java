@@ -0,0 +1,46 @@
+package com.popcornpalace.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Business counters. Every meter is registered up front, so recording is an array/map read and an
+ * increment, with no tag building or registry lookup per call.
+ */
+@Component
+public class DomainMetrics {
+
+    private final Map<BookingOutcome, Counter> bookings = new EnumMap<>(BookingOutcome.class);
+    private final Counter overlapOnCreate;
+    private final Counter overlapOnUpdate;
+
+    public DomainMetrics(MeterRegistry registry) {
+        for (BookingOutcome outcome : BookingOutcome.values()) {
+            bookings.put(outcome, Counter.builder("popcorn.bookings")
+                    .description("Booking attempts by outcome")
+                    .tag("outcome", outcome.tag())
+                    .register(registry));
+        }
+        overlapOnCreate = overlapCounter(registry, "create");
+        overlapOnUpdate = overlapCounter(registry, "update");
+    }
+
+    public void booking(BookingOutcome outcome) {
+        bookings.get(outcome).increment();
+    }
+
+    public void overlapRejected(boolean update) {
+        (update ? overlapOnUpdate : overlapOnCreate).increment();
+    }
+
+    private static Counter overlapCounter(MeterRegistry registry, String operation) {
+        return Counter.builder("popcorn.showtimes.overlap.rejections")
+                .description("Showtime writes refused because they overlap another showtime")
+                .tag("operation", operation)
+                .register(registry);
+    }
+}
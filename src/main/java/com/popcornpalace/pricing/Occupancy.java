@@ -0,0 +1,5 @@
+package com.popcornpalace.pricing;
+
+//  Booked seats and seat count of a showtime at one moment, as a quote uses them
+public record Occupancy(int booked, int capacity) {
+}
@@ -0,0 +1,177 @@
+package com.popcornpalace.pricing;
+
+import com.popcornpalace.datasource.PrimaryReads;
+import com.popcornpalace.event.BookingCancelledEvent;
+import com.popcornpalace.event.BookingCreatedEvent;
+import com.popcornpalace.event.ChangeKind;
+import com.popcornpalace.event.ShowtimeChangedEvent;
+import com.popcornpalace.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Booked seats per showtime, kept in memory; occupancy is their number.
+ * <p>
+ * A showtime's booked seat ids are read from the database once, on first use; after that they follow
+ * committed bookings and cancellations. Events add or remove a seat id, so an event for a booking the
+ * initial read already saw changes nothing. Everything held is re-read periodically to correct drift
+ * (events lost with a crashed transaction, bookings written around the service). Sets of deleted
+ * showtimes are dropped.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OccupancyCounters {
+
+    private static final int RECOUNT_BATCH = 500;
+
+    private final BookingRepository bookingRepository;
+
+    private final Map<Long, BookedSeats> booked = new ConcurrentHashMap<>();
+
+    //  Bumped on every committed change; guards against caching seats read before it
+    private final AtomicLong changes = new AtomicLong();
+
+    public int booked(long showtimeId) {
+        return seatsOf(showtimeId).count();
+    }
+
+    //  Whether a committed booking holds the seat as far as this instance has seen; may lag other instances
+    public boolean isBooked(long showtimeId, long seatId) {
+        return seatsOf(showtimeId).contains(seatId);
+    }
+
+    private BookedSeats seatsOf(long showtimeId) {
+        BookedSeats seats = booked.get(showtimeId);
+        if (seats != null) {
+            return seats;
+        }
+        long stamp = changes.get();
+        BookedSeats loaded = new BookedSeats(PrimaryReads.during(() -> bookingRepository.findSeatIdsByShowtimeId(showtimeId)));
+        BookedSeats existing = booked.putIfAbsent(showtimeId, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        if (changes.get() != stamp) {
+            // A change committed while we were reading and found no set to apply to; ours may be behind
+            booked.remove(showtimeId, loaded);
+        }
+        return loaded;
+    }
+
+    @TransactionalEventListener
+    public void onBookingCreated(BookingCreatedEvent event) {
+        apply(event.showtimeId(), event.seatId(), true);
+    }
+
+    @TransactionalEventListener
+    public void onBookingCancelled(BookingCancelledEvent event) {
+        apply(event.showtimeId(), event.seatId(), false);
+    }
+
+    @TransactionalEventListener
+    public void onShowtimeChanged(ShowtimeChangedEvent event) {
+        if (event.kind() == ChangeKind.DELETED) {
+            changes.incrementAndGet();
+            booked.remove(event.showtimeId());
+        }
+    }
+
+    //  Re-reads the seats of every held showtime in batches; a set that changed meanwhile keeps its events
+    @Scheduled(fixedDelayString = "${popcorn.pricing.recount-interval:PT5M}",
+            initialDelayString = "${popcorn.pricing.recount-interval:PT5M}")
+    public void recount() {
+        List<Long> showtimeIds = new ArrayList<>(booked.keySet());
+        int corrected = 0;
+        for (int from = 0; from < showtimeIds.size(); from += RECOUNT_BATCH) {
+            corrected += recount(showtimeIds.subList(from, Math.min(showtimeIds.size(), from + RECOUNT_BATCH)));
+        }
+        if (corrected > 0) {
+            log.info("Occupancy recount corrected {} of {} showtimes", corrected, showtimeIds.size());
+        }
+    }
+
+    private int recount(List<Long> showtimeIds) {
+        Map<Long, BookedSeats> before = new HashMap<>();
+        Map<Long, Long> stamps = new HashMap<>();
+        Map<Long, Set<Long>> fresh = new HashMap<>();
+        for (Long showtimeId : showtimeIds) {
+            BookedSeats seats = booked.get(showtimeId);
+            if (seats != null) {
+                before.put(showtimeId, seats);
+                stamps.put(showtimeId, seats.changes());
+                fresh.put(showtimeId, ConcurrentHashMap.newKeySet());
+            }
+        }
+        List<Object[]> rows = PrimaryReads.during(() -> bookingRepository.findShowtimeAndSeatIdsByShowtimeIdIn(before.keySet()));
+        for (Object[] row : rows) {
+            fresh.get((Long) row[0]).add((Long) row[1]);
+        }
+
+        int[] corrected = {0};
+        fresh.forEach((showtimeId, seatIds) -> booked.computeIfPresent(showtimeId, (id, current) -> {
+            // An event applied since our read may be newer than it: keep the current set until next time
+            if (current != before.get(id) || current.changes() != stamps.get(id)) {
+                return current;
+            }
+            if (current.count() != seatIds.size()) {
+                corrected[0]++;
+            }
+            return new BookedSeats(seatIds);
+        }));
+        return corrected[0];
+    }
+
+    private void apply(Long showtimeId, Long seatId, boolean taken) {
+        changes.incrementAndGet();
+        booked.computeIfPresent(showtimeId, (id, seats) -> {
+            seats.apply(seatId, taken);
+            return seats;
+        });
+    }
+
+    //  Seat ids of one showtime; changed only inside compute on its map entry
+    private static final class BookedSeats {
+
+        private final Set<Long> seatIds;
+        private volatile long changes;
+
+        BookedSeats(Collection<Long> seatIds) {
+            this.seatIds = ConcurrentHashMap.newKeySet(Math.max(16, seatIds.size()));
+            this.seatIds.addAll(seatIds);
+        }
+
+        int count() {
+            return seatIds.size();
+        }
+
+        boolean contains(long seatId) {
+            return seatIds.contains(seatId);
+        }
+
+        long changes() {
+            return changes;
+        }
+
+        void apply(Long seatId, boolean taken) {
+            if (taken) {
+                seatIds.add(seatId);
+            } else {
+                seatIds.remove(seatId);
+            }
+            changes++;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.popcornpalace.pricing;
+
+import com.popcornpalace.entity.Seat;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+//  Prices of one showtime at its current occupancy
+public record PriceQuote(long showtimeId,
+                         BigDecimal basePrice,
+                         int bookedSeats,
+                         int capacity,
+                         BigDecimal occupancyMultiplier,
+                         Map<Seat.SeatType, BigDecimal> prices) {
+
+    public BigDecimal priceFor(Seat.SeatType seatType) {
+        return prices.get(seatType);
+    }
+}
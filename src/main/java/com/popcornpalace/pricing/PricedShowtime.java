@@ -0,0 +1,7 @@
+package com.popcornpalace.pricing;
+
+import java.math.BigDecimal;
+
+//  The showtime fields a price quote is computed from; the version changes with the base price
+public record PricedShowtime(Long showtimeId, Long theaterId, BigDecimal basePrice, Long version) {
+}
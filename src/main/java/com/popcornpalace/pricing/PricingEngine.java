@@ -0,0 +1,84 @@
+package com.popcornpalace.pricing;
+
+import com.popcornpalace.config.PricingProperties;
+import com.popcornpalace.entity.Seat;
+import com.popcornpalace.layout.SeatLayouts;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ticket prices: showtime price x seat type multiplier x occupancy tier multiplier, rounded to cents.
+ * <p>
+ * Occupancy is booked seats over the theater's seat count, both taken from memory
+ * ({@link OccupancyCounters}, {@link SeatLayouts}), so quoting and booking add no counting queries.
+ */
+@Component
+public class PricingEngine {
+
+    private final OccupancyCounters occupancy;
+    private final SeatLayouts seatLayouts;
+    private final Map<Seat.SeatType, BigDecimal> seatTypeMultipliers;
+    private final List<PricingProperties.Tier> tiers;
+
+    //  Changes when the multipliers are reconfigured, so quote tags from another configuration never match
+    private final String configTag;
+
+    public PricingEngine(OccupancyCounters occupancy, SeatLayouts seatLayouts, PricingProperties properties) {
+        this.occupancy = occupancy;
+        this.seatLayouts = seatLayouts;
+        this.seatTypeMultipliers = new EnumMap<>(Seat.SeatType.class);
+        this.seatTypeMultipliers.putAll(properties.getSeatTypeMultipliers());
+        //  Highest threshold first, so the first tier reached is the one that applies
+        this.tiers = properties.getOccupancyTiers().stream()
+                .sorted(Comparator.comparingDouble(PricingProperties.Tier::getMinOccupancy).reversed())
+                .toList();
+        this.configTag = Integer.toString((seatTypeMultipliers.toString() + tiers).hashCode(), 36);
+    }
+
+    public PriceQuote quote(long showtimeId, long theaterId, BigDecimal basePrice) {
+        return quote(showtimeId, basePrice, occupancy(showtimeId, theaterId));
+    }
+
+    //  Booked seats and capacity from memory
+    public Occupancy occupancy(long showtimeId, long theaterId) {
+        return new Occupancy(occupancy.booked(showtimeId), seatLayouts.layoutOf(theaterId).size());
+    }
+
+    //  Identifies the quote for these inputs exactly, without computing it
+    public String tag(PricedShowtime showtime, Occupancy occupancy) {
+        return configTag + "-" + showtime.showtimeId() + "-" + showtime.version()
+                + "-" + occupancy.booked() + "-" + occupancy.capacity();
+    }
+
+    public PriceQuote quote(long showtimeId, BigDecimal basePrice, Occupancy occupancy) {
+        int booked = occupancy.booked();
+        int capacity = occupancy.capacity();
+        BigDecimal occupancyMultiplier = occupancyMultiplier(booked, capacity);
+
+        Map<Seat.SeatType, BigDecimal> prices = new EnumMap<>(Seat.SeatType.class);
+        for (Seat.SeatType seatType : Seat.SeatType.values()) {
+            BigDecimal typeMultiplier = seatTypeMultipliers.getOrDefault(seatType, BigDecimal.ONE);
+            prices.put(seatType, basePrice.multiply(typeMultiplier).multiply(occupancyMultiplier)
+                    .setScale(2, RoundingMode.HALF_UP));
+        }
+        return new PriceQuote(showtimeId, basePrice, booked, capacity, occupancyMultiplier,
+                Collections.unmodifiableMap(prices));
+    }
+
+    BigDecimal occupancyMultiplier(int booked, int capacity) {
+        double ratio = capacity == 0 ? 0.0 : (double) booked / capacity;
+        for (PricingProperties.Tier tier : tiers) {
+            if (ratio >= tier.getMinOccupancy()) {
+                return tier.getMultiplier();
+            }
+        }
+        return BigDecimal.ONE;
+    }
+}
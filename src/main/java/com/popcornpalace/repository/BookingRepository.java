@@ -2,8 +2,50 @@ package com.popcornpalace.repository;
 
 import com.popcornpalace.entity.Booking;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+
+    //  Seats booked for a showtime, for seat maps, seat stream snapshots and occupancy
+    @Query("select b.seat.id from Booking b where b.showtime.id = :showtimeId")
+    List<Long> findSeatIdsByShowtimeId(@Param("showtimeId") Long showtimeId);
+
+    //  (showtime id, seat id) of the bookings of several showtimes, for occupancy recounts
+    @Query("select b.showtime.id, b.seat.id from Booking b where b.showtime.id in :showtimeIds")
+    List<Object[]> findShowtimeAndSeatIdsByShowtimeIdIn(@Param("showtimeIds") Collection<Long> showtimeIds);
+
+    //  Whether the seat is booked for the showtime; an index lookup on the unique key
+    boolean existsByShowtimeIdAndSeatId(Long showtimeId, Long seatId);
+
+    //  Any booking on any seat of the theater (a booked layout must not be replaced)
+    boolean existsBySeatTheaterId(Long theaterId);
+
+    //  Keep the showtime start copied into bookings in line with a rescheduled showtime
+    @Modifying
+    @Query("""
+                update Booking b
+                set b.showtimeStart = :startTime
+                where b.showtime.id = :showtimeId
+                  and b.showtimeStart <> :startTime
+            """)
+    int updateShowtimeStart(@Param("showtimeId") Long showtimeId,
+                            @Param("startTime") LocalDateTime startTime);
+
+    //  Single-statement delete, returns the number of affected rows (0 = not found)
+    @Modifying
+    @Query("delete from Booking b where b.id = :id")
+    int deleteBookingById(@Param("id") Long id);
+
+    //  Set-based cleanup of all bookings of a showtime
+    @Modifying
+    @Query("delete from Booking b where b.showtime.id = :showtimeId")
+    int deleteByShowtimeId(@Param("showtimeId") Long showtimeId);
 }
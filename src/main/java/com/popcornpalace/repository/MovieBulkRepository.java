@@ -0,0 +1,180 @@
+package com.popcornpalace.repository;
+
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bulk movie inserts for catalog imports.
+ * <p>
+ * On PostgreSQL rows are streamed with COPY into a temporary staging table and merged with one
+ * {@code INSERT ... SELECT ... ON CONFLICT (normalized_title) DO NOTHING}. Other databases (H2 in
+ * tests) get batched inserts after a per-chunk existence check. Either way callers must run in a
+ * transaction: the staging table lives until commit.
+ */
+@Repository
+public class MovieBulkRepository {
+
+    private static final String CREATE_STAGING = """
+            create temporary table movie_import (
+                row_no           integer      not null,
+                title            varchar(255) not null,
+                normalized_title varchar(255) not null,
+                genre            varchar(100) not null,
+                duration_minutes integer      not null,
+                rating           numeric      not null,
+                release_year     integer      not null
+            ) on commit drop
+            """;
+
+    private static final String COPY_STAGING = """
+            copy movie_import (row_no, title, normalized_title, genre, duration_minutes, rating, release_year)
+            from stdin (format csv)
+            """;
+
+    private static final String SELECT_CONFLICTS = """
+            select i.row_no, i.title
+            from movie_import i
+            join movies m on m.normalized_title = i.normalized_title
+            order by i.row_no
+            """;
+
+    private static final String MERGE_STAGING = """
+            insert into movies (title, normalized_title, genre, duration_minutes, rating, release_year, version)
+            select title, normalized_title, genre, duration_minutes, rating, release_year, 0
+            from movie_import
+            order by row_no
+            on conflict (normalized_title) do nothing
+            """;
+
+    private static final String SELECT_EXISTING = """
+            select normalized_title from movies where normalized_title in (:titles)
+            """;
+
+    private static final String INSERT_MOVIE = """
+            insert into movies (title, normalized_title, genre, duration_minutes, rating, release_year, version)
+            values (?, ?, ?, ?, ?, ?, 0)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public MovieBulkRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    //  A validated input row; titles are already unique within the import
+    public record Row(int row, String title, String normalizedTitle, String genre,
+                      int durationMinutes, BigDecimal rating, int releaseYear) {
+    }
+
+    //  A row skipped because the title is already in the catalog
+    public record Conflict(int row, String title) {
+    }
+
+    public record MergeResult(int inserted, List<Conflict> conflicts) {
+    }
+
+    public interface Load {
+
+        void add(List<Row> rows);
+
+        MergeResult finish();
+    }
+
+    public Load open() {
+        Boolean postgres = jdbcTemplate.execute(
+                (ConnectionCallback<Boolean>) connection -> connection.isWrapperFor(PGConnection.class));
+        return Boolean.TRUE.equals(postgres) ? new CopyLoad() : new BatchLoad();
+    }
+
+    private class CopyLoad implements Load {
+
+        CopyLoad() {
+            jdbcTemplate.execute(CREATE_STAGING);
+        }
+
+        @Override
+        public void add(List<Row> rows) {
+            if (rows.isEmpty()) {
+                return;
+            }
+            StringBuilder csv = new StringBuilder(rows.size() * 64);
+            for (Row row : rows) {
+                csv.append(row.row()).append(',');
+                appendQuoted(csv, row.title()).append(',');
+                appendQuoted(csv, row.normalizedTitle()).append(',');
+                appendQuoted(csv, row.genre()).append(',');
+                csv.append(row.durationMinutes()).append(',')
+                        .append(row.rating().toPlainString()).append(',')
+                        .append(row.releaseYear()).append('\n');
+            }
+            jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                try {
+                    return connection.unwrap(PGConnection.class).getCopyAPI()
+                            .copyIn(COPY_STAGING, new StringReader(csv.toString()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+
+        @Override
+        public MergeResult finish() {
+            List<Conflict> conflicts = jdbcTemplate.query(SELECT_CONFLICTS,
+                    (rs, i) -> new Conflict(rs.getInt("row_no"), rs.getString("title")));
+            int inserted = jdbcTemplate.update(MERGE_STAGING);
+            return new MergeResult(inserted, conflicts);
+        }
+
+        private static StringBuilder appendQuoted(StringBuilder csv, String value) {
+            return csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+    }
+
+    private class BatchLoad implements Load {
+
+        private final List<Conflict> conflicts = new ArrayList<>();
+        private int inserted;
+
+        @Override
+        public void add(List<Row> rows) {
+            if (rows.isEmpty()) {
+                return;
+            }
+            Set<String> existing = new HashSet<>(namedJdbcTemplate.queryForList(SELECT_EXISTING,
+                    new MapSqlParameterSource("titles", rows.stream().map(Row::normalizedTitle).toList()),
+                    String.class));
+            List<Object[]> batch = new ArrayList<>(rows.size());
+            for (Row row : rows) {
+                if (existing.contains(row.normalizedTitle())) {
+                    conflicts.add(new Conflict(row.row(), row.title()));
+                } else {
+                    batch.add(new Object[]{row.title(), row.normalizedTitle(), row.genre(),
+                            row.durationMinutes(), row.rating(), row.releaseYear()});
+                }
+            }
+            jdbcTemplate.batchUpdate(INSERT_MOVIE, batch);
+            inserted += batch.size();
+        }
+
+        @Override
+        public MergeResult finish() {
+            return new MergeResult(inserted, conflicts);
+        }
+    }
+}
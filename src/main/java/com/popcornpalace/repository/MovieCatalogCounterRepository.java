@@ -0,0 +1,22 @@
+package com.popcornpalace.repository;
+
+import com.popcornpalace.entity.MovieCatalogCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface MovieCatalogCounterRepository extends JpaRepository<MovieCatalogCounter, Integer> {
+
+    //  Primary key lookup of the single row; empty until the first change on a schema built without Flyway
+    @Query("select c.changes from MovieCatalogCounter c where c.id = " + MovieCatalogCounter.ID)
+    Optional<Long> findChanges();
+
+    //  Returns the number of affected rows (0 = row missing)
+    @Modifying
+    @Query("update MovieCatalogCounter c set c.changes = c.changes + 1 where c.id = " + MovieCatalogCounter.ID)
+    int increment();
+}
@@ -1,13 +1,90 @@
 package com.popcornpalace.repository;
 
+import com.popcornpalace.dto.MovieDto;
 import com.popcornpalace.entity.Movie;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface MovieRepository extends JpaRepository<Movie, Long> {
 
-    //  Check if movie with title exists (case-insensitive)
-    boolean existsByTitleIgnoreCase(String title);
+    //  Check if movie with title exists; takes a TitleNormalizer result and uses the unique index
+    boolean existsByNormalizedTitle(String normalizedTitle);
+
+    //  Same check, ignoring the movie being updated
+    boolean existsByNormalizedTitleAndIdNot(String normalizedTitle, Long id);
+
+    //  Every normalized title, to fill the in-memory title filter
+    @Query("select m.normalizedTitle from Movie m")
+    List<String> findAllNormalizedTitles();
+
+    //  All movies as DTOs, without materializing entities
+    @Query("""
+                select new com.popcornpalace.dto.MovieDto(
+                    m.id, m.title, m.genre, m.durationMinutes, m.rating, m.releaseYear, m.version)
+                from Movie m
+                order by m.id
+            """)
+    List<MovieDto> findAllAsDto();
+
+    //  One movie as a DTO
+    @Query("""
+                select new com.popcornpalace.dto.MovieDto(
+                    m.id, m.title, m.genre, m.durationMinutes, m.rating, m.releaseYear, m.version)
+                from Movie m
+                where m.id = :id
+            """)
+    Optional<MovieDto> findDtoById(@Param("id") Long id);
+
+    //  Keyset page: movies with id greater than afterId, ordered by id (page size comes from the Pageable)
+    @Query("""
+                select new com.popcornpalace.dto.MovieDto(
+                    m.id, m.title, m.genre, m.durationMinutes, m.rating, m.releaseYear, m.version)
+                from Movie m
+                where m.id > :afterId
+                order by m.id
+            """)
+    List<MovieDto> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    //  (id, genre, releaseYear) of every movie, for the facet counters
+    @Query("select m.id, m.genre, m.releaseYear from Movie m")
+    List<Object[]> findFacetKeys();
+
+    //  Only the duration is needed to validate a showtime
+    @Query("select m.durationMinutes from Movie m where m.id = :id")
+    Optional<Integer> findDurationMinutesById(@Param("id") Long id);
+
+    //  Single-statement update, returns the number of affected rows (0 = not found)
+    @Modifying
+    @Query("""
+                update Movie m
+                set m.title = :title,
+                    m.normalizedTitle = :normalizedTitle,
+                    m.genre = :genre,
+                    m.durationMinutes = :durationMinutes,
+                    m.rating = :rating,
+                    m.releaseYear = :releaseYear,
+                    m.version = m.version + 1
+                where m.id = :id
+            """)
+    int updateById(@Param("id") Long id,
+                   @Param("title") String title,
+                   @Param("normalizedTitle") String normalizedTitle,
+                   @Param("genre") String genre,
+                   @Param("durationMinutes") Integer durationMinutes,
+                   @Param("rating") BigDecimal rating,
+                   @Param("releaseYear") Integer releaseYear);
 
+    //  Single-statement delete, returns the number of affected rows (0 = not found)
+    @Modifying
+    @Query("delete from Movie m where m.id = :id")
+    int deleteMovieById(@Param("id") Long id);
 }
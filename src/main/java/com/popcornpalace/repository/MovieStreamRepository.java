@@ -0,0 +1,45 @@
+package com.popcornpalace.repository;
+
+import com.popcornpalace.dto.MovieDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.function.Consumer;
+
+/**
+ * Plain JDBC reads of the movie catalog with a bounded fetch size, so the driver holds
+ * one batch of rows at a time. PostgreSQL only uses a cursor inside a transaction,
+ * so callers must run in one.
+ */
+@Repository
+public class MovieStreamRepository {
+
+    static final int FETCH_SIZE = 500;
+
+    private static final String SELECT_ALL = """
+            select id, title, genre, duration_minutes, rating, release_year, version
+            from movies
+            order by id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MovieStreamRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    public void forEachMovie(Consumer<MovieDto> consumer) {
+        jdbcTemplate.query(SELECT_ALL, (RowCallbackHandler) rs -> consumer.accept(MovieDto.builder()
+                .id(rs.getLong("id"))
+                .title(rs.getString("title"))
+                .genre(rs.getString("genre"))
+                .durationMinutes(rs.getInt("duration_minutes"))
+                .rating(rs.getBigDecimal("rating"))
+                .releaseYear(rs.getInt("release_year"))
+                .version(rs.getLong("version"))
+                .build()));
+    }
+}
@@ -0,0 +1,122 @@
+package com.popcornpalace.repository;
+
+import com.popcornpalace.dto.MovieDto;
+import com.popcornpalace.dto.SeatAvailabilityDto;
+import com.popcornpalace.dto.ShowtimeDto;
+import com.popcornpalace.entity.Seat;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Catalog, showtime and seat availability reads over R2DBC.
+ * <p>
+ * No thread is blocked while waiting for the database. Streams are demand driven: rows are fetched
+ * {@code fetchSize} at a time and the next batch is only requested once the subscriber has taken the
+ * previous one, so a slow client holds a cursor rather than a growing buffer. Under MVC that
+ * subscriber writes to the client with blocking servlet writes, so a slow client does hold a writer
+ * thread (see {@link com.popcornpalace.config.ReactiveReadConfig}).
+ */
+public class ReactiveReadRepository implements AutoCloseable {
+
+    private static final String SELECT_MOVIES = """
+            select id, title, genre, duration_minutes, rating, release_year, version
+            from movies
+            order by id
+            """;
+
+    private static final String SELECT_SHOWTIME = """
+            select id, movie_id, theater_id, start_time, end_time, price, version
+            from showtimes
+            where id = :id
+            """;
+
+    //  Every seat of the showtime's theater, with whether it is booked for this showtime
+    private static final String SELECT_SEAT_AVAILABILITY = """
+            select s.id, s.row, s.seat_number, s.seat_type, b.id is not null as booked
+            from seats s
+            left join bookings b on b.seat_id = s.id and b.showtime_id = :showtimeId
+            where s.theater_id = :theaterId
+            order by s.id
+            """;
+
+    private final ConnectionFactory connectionFactory;
+    private final DatabaseClient client;
+    private final int fetchSize;
+
+    public ReactiveReadRepository(ConnectionFactory connectionFactory, int fetchSize) {
+        this.connectionFactory = connectionFactory;
+        this.client = DatabaseClient.create(connectionFactory);
+        this.fetchSize = fetchSize;
+    }
+
+    public Flux<MovieDto> findAllMovies() {
+        return client.sql(SELECT_MOVIES)
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(ReactiveReadRepository::toMovie)
+                .all();
+    }
+
+    public Mono<ShowtimeDto> findShowtime(long id) {
+        return client.sql(SELECT_SHOWTIME)
+                .bind("id", id)
+                .map(ReactiveReadRepository::toShowtime)
+                .one();
+    }
+
+    public Flux<SeatAvailabilityDto> findSeatAvailability(long showtimeId, long theaterId) {
+        return client.sql(SELECT_SEAT_AVAILABILITY)
+                .bind("showtimeId", showtimeId)
+                .bind("theaterId", theaterId)
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(ReactiveReadRepository::toSeatAvailability)
+                .all();
+    }
+
+    private static MovieDto toMovie(Readable row) {
+        return MovieDto.builder()
+                .id(row.get("id", Long.class))
+                .title(row.get("title", String.class))
+                .genre(row.get("genre", String.class))
+                .durationMinutes(row.get("duration_minutes", Integer.class))
+                .rating(row.get("rating", BigDecimal.class))
+                .releaseYear(row.get("release_year", Integer.class))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+
+    private static ShowtimeDto toShowtime(Readable row) {
+        return ShowtimeDto.builder()
+                .id(row.get("id", Long.class))
+                .movieId(row.get("movie_id", Long.class))
+                .theaterId(row.get("theater_id", Long.class))
+                .startTime(row.get("start_time", LocalDateTime.class))
+                .endTime(row.get("end_time", LocalDateTime.class))
+                .price(row.get("price", BigDecimal.class))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+
+    private static SeatAvailabilityDto toSeatAvailability(Readable row) {
+        return SeatAvailabilityDto.builder()
+                .seatId(row.get("id", Long.class))
+                .row(row.get("row", String.class))
+                .seatNumber(row.get("seat_number", String.class))
+                .seatType(Seat.SeatType.valueOf(row.get("seat_type", String.class)))
+                .booked(Boolean.TRUE.equals(row.get("booked", Boolean.class)))
+                .build();
+    }
+
+    @Override
+    public void close() {
+        if (connectionFactory instanceof Disposable pool) {
+            pool.dispose();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.popcornpalace.repository;
+
+import com.popcornpalace.entity.Seat;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Inserts a theater's seats with multi-row INSERT statements, {@value #ROWS_PER_STATEMENT} seats
+ * each, so a 1,000-seat layout costs four statements instead of one round trip per seat.
+ * Runs in the caller's transaction.
+ */
+@Repository
+public class SeatBulkRepository {
+
+    static final int ROWS_PER_STATEMENT = 250;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SeatBulkRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public record NewSeat(String row, String seatNumber, Seat.SeatType seatType) {
+    }
+
+    public void insertSeats(long theaterId, List<NewSeat> seats) {
+        for (int from = 0; from < seats.size(); from += ROWS_PER_STATEMENT) {
+            List<NewSeat> chunk = seats.subList(from, Math.min(from + ROWS_PER_STATEMENT, seats.size()));
+            StringBuilder sql = new StringBuilder("insert into seats (theater_id, row, seat_number, seat_type) values ");
+            Object[] args = new Object[chunk.size() * 4];
+            for (int i = 0; i < chunk.size(); i++) {
+                NewSeat seat = chunk.get(i);
+                sql.append(i == 0 ? "(?, ?, ?, ?)" : ", (?, ?, ?, ?)");
+                args[i * 4] = theaterId;
+                args[i * 4 + 1] = seat.row();
+                args[i * 4 + 2] = seat.seatNumber();
+                args[i * 4 + 3] = seat.seatType().name();
+            }
+            jdbcTemplate.update(sql.toString(), args);
+        }
+    }
+}
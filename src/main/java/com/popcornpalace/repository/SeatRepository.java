@@ -2,8 +2,22 @@ package com.popcornpalace.repository;
 
 import com.popcornpalace.entity.Seat;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface SeatRepository extends JpaRepository<Seat, Long> {
+
+    //  (id, row, seatNumber, seatType) of a theater's seats, to build its SeatLayout
+    @Query("select s.id, s.row, s.seatNumber, s.seatType from Seat s where s.theater.id = :theaterId")
+    List<Object[]> findLayoutEntriesByTheaterId(@Param("theaterId") Long theaterId);
+
+    //  Single-statement delete of a theater's whole layout
+    @Modifying
+    @Query("delete from Seat s where s.theater.id = :theaterId")
+    int deleteByTheaterId(@Param("theaterId") Long theaterId);
 }
@@ -1,16 +1,27 @@
 package com.popcornpalace.repository;
 
+import com.popcornpalace.availability.ScheduledTheater;
+import com.popcornpalace.entity.Movie;
 import com.popcornpalace.entity.Showtime;
+import com.popcornpalace.entity.Theater;
+import com.popcornpalace.pricing.PricedShowtime;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
 
+    boolean existsByTheaterId(Long theaterId);
+
     //Check for overlapping showtimes in the same theater
     @Query("""
                 select exists(
@@ -40,4 +51,52 @@ public interface ShowtimeRepository extends JpaRepository<Showtime, Long> {
                                                @Param("startTime") LocalDateTime startTime,
                                                @Param("endTime") LocalDateTime endTime,
                                                @Param("excludeId") Long excludeId);
+
+    //  Theater and start of a showtime without loading the showtime, for the in-memory seat maps
+    @Query("""
+                select new com.popcornpalace.availability.ScheduledTheater(s.theater.id, s.startTime)
+                from Showtime s
+                where s.id = :id
+            """)
+    Optional<ScheduledTheater> findScheduledTheaterById(@Param("id") Long id);
+
+    //  What the prices of a showtime are computed from, without loading the showtime
+    @Query("""
+                select new com.popcornpalace.pricing.PricedShowtime(s.id, s.theater.id, s.price, s.version)
+                from Showtime s
+                where s.id = :id
+            """)
+    Optional<PricedShowtime> findPricedById(@Param("id") Long id);
+
+    //  (id, version) of the given showtimes, to re-check versions cached in memory
+    @Query("select s.id, s.version from Showtime s where s.id in :ids")
+    List<Object[]> findVersionsByIdIn(@Param("ids") Collection<Long> ids);
+
+    //  (id, movie id, startTime) of showtimes starting after the given time, for the facet counters
+    @Query("select s.id, s.movie.id, s.startTime from Showtime s where s.startTime > :after")
+    List<Object[]> findUpcomingFacetKeys(@Param("after") LocalDateTime after);
+
+    //  Single-statement update, returns the number of affected rows (0 = not found)
+    @Modifying
+    @Query("""
+                update Showtime s
+                set s.movie = :movie,
+                    s.theater = :theater,
+                    s.startTime = :startTime,
+                    s.endTime = :endTime,
+                    s.price = :price,
+                    s.version = s.version + 1
+                where s.id = :id
+            """)
+    int updateById(@Param("id") Long id,
+                   @Param("movie") Movie movie,
+                   @Param("theater") Theater theater,
+                   @Param("startTime") LocalDateTime startTime,
+                   @Param("endTime") LocalDateTime endTime,
+                   @Param("price") BigDecimal price);
+
+    //  Single-statement delete, returns the number of affected rows (0 = not found)
+    @Modifying
+    @Query("delete from Showtime s where s.id = :id")
+    int deleteShowtimeById(@Param("id") Long id);
 }
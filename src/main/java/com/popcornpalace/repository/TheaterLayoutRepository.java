@@ -0,0 +1,16 @@
+package com.popcornpalace.repository;
+
+import com.popcornpalace.entity.TheaterLayout;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TheaterLayoutRepository extends JpaRepository<TheaterLayout, Long> {
+
+    @Modifying
+    @Query("delete from TheaterLayout l where l.theaterId = :theaterId")
+    int deleteByTheaterId(@Param("theaterId") Long theaterId);
+}
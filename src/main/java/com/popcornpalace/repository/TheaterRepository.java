@@ -1,9 +1,20 @@
 package com.popcornpalace.repository;
 
 import com.popcornpalace.entity.Theater;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface TheaterRepository extends JpaRepository<Theater, Long> {
+
+    //  Row lock held until commit; serializes layout changes of one theater
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Theater t where t.id = :id")
+    Optional<Theater> findByIdForUpdate(@Param("id") Long id);
 }
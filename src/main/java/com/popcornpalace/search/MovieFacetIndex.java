@@ -0,0 +1,256 @@
+package com.popcornpalace.search;
+
+import com.popcornpalace.datasource.PrimaryReads;
+import com.popcornpalace.dto.MovieFacetsDto;
+import com.popcornpalace.event.ChangeKind;
+import com.popcornpalace.event.MovieChangedEvent;
+import com.popcornpalace.event.MoviesImportedEvent;
+import com.popcornpalace.event.ShowtimeChangedEvent;
+import com.popcornpalace.repository.MovieRepository;
+import com.popcornpalace.repository.ShowtimeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory genre and release-year counts over the catalog, and over the "now playing" movies
+ * (those with at least one upcoming showtime).
+ * <p>
+ * Counters are adjusted from the payload of movie and showtime change events, so no query runs per
+ * change or per read. Showtimes that start are swept out every minute. Because events from
+ * concurrent transactions may be applied out of commit order, everything is recomputed from the
+ * database periodically (and after bulk imports) to correct drift.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MovieFacetIndex {
+
+    private final MovieRepository movieRepository;
+    private final ShowtimeRepository showtimeRepository;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private State state = new State();       // guarded by lock
+    private boolean loaded;                   // guarded by lock
+    private volatile MovieFacetsDto facets;   // built from state on demand, null when stale
+
+    private record MovieKey(String genre, int releaseYear) {
+    }
+
+    private record Upcoming(long showtimeId, long movieId, LocalDateTime startTime) {
+    }
+
+    private static final class Counts {
+
+        final Map<String, Integer> genres = new HashMap<>();
+        final Map<Integer, Integer> releaseYears = new HashMap<>();
+
+        void add(MovieKey key, int delta) {
+            genres.merge(key.genre(), delta, (a, b) -> a + b == 0 ? null : a + b);
+            releaseYears.merge(key.releaseYear(), delta, (a, b) -> a + b == 0 ? null : a + b);
+        }
+    }
+
+    private static final class State {
+
+        final Map<Long, MovieKey> movies = new HashMap<>();
+        final Map<Long, Upcoming> showtimes = new HashMap<>();
+        final TreeSet<Upcoming> byStart = new TreeSet<>(Comparator.comparing(Upcoming::startTime)
+                .thenComparingLong(Upcoming::showtimeId));
+        final Map<Long, Integer> upcomingByMovie = new HashMap<>();
+        final Counts all = new Counts();
+        final Counts nowPlaying = new Counts();
+
+        void putMovie(long movieId, MovieKey key) {
+            removeMovie(movieId);
+            movies.put(movieId, key);
+            all.add(key, 1);
+            if (upcomingByMovie.containsKey(movieId)) {
+                nowPlaying.add(key, 1);
+            }
+        }
+
+        void removeMovie(long movieId) {
+            MovieKey old = movies.remove(movieId);
+            if (old != null) {
+                all.add(old, -1);
+                if (upcomingByMovie.containsKey(movieId)) {
+                    nowPlaying.add(old, -1);
+                }
+            }
+        }
+
+        void putShowtime(Upcoming showtime, LocalDateTime now) {
+            removeShowtime(showtime.showtimeId());
+            if (!showtime.startTime().isAfter(now)) {
+                return;
+            }
+            showtimes.put(showtime.showtimeId(), showtime);
+            byStart.add(showtime);
+            if (upcomingByMovie.merge(showtime.movieId(), 1, Integer::sum) == 1) {
+                MovieKey key = movies.get(showtime.movieId());
+                if (key != null) {
+                    nowPlaying.add(key, 1);
+                }
+            }
+        }
+
+        void removeShowtime(long showtimeId) {
+            Upcoming old = showtimes.remove(showtimeId);
+            if (old == null) {
+                return;
+            }
+            byStart.remove(old);
+            if (upcomingByMovie.merge(old.movieId(), -1, (a, b) -> a + b == 0 ? null : a + b) == null) {
+                MovieKey key = movies.get(old.movieId());
+                if (key != null) {
+                    nowPlaying.add(key, -1);
+                }
+            }
+        }
+
+        //  Drop showtimes that have started; true if anything changed
+        boolean sweep(LocalDateTime now) {
+            boolean changed = false;
+            while (!byStart.isEmpty() && !byStart.first().startTime().isAfter(now)) {
+                removeShowtime(byStart.first().showtimeId());
+                changed = true;
+            }
+            return changed;
+        }
+    }
+
+    public MovieFacetsDto getFacets() {
+        MovieFacetsDto current = facets;
+        if (current != null) {
+            return current;
+        }
+        lock.lock();
+        try {
+            if (!loaded) {
+                recompute(); // only if asked before the startup load ran
+            }
+            if (facets == null) {
+                facets = toDto(state);
+            }
+            return facets;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onMovieChanged(MovieChangedEvent event) {
+        update(state -> {
+            if (event.kind() == ChangeKind.DELETED) {
+                state.removeMovie(event.movieId());
+            } else {
+                state.putMovie(event.movieId(),
+                        new MovieKey(event.movie().getGenre(), event.movie().getReleaseYear()));
+            }
+        });
+    }
+
+    @TransactionalEventListener
+    public void onShowtimeChanged(ShowtimeChangedEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        update(state -> {
+            if (event.kind() == ChangeKind.DELETED) {
+                state.removeShowtime(event.showtimeId());
+            } else {
+                state.putShowtime(new Upcoming(event.showtimeId(), event.showtime().getMovieId(),
+                        event.showtime().getStartTime()), now);
+            }
+        });
+    }
+
+    @TransactionalEventListener
+    public void onMoviesImported(MoviesImportedEvent event) {
+        recompute();
+    }
+
+    @Scheduled(fixedDelayString = "${popcorn.facets.sweep-interval:PT1M}",
+            initialDelayString = "${popcorn.facets.sweep-interval:PT1M}")
+    public void sweep() {
+        sweep(LocalDateTime.now());
+    }
+
+    void sweep(LocalDateTime now) {
+        lock.lock();
+        try {
+            if (state.sweep(now)) {
+                facets = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //  Full rebuild from two projection queries on the primary, outside the lock; then swapped in
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${popcorn.facets.recompute-interval:PT15M}",
+            initialDelayString = "${popcorn.facets.recompute-interval:PT15M}")
+    public void recompute() {
+        LocalDateTime now = LocalDateTime.now();
+        State fresh = new State();
+        //  A lagging replica would reset the counters to before changes already applied from events
+        for (Object[] row : PrimaryReads.during(() -> showtimeRepository.findUpcomingFacetKeys(now))) {
+            fresh.putShowtime(new Upcoming((Long) row[0], (Long) row[1], (LocalDateTime) row[2]), now);
+        }
+        for (Object[] row : PrimaryReads.during(movieRepository::findFacetKeys)) {
+            fresh.putMovie((Long) row[0], new MovieKey((String) row[1], (Integer) row[2]));
+        }
+
+        lock.lock();
+        try {
+            state = fresh;
+            loaded = true;
+            facets = null;
+        } finally {
+            lock.unlock();
+        }
+        log.debug("Movie facets recomputed: {} movies, {} upcoming showtimes",
+                fresh.movies.size(), fresh.showtimes.size());
+    }
+
+    private void update(Consumer<State> change) {
+        lock.lock();
+        try {
+            if (loaded) {
+                change.accept(state);
+                facets = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static MovieFacetsDto toDto(State state) {
+        return MovieFacetsDto.builder()
+                .genres(new TreeMap<>(state.all.genres))
+                .releaseYears(new TreeMap<>(state.all.releaseYears))
+                .decades(decades(state.all.releaseYears))
+                .nowPlayingGenres(new TreeMap<>(state.nowPlaying.genres))
+                .nowPlayingDecades(decades(state.nowPlaying.releaseYears))
+                .build();
+    }
+
+    private static Map<Integer, Integer> decades(Map<Integer, Integer> releaseYears) {
+        Map<Integer, Integer> decades = new TreeMap<>();
+        releaseYears.forEach((year, count) -> decades.merge(year / 10 * 10, count, Integer::sum));
+        return decades;
+    }
+}
@@ -0,0 +1,276 @@
+package com.popcornpalace.search;
+
+import com.popcornpalace.cache.MovieCatalog;
+import com.popcornpalace.cache.MovieCatalogSnapshot;
+import com.popcornpalace.dto.MovieDto;
+import com.popcornpalace.event.MovieCatalogReloadedEvent;
+import com.popcornpalace.event.MovieChangedEvent;
+import com.popcornpalace.event.MoviesImportedEvent;
+import com.popcornpalace.util.TitleNormalizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process title search over the movie catalog.
+ * <p>
+ * Titles are split into normalized tokens. A sorted token dictionary answers exact and prefix
+ * lookups (a prefix is a contiguous key range), and trigram postings over the same dictionary
+ * find tokens within a few typos. A movie matches when every query token matches one of its
+ * title tokens; results are ranked by the summed match quality.
+ * <p>
+ * The index is built from the catalog snapshot on first use and then kept up to date from
+ * movie change events, which run after {@link MovieCatalog} has applied the same change. When the
+ * catalog reloads for changes made through another instance, the index is rebuilt from it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MovieSearchIndex {
+
+    static final double EXACT = 3.0;
+    static final double PREFIX = 2.0;
+    //  Minimum trigram Jaccard similarity for a fuzzy token match; scores below 1.0
+    static final double MIN_SIMILARITY = 0.3;
+    //  Shorter tokens have too few trigrams to compare meaningfully
+    static final int MIN_FUZZY_LENGTH = 3;
+
+    private final MovieCatalog movieCatalog;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private final TreeMap<String, Set<Long>> tokenPostings = new TreeMap<>();
+    private final Map<String, Set<String>> trigramPostings = new HashMap<>();
+    private boolean built;
+
+    private record Doc(MovieDto movie, String[] tokens) {
+    }
+
+    private record Hit(Doc doc, double score) {
+    }
+
+    //  Best matches first, at most limit; genre is an optional case-insensitive filter
+    public List<MovieDto> search(String query, String genre, int limit) {
+        String[] queryTokens = TitleNormalizer.tokens(query);
+        if (queryTokens.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        ensureBuilt();
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String queryToken : queryTokens) {
+                Map<Long, Double> tokenScores = scoreToken(queryToken);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((id, score) -> score + tokenScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return topK(scores, genre, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Order(1)
+    @TransactionalEventListener
+    public void onMovieChanged(MovieChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (!built) {
+                return; // the first search builds from the catalog, which already has this change
+            }
+            MovieDto movie = movieCatalog.snapshot().findById(event.movieId());
+            remove(event.movieId());
+            if (movie != null) {
+                add(movie);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Order(1)
+    @TransactionalEventListener
+    public void onMoviesImported(MoviesImportedEvent event) {
+        rebuildIfBuilt();
+    }
+
+    //  Changes written through another instance: which movies changed is unknown, so start over
+    @EventListener
+    public void onCatalogReloaded(MovieCatalogReloadedEvent event) {
+        rebuildIfBuilt();
+    }
+
+    private void rebuildIfBuilt() {
+        lock.writeLock().lock();
+        try {
+            if (built) {
+                rebuild();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //  Drop everything and rebuild from the current catalog snapshot
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            docs.clear();
+            tokenPostings.clear();
+            trigramPostings.clear();
+            MovieCatalogSnapshot snapshot = movieCatalog.snapshot();
+            snapshot.movies().forEach(this::add);
+            built = true;
+            log.info("Movie search index built: {} movies, {} tokens", docs.size(), tokenPostings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureBuilt() {
+        lock.readLock().lock();
+        try {
+            if (built) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (!built) {
+                rebuild();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Map<Long, Double> scoreToken(String queryToken) {
+        Map<Long, Double> scores = new HashMap<>();
+
+        // Exact and prefix matches: the range [token, token + MAX_VALUE) of the sorted dictionary
+        for (Map.Entry<String, Set<Long>> entry
+                : tokenPostings.subMap(queryToken, true, queryToken + Character.MAX_VALUE, false).entrySet()) {
+            double score = entry.getKey().length() == queryToken.length() ? EXACT : PREFIX;
+            for (Long id : entry.getValue()) {
+                scores.merge(id, score, Math::max);
+            }
+        }
+
+        if (queryToken.length() >= MIN_FUZZY_LENGTH) {
+            Set<String> queryGrams = trigrams(queryToken);
+            Map<String, Integer> shared = new HashMap<>();
+            for (String gram : queryGrams) {
+                for (String token : trigramPostings.getOrDefault(gram, Set.of())) {
+                    shared.merge(token, 1, Integer::sum);
+                }
+            }
+            for (Map.Entry<String, Integer> entry : shared.entrySet()) {
+                int common = entry.getValue();
+                int union = queryGrams.size() + trigrams(entry.getKey()).size() - common;
+                double similarity = (double) common / union;
+                if (similarity >= MIN_SIMILARITY) {
+                    for (Long id : tokenPostings.get(entry.getKey())) {
+                        scores.merge(id, similarity, Math::max);
+                    }
+                }
+            }
+        }
+        return scores;
+    }
+
+    private List<MovieDto> topK(Map<Long, Double> scores, String genre, int limit) {
+        // Ties go to the shorter title, then the lower id, so results are deterministic
+        Comparator<Hit> ranking = Comparator.comparingDouble(Hit::score)
+                .thenComparingInt(hit -> -hit.doc().movie().getTitle().length())
+                .thenComparingLong(hit -> -hit.doc().movie().getId());
+        PriorityQueue<Hit> heap = new PriorityQueue<>(limit + 1, ranking);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            Doc doc = docs.get(entry.getKey());
+            if (genre != null && !genre.isBlank() && !genre.equalsIgnoreCase(doc.movie().getGenre())) {
+                continue;
+            }
+            heap.add(new Hit(doc, entry.getValue()));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<MovieDto> results = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            results.add(heap.poll().doc().movie());
+        }
+        Collections.reverse(results);
+        return results;
+    }
+
+    private void add(MovieDto movie) {
+        String[] tokens = TitleNormalizer.tokens(movie.getTitle());
+        docs.put(movie.getId(), new Doc(movie, tokens));
+        for (String token : tokens) {
+            Set<Long> ids = tokenPostings.get(token);
+            if (ids == null) {
+                ids = new HashSet<>();
+                tokenPostings.put(token, ids);
+                for (String gram : trigrams(token)) {
+                    trigramPostings.computeIfAbsent(gram, g -> new HashSet<>()).add(token);
+                }
+            }
+            ids.add(movie.getId());
+        }
+    }
+
+    private void remove(Long movieId) {
+        Doc doc = docs.remove(movieId);
+        if (doc == null) {
+            return;
+        }
+        for (String token : doc.tokens()) {
+            Set<Long> ids = tokenPostings.get(token);
+            if (ids == null || !ids.remove(movieId) || !ids.isEmpty()) {
+                continue;
+            }
+            tokenPostings.remove(token);
+            for (String gram : trigrams(token)) {
+                Set<String> tokens = trigramPostings.get(gram);
+                tokens.remove(token);
+                if (tokens.isEmpty()) {
+                    trigramPostings.remove(gram);
+                }
+            }
+        }
+    }
+
+    //  Trigrams of the token padded with a boundary marker on each side: "heat" -> $he, hea, eat, at$
+    static Set<String> trigrams(String token) {
+        String padded = "$" + token + "$";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+}
@@ -1,20 +1,31 @@
 package com.popcornpalace.service;
 
 import com.popcornpalace.dto.BookingDto;
+import com.popcornpalace.dto.DtoMapper;
 import com.popcornpalace.entity.Booking;
 import com.popcornpalace.entity.Seat;
 import com.popcornpalace.entity.Showtime;
+import com.popcornpalace.event.BookingCancelledEvent;
+import com.popcornpalace.event.BookingCreatedEvent;
 import com.popcornpalace.exception.ConflictException;
+import com.popcornpalace.exception.NotFoundException;
+import com.popcornpalace.layout.SeatLayout;
+import com.popcornpalace.layout.SeatLayouts;
+import com.popcornpalace.metrics.BookingOutcome;
+import com.popcornpalace.metrics.DomainMetrics;
+import com.popcornpalace.pricing.OccupancyCounters;
+import com.popcornpalace.pricing.PricingEngine;
 import com.popcornpalace.repository.BookingRepository;
 import com.popcornpalace.repository.SeatRepository;
 import com.popcornpalace.repository.ShowtimeRepository;
-import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 
@@ -24,9 +35,16 @@ import java.time.OffsetDateTime;
 @RequiredArgsConstructor
 public class BookingService implements IBookingService {
 
+    private static final String SEAT_TAKEN = "Seat is already booked for this showtime";
+
     private final ShowtimeRepository showtimeRepository;
     private final SeatRepository seatRepository;
     private final BookingRepository bookingRepository;
+    private final SeatLayouts seatLayouts;
+    private final PricingEngine pricingEngine;
+    private final OccupancyCounters occupancyCounters;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DomainMetrics metrics;
 
     @Override
     public BookingDto createBooking(BookingDto bookingDto) {
@@ -34,51 +52,84 @@ public class BookingService implements IBookingService {
                 bookingDto.getShowtimeId(), bookingDto.getSeatId(), bookingDto.getCustomerEmail());
 
         // Validate showtime exists and is in the future
-        Showtime showtime = showtimeRepository.findById(bookingDto.getShowtimeId())
-                .orElseThrow(() -> new EntityNotFoundException(
-                        "Showtime not found: " + bookingDto.getShowtimeId())); // 404
+        Showtime showtime = showtimeRepository.findById(bookingDto.getShowtimeId()).orElse(null);
+        if (showtime == null) {
+            metrics.booking(BookingOutcome.NOT_FOUND);
+            throw new NotFoundException("Showtime not found: " + bookingDto.getShowtimeId()); // 404
+        }
 
         if (showtime.getStartTime().isBefore(LocalDateTime.now())) {
             log.warn("Attempt to book past showtime: showtimeId={}", showtime.getId());
+            metrics.booking(BookingOutcome.PAST_SHOWTIME);
             throw new IllegalArgumentException("Cannot book tickets for past showtimes");
         }
 
-        // Validate seat exists and belongs to the same theater as the showtime
-        Seat seat = seatRepository.findById(bookingDto.getSeatId())
-                .orElseThrow(() -> new EntityNotFoundException(
-                        "Seat not found: " + bookingDto.getSeatId())); // 404
-
-        if (!seat.getTheater().getId().equals(showtime.getTheater().getId())) {
+        // Validate seat belongs to the same theater as the showtime against the cached layout;
+        // only a miss goes to the database to tell an unknown seat from a foreign one
+        Long theaterId = showtime.getTheater().getId();
+        SeatLayout layout = seatLayouts.layoutOf(theaterId);
+        int ordinal = layout.ordinalOf(bookingDto.getSeatId());
+        if (ordinal < 0) {
+            if (!seatRepository.existsById(bookingDto.getSeatId())) {
+                metrics.booking(BookingOutcome.NOT_FOUND);
+                throw new NotFoundException("Seat not found: " + bookingDto.getSeatId()); // 404
+            }
+            metrics.booking(BookingOutcome.WRONG_THEATER);
             throw new IllegalArgumentException("Seat does not belong to the theater of the selected showtime");
         }
 
+        // A seat known to be taken is confirmed by a lookup and rejected before the INSERT, which would
+        // fail on the unique key and pay for the database error. Memory may lag a cancellation made
+        // through another instance, so it alone never rejects; a seat it misses still hits the key
+        if (occupancyCounters.isBooked(showtime.getId(), bookingDto.getSeatId())
+                && bookingRepository.existsByShowtimeIdAndSeatId(showtime.getId(), bookingDto.getSeatId())) {
+            metrics.booking(BookingOutcome.CONFLICT);
+            throw new ConflictException(SEAT_TAKEN); // 409
+        }
+        Seat seat = seatRepository.getReferenceById(bookingDto.getSeatId());
+
+        // Price at the occupancy seen now, for this seat's type
+        BigDecimal price = pricingEngine.quote(showtime.getId(), theaterId, showtime.getPrice())
+                .priceFor(layout.seatType(ordinal));
 
         Booking booking = Booking.builder()
                 .showtime(showtime)
+                .showtimeStart(showtime.getStartTime())
                 .seat(seat)
                 .customerName(bookingDto.getCustomerName())
                 .customerEmail(bookingDto.getCustomerEmail())
-                .totalPrice(showtime.getPrice())
+                .totalPrice(price)
                 .bookingDate(OffsetDateTime.now())
                 .build();
 
         try {
             Booking savedBooking = bookingRepository.saveAndFlush(booking);
-            return convertToDto(savedBooking);
+            eventPublisher.publishEvent(new BookingCreatedEvent(showtime.getId(), bookingDto.getSeatId()));
+            metrics.booking(BookingOutcome.SUCCESS);
+            return DtoMapper.toDto(savedBooking);
         } catch (DataIntegrityViolationException e) {
             // Unique key worked (place already taken for this session)
-            throw new ConflictException("Seat is already booked for this showtime"); // 409
+            metrics.booking(BookingOutcome.CONFLICT);
+            throw new ConflictException(SEAT_TAKEN); // 409
         }
     }
 
-    private BookingDto convertToDto(Booking booking) {
-        return BookingDto.builder()
-                .id(booking.getId())
-                .showtimeId(booking.getShowtime().getId())
-                .seatId(booking.getSeat().getId())
-                .customerName(booking.getCustomerName())
-                .customerEmail(booking.getCustomerEmail())
-                .totalPrice(booking.getTotalPrice())
-                .build();
+    @Override
+    public void cancelBooking(Long id, String customerEmail) {
+        // A wrong email gets the same answer as a missing booking, so ids cannot be probed
+        Booking booking = bookingRepository.findById(id)
+                .filter(found -> found.getCustomerEmail().equalsIgnoreCase(customerEmail))
+                .orElseThrow(() -> new NotFoundException("Booking not found: " + id)); // 404
+
+        if (booking.getShowtimeStart().isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Cannot cancel bookings for past showtimes");
+        }
+
+        if (bookingRepository.deleteBookingById(id) == 0) {
+            // Cancelled concurrently; that cancellation publishes the event
+            throw new NotFoundException("Booking not found: " + id); // 404
+        }
+        eventPublisher.publishEvent(new BookingCancelledEvent(booking.getShowtime().getId(), booking.getSeat().getId()));
+        log.info("Booking cancelled: id={}, showtimeId={}", id, booking.getShowtime().getId());
     }
 }
@@ -8,4 +8,6 @@ public interface IBookingService {
 
     BookingDto createBooking(BookingDto bookingDto);
 
+    void cancelBooking(Long id, String customerEmail);
+
 }
@@ -0,0 +1,15 @@
+package com.popcornpalace.service;
+
+import com.popcornpalace.dto.MovieImportReportDto;
+import com.popcornpalace.importer.ImportFormat;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Service
+public interface IMovieImportService {
+
+    MovieImportReportDto importMovies(InputStream in, ImportFormat format) throws IOException;
+
+}
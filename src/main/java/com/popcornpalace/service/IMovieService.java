@@ -1,8 +1,12 @@
 package com.popcornpalace.service;
 
+import com.popcornpalace.cache.MovieCatalogSnapshot;
 import com.popcornpalace.dto.MovieDto;
+import com.popcornpalace.dto.MovieFacetsDto;
+import com.popcornpalace.dto.MoviePageDto;
 import org.springframework.stereotype.Service;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 public interface IMovieService {
@@ -15,4 +19,14 @@ public interface IMovieService {
 
     List<MovieDto> getAllMovies();
 
+    MovieCatalogSnapshot getCatalogSnapshot();
+
+    MoviePageDto getMoviesPage(Long afterId, int size);
+
+    void streamMovies(Consumer<MovieDto> consumer);
+
+    List<MovieDto> searchMovies(String query, String genre, int limit);
+
+    MovieFacetsDto getFacets();
+
 }
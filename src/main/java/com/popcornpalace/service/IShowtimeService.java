@@ -1,6 +1,9 @@
 package com.popcornpalace.service;
 
 import com.popcornpalace.dto.ShowtimeDto;
+import com.popcornpalace.dto.ShowtimePricesDto;
+import com.popcornpalace.pricing.Occupancy;
+import com.popcornpalace.pricing.PricedShowtime;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -13,4 +16,10 @@ public interface IShowtimeService {
     void deleteShowtime(Long id);
 
     ShowtimeDto getShowtimeById(Long id);
+
+    ShowtimePricesDto getShowtimePrices(Long id);
+
+    PricedShowtime getPricedShowtime(Long id);
+
+    ShowtimePricesDto getShowtimePrices(PricedShowtime showtime, Occupancy occupancy);
 }
@@ -0,0 +1,23 @@
+package com.popcornpalace.service;
+
+import com.popcornpalace.dto.SeatLayoutRequestDto;
+import com.popcornpalace.dto.TheaterDto;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public interface ITheaterService {
+
+    TheaterDto createTheater(TheaterDto theaterDto);
+
+    TheaterDto updateTheater(Long id, TheaterDto theaterDto);
+
+    void deleteTheater(Long id);
+
+    TheaterDto getTheaterById(Long id);
+
+    List<TheaterDto> getAllTheaters();
+
+    TheaterDto generateLayout(Long id, SeatLayoutRequestDto layout);
+}
@@ -0,0 +1,134 @@
+package com.popcornpalace.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popcornpalace.cache.MovieTitleFilter;
+import com.popcornpalace.dto.ImportRowErrorDto;
+import com.popcornpalace.dto.MovieDto;
+import com.popcornpalace.dto.MovieImportReportDto;
+import com.popcornpalace.event.MoviesImportedEvent;
+import com.popcornpalace.importer.ImportFormat;
+import com.popcornpalace.importer.MovieRow;
+import com.popcornpalace.importer.MovieRowReader;
+import com.popcornpalace.repository.MovieBulkRepository;
+import com.popcornpalace.util.TitleNormalizer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+@Transactional
+@RequiredArgsConstructor
+public class MovieImportService implements IMovieImportService {
+
+    static final int CHUNK_SIZE = 5_000;
+    static final int MAX_REPORTED_ERRORS = 1_000;
+
+    private final MovieBulkRepository movieBulkRepository;
+    private final MovieTitleFilter movieTitleFilter;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    //  Parse, validate and dedupe row by row, load in chunks, then merge in one statement; all or nothing
+    @Transactional(rollbackFor = IOException.class)
+    public MovieImportReportDto importMovies(InputStream in, ImportFormat format) throws IOException {
+        // Only normalized titles are kept per row, to report duplicates within the file
+        Map<String, Integer> firstRowByTitle = new HashMap<>();
+        List<ImportRowErrorDto> rowErrors = new ArrayList<>();
+        List<MovieBulkRepository.Row> chunk = new ArrayList<>(CHUNK_SIZE);
+        MovieBulkRepository.Load load = movieBulkRepository.open();
+        int received = 0;
+
+        try (MovieRowReader reader = MovieRowReader.open(format, in, objectMapper)) {
+            for (MovieRow row = reader.next(); row != null; row = reader.next()) {
+                received++;
+                String error = row.error() != null ? row.error() : validate(row.movie());
+                if (error == null) {
+                    String normalizedTitle = TitleNormalizer.normalize(row.movie().getTitle());
+                    Integer firstRow = firstRowByTitle.putIfAbsent(normalizedTitle, row.row());
+                    if (firstRow != null) {
+                        error = "Duplicate title in import, first seen in row " + firstRow;
+                    } else {
+                        chunk.add(toBulkRow(row, normalizedTitle));
+                    }
+                }
+                if (error != null && rowErrors.size() < MAX_REPORTED_ERRORS) {
+                    rowErrors.add(ImportRowErrorDto.builder()
+                            .row(row.row())
+                            .title(row.movie() == null ? null : row.movie().getTitle())
+                            .message(error)
+                            .build());
+                }
+                if (chunk.size() == CHUNK_SIZE) {
+                    load.add(chunk);
+                    chunk.clear();
+                }
+            }
+        }
+        load.add(chunk);
+        MovieBulkRepository.MergeResult result = load.finish();
+
+        firstRowByTitle.keySet().forEach(movieTitleFilter::add);
+        if (result.inserted() > 0) {
+            eventPublisher.publishEvent(new MoviesImportedEvent(result.inserted()));
+        }
+
+        // Both lists are in row order and hold the first rejected rows of their kind, so the merged prefix is exact
+        List<ImportRowErrorDto> errors = new ArrayList<>(rowErrors);
+        result.conflicts().stream()
+                .limit(MAX_REPORTED_ERRORS)
+                .map(conflict -> ImportRowErrorDto.builder()
+                        .row(conflict.row())
+                        .title(conflict.title())
+                        .message("Movie with title '" + conflict.title() + "' already exists")
+                        .build())
+                .forEach(errors::add);
+        errors.sort(Comparator.comparingInt(ImportRowErrorDto::getRow));
+
+        int rejected = received - result.inserted();
+        return MovieImportReportDto.builder()
+                .received(received)
+                .imported(result.inserted())
+                .rejected(rejected)
+                .errors(errors.size() > MAX_REPORTED_ERRORS ? errors.subList(0, MAX_REPORTED_ERRORS) : errors)
+                .errorsTruncated(rejected > Math.min(errors.size(), MAX_REPORTED_ERRORS))
+                .build();
+    }
+
+    //  Bean validation messages of the row joined in property order, or null when valid
+    private String validate(MovieDto movie) {
+        Set<ConstraintViolation<MovieDto>> violations = validator.validate(movie);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.joining("; "));
+    }
+
+    private static MovieBulkRepository.Row toBulkRow(MovieRow row, String normalizedTitle) {
+        MovieDto movie = row.movie();
+        return new MovieBulkRepository.Row(
+                row.row(),
+                movie.getTitle(),
+                normalizedTitle,
+                movie.getGenre(),
+                movie.getDurationMinutes(),
+                movie.getRating(),
+                movie.getReleaseYear());
+    }
+}
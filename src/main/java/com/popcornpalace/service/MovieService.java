@@ -1,16 +1,31 @@
 package com.popcornpalace.service;
 
+import com.popcornpalace.cache.MovieCatalog;
+import com.popcornpalace.cache.MovieCatalogSnapshot;
+import com.popcornpalace.cache.MovieTitleFilter;
+import com.popcornpalace.dto.DtoMapper;
 import com.popcornpalace.dto.MovieDto;
+import com.popcornpalace.dto.MovieFacetsDto;
+import com.popcornpalace.dto.MoviePageDto;
 import com.popcornpalace.entity.Movie;
+import com.popcornpalace.event.MovieChangedEvent;
 import com.popcornpalace.exception.ConflictException;
+import com.popcornpalace.exception.NotFoundException;
 import com.popcornpalace.repository.MovieRepository;
-import jakarta.persistence.EntityNotFoundException;
+import com.popcornpalace.repository.MovieStreamRepository;
+import com.popcornpalace.search.MovieFacetIndex;
+import com.popcornpalace.search.MovieSearchIndex;
+import com.popcornpalace.util.TitleNormalizer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 @Component
 @Transactional
@@ -18,11 +33,19 @@ import java.util.List;
 public class MovieService implements IMovieService {
 
     private final MovieRepository movieRepository;
+    private final MovieStreamRepository movieStreamRepository;
+    private final MovieCatalog movieCatalog;
+    private final MovieTitleFilter movieTitleFilter;
+    private final MovieSearchIndex movieSearchIndex;
+    private final MovieFacetIndex movieFacetIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     //  Create a new movie
     public MovieDto createMovie(MovieDto movieDto) {
-        // Check if movie with same title already exists
-        if (movieRepository.existsByTitleIgnoreCase(movieDto.getTitle())) {
+        // Check if movie with same title already exists; the filter rules out most new titles without a query
+        String normalizedTitle = TitleNormalizer.normalize(movieDto.getTitle());
+        if (movieTitleFilter.mightContain(normalizedTitle)
+                && movieRepository.existsByNormalizedTitle(normalizedTitle)) {
             throw new ConflictException(
                     "Movie with title '" + movieDto.getTitle() + "' already exists"); // 409
         }
@@ -36,9 +59,12 @@ public class MovieService implements IMovieService {
                 .build();
         try {
             Movie savedMovie = movieRepository.save(movie);
-            return convertToDto(savedMovie);
+            movieTitleFilter.add(normalizedTitle);
+            MovieDto created = DtoMapper.toDto(savedMovie);
+            eventPublisher.publishEvent(MovieChangedEvent.created(created));
+            return created;
         } catch (DataIntegrityViolationException e) {
-            // In case of a race with UNIQUE(title) in the database
+            // In case of a race with UNIQUE(normalized_title) in the database
             throw new ConflictException(
                     "Movie with title '" + movieDto.getTitle() + "' already exists");
         }
@@ -46,55 +72,95 @@ public class MovieService implements IMovieService {
 
     //  Update movie
     public MovieDto updateMovie(Long id, MovieDto movieDto) {
-        Movie movie = movieRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException(
-                        "Movie not found: " + id)); // 404
-
         // Check if new title conflicts with existing movie (excluding current movie)
-        if (!movie.getTitle().equalsIgnoreCase(movieDto.getTitle()) &&
-                movieRepository.existsByTitleIgnoreCase(movieDto.getTitle())) {
+        String normalizedTitle = TitleNormalizer.normalize(movieDto.getTitle());
+        if (movieTitleFilter.mightContain(normalizedTitle)
+                && movieRepository.existsByNormalizedTitleAndIdNot(normalizedTitle, id)) {
             throw new ConflictException(
                     "Movie with title '" + movieDto.getTitle() + "' already exists"); // 409
         }
 
-        movie.setTitle(movieDto.getTitle());
-        movie.setGenre(movieDto.getGenre());
-        movie.setDurationMinutes(movieDto.getDurationMinutes());
-        movie.setRating(movieDto.getRating());
-        movie.setReleaseYear(movieDto.getReleaseYear());
+        int updated;
+        try {
+            updated = movieRepository.updateById(
+                    id,
+                    movieDto.getTitle(),
+                    normalizedTitle,
+                    movieDto.getGenre(),
+                    movieDto.getDurationMinutes(),
+                    movieDto.getRating(),
+                    movieDto.getReleaseYear());
+        } catch (DataIntegrityViolationException e) {
+            // In case of a race with UNIQUE(normalized_title) in the database
+            throw new ConflictException(
+                    "Movie with title '" + movieDto.getTitle() + "' already exists");
+        }
+        if (updated == 0) {
+            throw new NotFoundException(
+                    "Movie not found: " + id); // 404
+        }
+        movieTitleFilter.add(normalizedTitle);
 
-        Movie updatedMovie = movieRepository.save(movie);
-        return convertToDto(updatedMovie);
+        MovieDto updatedMovie = MovieDto.builder()
+                .id(id)
+                .title(movieDto.getTitle())
+                .genre(movieDto.getGenre())
+                .durationMinutes(movieDto.getDurationMinutes())
+                .rating(movieDto.getRating())
+                .releaseYear(movieDto.getReleaseYear())
+                .build();
+        eventPublisher.publishEvent(MovieChangedEvent.updated(updatedMovie));
+        return updatedMovie;
     }
 
     //  Delete movie
     public void deleteMovie(Long id) {
-        if (!movieRepository.existsById(id)) {
-            throw new EntityNotFoundException(
+        if (movieRepository.deleteMovieById(id) == 0) {
+            throw new NotFoundException(
                     "Movie not found: " + id); // 404
         }
-        movieRepository.deleteById(id);
+        eventPublisher.publishEvent(MovieChangedEvent.deleted(id));
     }
 
-    //  Get all movies
-    @Transactional(readOnly = true)
+    //  Get all movies, served from the in-memory catalog snapshot
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<MovieDto> getAllMovies() {
-        List<Movie> movies = movieRepository.findAll();
-        return movies.stream()
-                .map(this::convertToDto)
-                .toList();
+        return movieCatalog.snapshot().movies();
     }
 
+    //  The whole snapshot, for callers that also need its version or cached JSON
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public MovieCatalogSnapshot getCatalogSnapshot() {
+        return movieCatalog.snapshot();
+    }
 
-    //  Convert Movie entity to MovieDto
-    private MovieDto convertToDto(Movie movie) {
-        return MovieDto.builder()
-                .id(movie.getId())
-                .title(movie.getTitle())
-                .genre(movie.getGenre())
-                .durationMinutes(movie.getDurationMinutes())
-                .rating(movie.getRating())
-                .releaseYear(movie.getReleaseYear())
+    //  Get one keyset page of movies ordered by id
+    @Transactional(readOnly = true)
+    public MoviePageDto getMoviesPage(Long afterId, int size) {
+        List<MovieDto> items = movieRepository.findPageAfter(
+                afterId == null ? 0L : afterId, PageRequest.ofSize(size));
+        Long nextAfter = items.size() < size ? null : items.get(items.size() - 1).getId();
+        return MoviePageDto.builder()
+                .items(items)
+                .nextAfter(nextAfter)
                 .build();
     }
+
+    //  Hand every movie to the consumer as it is read; nothing is buffered
+    @Transactional(readOnly = true)
+    public void streamMovies(Consumer<MovieDto> consumer) {
+        movieStreamRepository.forEachMovie(consumer);
+    }
+
+    //  Title search (prefix and typo tolerant) over the in-memory index
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<MovieDto> searchMovies(String query, String genre, int limit) {
+        return movieSearchIndex.search(query, genre, limit);
+    }
+
+    //  Genre and release-year counts, kept in memory
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public MovieFacetsDto getFacets() {
+        return movieFacetIndex.getFacets();
+    }
 }
@@ -1,16 +1,28 @@
 package com.popcornpalace.service;
 
+import com.popcornpalace.config.PartitioningProperties;
+import com.popcornpalace.dto.DtoMapper;
 import com.popcornpalace.dto.ShowtimeDto;
+import com.popcornpalace.dto.ShowtimePricesDto;
 import com.popcornpalace.entity.Movie;
 import com.popcornpalace.entity.Showtime;
 import com.popcornpalace.entity.Theater;
+import com.popcornpalace.event.ShowtimeChangedEvent;
 import com.popcornpalace.exception.ConflictException;
+import com.popcornpalace.exception.NotFoundException;
+import com.popcornpalace.metrics.DomainMetrics;
+import com.popcornpalace.pricing.Occupancy;
+import com.popcornpalace.pricing.PriceQuote;
+import com.popcornpalace.pricing.PricedShowtime;
+import com.popcornpalace.pricing.PricingEngine;
+import com.popcornpalace.repository.BookingRepository;
 import com.popcornpalace.repository.MovieRepository;
 import com.popcornpalace.repository.ShowtimeRepository;
 import com.popcornpalace.repository.TheaterRepository;
-import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
@@ -25,6 +37,11 @@ public class ShowtimeService implements IShowtimeService {
     private final ShowtimeRepository showtimeRepository;
     private final MovieRepository movieRepository;
     private final TheaterRepository theaterRepository;
+    private final BookingRepository bookingRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PricingEngine pricingEngine;
+    private final DomainMetrics metrics;
+    private final PartitioningProperties partitioning;
 
     private static final Duration GAP = Duration.ofHours(1);
 
@@ -32,11 +49,11 @@ public class ShowtimeService implements IShowtimeService {
     public ShowtimeDto createShowtime(ShowtimeDto showtimeDto) {
 
         Movie movie = movieRepository.findById(showtimeDto.getMovieId())
-                .orElseThrow(() -> new EntityNotFoundException(
+                .orElseThrow(() -> new NotFoundException(
                         "Movie not found: " + showtimeDto.getMovieId()));
 
         Theater theater = theaterRepository.findById(showtimeDto.getTheaterId())
-                .orElseThrow(() -> new EntityNotFoundException(
+                .orElseThrow(() -> new NotFoundException(
                         "Theater not found: " + showtimeDto.getTheaterId()));
 
         if (showtimeDto.getStartTime().isBefore(LocalDateTime.now())) {
@@ -69,6 +86,7 @@ public class ShowtimeService implements IShowtimeService {
                 bufferedStart,
                 bufferedEnd
         )) {
+            metrics.overlapRejected(false);
             throw new ConflictException(
                     "Showtime overlaps with existing showtime in the same theater"); // 409
         }
@@ -82,24 +100,22 @@ public class ShowtimeService implements IShowtimeService {
                 .build();
 
         Showtime savedShowtime = showtimeRepository.save(showtime);
-        return convertToDto(savedShowtime);
+        ShowtimeDto created = DtoMapper.toDto(savedShowtime);
+        eventPublisher.publishEvent(ShowtimeChangedEvent.created(created));
+        return created;
     }
 
     @Override
     public ShowtimeDto updateShowtime(Long id, ShowtimeDto showtimeDto) {
 
-        Showtime showtime = showtimeRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException(
-                        "Showtime not found: " + id)); // 404
-
-        Movie movie = movieRepository.findById(showtimeDto.getMovieId())
-                .orElseThrow(() -> new EntityNotFoundException(
+        Integer durationMinutes = movieRepository.findDurationMinutesById(showtimeDto.getMovieId())
+                .orElseThrow(() -> new NotFoundException(
                         "Movie not found: " + showtimeDto.getMovieId())); // 404
 
-        Theater theater = theaterRepository.findById(showtimeDto.getTheaterId())
-                .orElseThrow(() -> new EntityNotFoundException(
-                "Theater not found: " + showtimeDto.getTheaterId())); //404
-
+        if (!theaterRepository.existsById(showtimeDto.getTheaterId())) {
+            throw new NotFoundException(
+                    "Theater not found: " + showtimeDto.getTheaterId()); //404
+        }
 
         if (showtimeDto.getStartTime().isBefore(LocalDateTime.now())) {
             throw new IllegalArgumentException(
@@ -112,7 +128,6 @@ public class ShowtimeService implements IShowtimeService {
         }
 
         // end = start + movie.durationMinutes
-        Integer durationMinutes = movie.getDurationMinutes();
         if (durationMinutes == null) {
             throw new IllegalArgumentException("Movie duration is not set");
         }
@@ -131,51 +146,94 @@ public class ShowtimeService implements IShowtimeService {
                 bufferedStart,
                 bufferedEnd,
                 id)) {
+            metrics.overlapRejected(true);
             throw new ConflictException(
                     "Showtime overlaps with existing showtime in the same theater");
         }
 
-        showtime.setMovie(movie);
-        showtime.setTheater(theater);
-        showtime.setStartTime(showtimeDto.getStartTime());
-        showtime.setEndTime(expectedEnd);
-        showtime.setPrice(showtimeDto.getPrice());
+        // References are bound by id only, nothing is loaded
+        int updated = showtimeRepository.updateById(
+                id,
+                movieRepository.getReferenceById(showtimeDto.getMovieId()),
+                theaterRepository.getReferenceById(showtimeDto.getTheaterId()),
+                showtimeDto.getStartTime(),
+                expectedEnd,
+                showtimeDto.getPrice());
+        if (updated == 0) {
+            throw new NotFoundException(
+                    "Showtime not found: " + id); // 404
+        }
+
+        // Partitioned, the foreign key's ON UPDATE CASCADE already moved the bookings' copy of the start time
+        if (!partitioning.isEnabled()) {
+            bookingRepository.updateShowtimeStart(id, showtimeDto.getStartTime());
+        }
 
-        Showtime updatedShowtime = showtimeRepository.save(showtime);
-        return convertToDto(updatedShowtime);
+        ShowtimeDto updatedShowtime = ShowtimeDto.builder()
+                .id(id)
+                .movieId(showtimeDto.getMovieId())
+                .theaterId(showtimeDto.getTheaterId())
+                .startTime(showtimeDto.getStartTime())
+                .endTime(expectedEnd)
+                .price(showtimeDto.getPrice())
+                .build();
+        eventPublisher.publishEvent(ShowtimeChangedEvent.updated(updatedShowtime));
+        return updatedShowtime;
     }
 
-    //    Delete showtime
+    //    Delete showtime together with its bookings
     @Override
     public void deleteShowtime(Long id) {
-        if (!showtimeRepository.existsById(id)) {
-            throw new EntityNotFoundException(
+        bookingRepository.deleteByShowtimeId(id);
+        if (showtimeRepository.deleteShowtimeById(id) == 0) {
+            throw new NotFoundException(
                     "Showtime not found: " + id); // 404
         }
-        showtimeRepository.deleteById(id);
+        eventPublisher.publishEvent(ShowtimeChangedEvent.deleted(id));
     }
 
     //    Get showtime by ID
     @Transactional(readOnly = true)
     public ShowtimeDto getShowtimeById(Long id) {
         Showtime showtime = showtimeRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException(
+                .orElseThrow(() -> new NotFoundException(
                         "Showtime not found: " + id)); // 404
-        return convertToDto(showtime);
+        return DtoMapper.toDto(showtime);
     }
 
-    private static boolean sameMinute(LocalDateTime a, LocalDateTime b) {
-        return a.truncatedTo(ChronoUnit.MINUTES).equals(b.truncatedTo(ChronoUnit.MINUTES));
+    //    Current ticket prices of a showtime; occupancy comes from memory
+    @Override
+    @Transactional(readOnly = true)
+    public ShowtimePricesDto getShowtimePrices(Long id) {
+        PricedShowtime showtime = getPricedShowtime(id);
+        return getShowtimePrices(showtime, pricingEngine.occupancy(id, showtime.theaterId()));
     }
 
-    private ShowtimeDto convertToDto(Showtime showtime) {
-        return ShowtimeDto.builder()
-                .id(showtime.getId())
-                .movieId(showtime.getMovie().getId())
-                .theaterId(showtime.getTheater().getId())
-                .startTime(showtime.getStartTime())
-                .endTime(showtime.getEndTime())
-                .price(showtime.getPrice())
+    //    The fields prices are computed from, by one projection query
+    @Override
+    @Transactional(readOnly = true)
+    public PricedShowtime getPricedShowtime(Long id) {
+        return showtimeRepository.findPricedById(id)
+                .orElseThrow(() -> new NotFoundException(
+                        "Showtime not found: " + id)); // 404
+    }
+
+    //    Prices at the given occupancy, without touching the database
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ShowtimePricesDto getShowtimePrices(PricedShowtime showtime, Occupancy occupancy) {
+        PriceQuote quote = pricingEngine.quote(showtime.showtimeId(), showtime.basePrice(), occupancy);
+        return ShowtimePricesDto.builder()
+                .showtimeId(showtime.showtimeId())
+                .basePrice(quote.basePrice())
+                .bookedSeats(quote.bookedSeats())
+                .capacity(quote.capacity())
+                .occupancyMultiplier(quote.occupancyMultiplier())
+                .prices(quote.prices())
                 .build();
     }
+
+    private static boolean sameMinute(LocalDateTime a, LocalDateTime b) {
+        return a.truncatedTo(ChronoUnit.MINUTES).equals(b.truncatedTo(ChronoUnit.MINUTES));
+    }
 }
@@ -0,0 +1,160 @@
+package com.popcornpalace.service;
+
+import com.popcornpalace.dto.DtoMapper;
+import com.popcornpalace.dto.SeatLayoutRequestDto;
+import com.popcornpalace.dto.TheaterDto;
+import com.popcornpalace.entity.Seat;
+import com.popcornpalace.entity.Theater;
+import com.popcornpalace.event.SeatLayoutChangedEvent;
+import com.popcornpalace.exception.ConflictException;
+import com.popcornpalace.exception.NotFoundException;
+import com.popcornpalace.layout.SeatLayouts;
+import com.popcornpalace.repository.BookingRepository;
+import com.popcornpalace.repository.SeatBulkRepository;
+import com.popcornpalace.repository.SeatRepository;
+import com.popcornpalace.repository.ShowtimeRepository;
+import com.popcornpalace.repository.TheaterRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Component
+@Transactional
+@RequiredArgsConstructor
+public class TheaterService implements ITheaterService {
+
+    static final int MAX_SEATS = 1000;
+
+    private final TheaterRepository theaterRepository;
+    private final SeatRepository seatRepository;
+    private final SeatBulkRepository seatBulkRepository;
+    private final ShowtimeRepository showtimeRepository;
+    private final BookingRepository bookingRepository;
+    private final SeatLayouts seatLayouts;
+    private final ApplicationEventPublisher eventPublisher;
+
+    //  Create a new theater without seats; capacity stays 0 until a layout is generated
+    public TheaterDto createTheater(TheaterDto theaterDto) {
+        Theater theater = Theater.builder()
+                .name(theaterDto.getName())
+                .location(theaterDto.getLocation())
+                .capacity(0)
+                .build();
+        return DtoMapper.toDto(theaterRepository.save(theater));
+    }
+
+    //  Update name and location; capacity only changes with the seat layout
+    public TheaterDto updateTheater(Long id, TheaterDto theaterDto) {
+        Theater theater = theaterRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException(
+                        "Theater not found: " + id)); // 404
+
+        theater.setName(theaterDto.getName());
+        theater.setLocation(theaterDto.getLocation());
+        return DtoMapper.toDto(theater);
+    }
+
+    //  Delete theater with its seats; refused while showtimes use it
+    public void deleteTheater(Long id) {
+        if (!theaterRepository.existsById(id)) {
+            throw new NotFoundException(
+                    "Theater not found: " + id); // 404
+        }
+        if (showtimeRepository.existsByTheaterId(id)) {
+            throw new ConflictException(
+                    "Theater has showtimes and cannot be deleted"); // 409
+        }
+        seatLayouts.delete(id);
+        seatRepository.deleteByTheaterId(id);
+        theaterRepository.deleteById(id);
+        eventPublisher.publishEvent(new SeatLayoutChangedEvent(id));
+    }
+
+    @Transactional(readOnly = true)
+    public TheaterDto getTheaterById(Long id) {
+        return theaterRepository.findById(id)
+                .map(DtoMapper::toDto)
+                .orElseThrow(() -> new NotFoundException(
+                        "Theater not found: " + id)); // 404
+    }
+
+    @Transactional(readOnly = true)
+    public List<TheaterDto> getAllTheaters() {
+        return theaterRepository.findAll().stream()
+                .map(DtoMapper::toDto)
+                .toList();
+    }
+
+    //  Replace the theater's seats with a generated grid and set capacity to the seat count
+    public TheaterDto generateLayout(Long id, SeatLayoutRequestDto layout) {
+        List<SeatBulkRepository.NewSeat> seats = expand(layout);
+
+        // Locked until commit, so concurrent layout requests for one theater cannot interleave
+        Theater theater = theaterRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new NotFoundException(
+                        "Theater not found: " + id)); // 404
+        if (bookingRepository.existsBySeatTheaterId(id)) {
+            throw new ConflictException(
+                    "Theater has bookings; its seat layout cannot be replaced"); // 409
+        }
+
+        seatRepository.deleteByTheaterId(id);
+        seatBulkRepository.insertSeats(id, seats);
+        seatLayouts.store(id);
+        theater.setCapacity(seats.size());
+        eventPublisher.publishEvent(new SeatLayoutChangedEvent(id));
+        return DtoMapper.toDto(theater);
+    }
+
+    //  Row-major list of seats; later type ranges override earlier ones
+    static List<SeatBulkRepository.NewSeat> expand(SeatLayoutRequestDto layout) {
+        int rows = layout.getRows();
+        int seatsPerRow = layout.getSeatsPerRow();
+        if (rows * seatsPerRow > MAX_SEATS) {
+            throw new IllegalArgumentException(
+                    "Layout has " + rows * seatsPerRow + " seats, at most " + MAX_SEATS + " are allowed");
+        }
+
+        Seat.SeatType[] types = new Seat.SeatType[rows * seatsPerRow];
+        Arrays.fill(types, Seat.SeatType.REGULAR);
+        for (SeatLayoutRequestDto.TypeRange range : layout.getTypeRanges()) {
+            int fromSeat = range.getFromSeat() == null ? 1 : range.getFromSeat();
+            int toSeat = range.getToSeat() == null ? seatsPerRow : range.getToSeat();
+            if (range.getFromRow() > range.getToRow() || range.getToRow() > rows
+                    || fromSeat > toSeat || toSeat > seatsPerRow) {
+                throw new IllegalArgumentException(
+                        "Type range rows " + range.getFromRow() + "-" + range.getToRow()
+                                + ", seats " + fromSeat + "-" + toSeat + " is outside the "
+                                + rows + "x" + seatsPerRow + " grid");
+            }
+            for (int r = range.getFromRow(); r <= range.getToRow(); r++) {
+                for (int s = fromSeat; s <= toSeat; s++) {
+                    types[(r - 1) * seatsPerRow + (s - 1)] = range.getSeatType();
+                }
+            }
+        }
+
+        List<SeatBulkRepository.NewSeat> seats = new ArrayList<>(types.length);
+        for (int r = 1; r <= rows; r++) {
+            String label = rowLabel(r);
+            for (int s = 1; s <= seatsPerRow; s++) {
+                seats.add(new SeatBulkRepository.NewSeat(label, Integer.toString(s), types[(r - 1) * seatsPerRow + (s - 1)]));
+            }
+        }
+        return seats;
+    }
+
+    //  1 -> A, 26 -> Z, 27 -> AA, 28 -> AB ...
+    static String rowLabel(int row) {
+        StringBuilder label = new StringBuilder();
+        for (int n = row; n > 0; n = (n - 1) / 26) {
+            label.append((char) ('A' + (n - 1) % 26));
+        }
+        return label.reverse().toString();
+    }
+}
@@ -0,0 +1,68 @@
+package com.popcornpalace.sql;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SQL executed on behalf of the current HTTP request: statements, rows read or written, database time
+ * and how often each distinct SELECT ran. Bound to the request thread by {@link SqlBudgetFilter}.
+ */
+public final class RequestSqlStats {
+
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long rows;
+    private long timeMillis;
+    private final Map<String, Integer> selects = new LinkedHashMap<>();
+
+    static RequestSqlStats begin() {
+        RequestSqlStats stats = new RequestSqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    //  Stats of the request running on this thread, null outside a request
+    public static RequestSqlStats current() {
+        return CURRENT.get();
+    }
+
+    void statement(String sql, long elapsedMillis) {
+        statements++;
+        timeMillis += elapsedMillis;
+        if (sql.regionMatches(true, 0, "select", 0, 6)) {
+            selects.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void rows(long count) {
+        rows += count;
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public long timeMillis() {
+        return timeMillis;
+    }
+
+    //  SELECTs that ran at least threshold times, with their counts
+    public Map<String, Integer> repeatedSelects(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        selects.forEach((sql, count) -> {
+            if (count >= threshold) {
+                repeated.put(sql, count);
+            }
+        });
+        return repeated;
+    }
+}
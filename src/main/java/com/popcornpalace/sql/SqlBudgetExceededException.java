@@ -0,0 +1,8 @@
+package com.popcornpalace.sql;
+
+//  A request ran more statements than its budget, or a probable N+1; thrown only with fail-on-violation
+public class SqlBudgetExceededException extends RuntimeException {
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,112 @@
+package com.popcornpalace.sql;
+
+import com.popcornpalace.config.SqlBudgetProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accounts the SQL of each HTTP request and checks it against the endpoint's statement budget.
+ * <p>
+ * Endpoints are identified by method and path pattern ("GET /api/showtimes/{id}"), which keeps the
+ * metric tags bounded. Over-budget requests and SELECTs repeated within a request (probable N+1) are
+ * logged, counted, and with {@code fail-on-violation} turned into a {@link SqlBudgetExceededException}.
+ */
+@Slf4j
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private static final String UNMATCHED = "UNMATCHED";
+
+    private final SqlBudgetProperties properties;
+    private final MeterRegistry registry;
+    private final Map<String, EndpointMeters> meters = new ConcurrentHashMap<>();
+
+    public SqlBudgetFilter(SqlBudgetProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestSqlStats stats = RequestSqlStats.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestSqlStats.end();
+        }
+        check(endpoint(request), stats);
+    }
+
+    void check(String endpoint, RequestSqlStats stats) {
+        EndpointMeters endpointMeters = meters.get(endpoint);
+        if (endpointMeters == null) {
+            endpointMeters = meters.computeIfAbsent(endpoint, this::register);
+        }
+        endpointMeters.statements.record(stats.statements());
+        endpointMeters.time.record(stats.timeMillis(), TimeUnit.MILLISECONDS);
+
+        StringBuilder violations = new StringBuilder();
+        int budget = properties.getEndpoints().getOrDefault(endpoint, properties.getDefaultMaxStatements());
+        if (stats.statements() > budget) {
+            endpointMeters.overBudget.increment();
+            violations.append(endpoint).append(" ran ").append(stats.statements())
+                    .append(" SQL statements, budget is ").append(budget).append('.');
+        }
+        Map<String, Integer> repeated = stats.repeatedSelects(properties.getRepeatedSelectThreshold());
+        if (!repeated.isEmpty()) {
+            endpointMeters.nPlusOne.increment();
+            repeated.forEach((sql, count) -> violations.append(violations.isEmpty() ? "" : " ")
+                    .append("Probable N+1 in ").append(endpoint).append(": ").append(count)
+                    .append("x ").append(sql));
+        }
+        if (violations.isEmpty()) {
+            return;
+        }
+        if (properties.isFailOnViolation()) {
+            throw new SqlBudgetExceededException(violations.toString());
+        }
+        log.warn(violations.toString());
+    }
+
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern == null ? UNMATCHED : pattern);
+    }
+
+    private EndpointMeters register(String endpoint) {
+        return new EndpointMeters(
+                DistributionSummary.builder("popcorn.request.sql.statements")
+                        .description("SQL statements per HTTP request")
+                        .tag("endpoint", endpoint)
+                        .register(registry),
+                Timer.builder("popcorn.request.sql.time")
+                        .description("Database time per HTTP request")
+                        .tag("endpoint", endpoint)
+                        .register(registry),
+                Counter.builder("popcorn.request.sql.over.budget")
+                        .description("Requests that ran more statements than their budget")
+                        .tag("endpoint", endpoint)
+                        .register(registry),
+                Counter.builder("popcorn.request.sql.repeated.selects")
+                        .description("Requests that repeated a SELECT (probable N+1)")
+                        .tag("endpoint", endpoint)
+                        .register(registry));
+    }
+
+    private record EndpointMeters(DistributionSummary statements, Timer time, Counter overBudget, Counter nPlusOne) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.popcornpalace.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+//  Feeds every statement and every ResultSet row into the stats of the current request, if any
+public class SqlCountingListener implements QueryExecutionListener, MethodExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestSqlStats stats = RequestSqlStats.current();
+        if (stats == null) {
+            return;
+        }
+        //  One round trip; a batch counts once, under its first statement
+        stats.statement(queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery(), execInfo.getElapsedTime());
+        Object result = execInfo.getResult();
+        if (result instanceof Integer updated && updated > 0) {
+            stats.rows(updated);
+        } else if (result instanceof int[] batch) {
+            for (int updated : batch) {
+                if (updated > 0) {
+                    stats.rows(updated);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && Boolean.TRUE.equals(executionContext.getResult())
+                && executionContext.getMethod().getName().equals("next")) {
+            RequestSqlStats stats = RequestSqlStats.current();
+            if (stats != null) {
+                stats.rows(1);
+            }
+        }
+    }
+}
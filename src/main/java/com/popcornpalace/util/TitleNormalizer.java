@@ -0,0 +1,42 @@
+package com.popcornpalace.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Canonical forms of movie titles.
+ * <p>
+ * {@link #normalize} is the uniqueness key: lower case with whitespace trimmed and collapsed, so
+ * "  THE  Matrix" and "the matrix" collide, while "Les Misérables" and "Les Miserables" or "Heat" and
+ * "Heat!" stay distinct. {@link #tokens} folds further for search: accents are stripped and
+ * punctuation separates words, so "Amélie!" is found by "amelie".
+ */
+public final class TitleNormalizer {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final String[] NO_TOKENS = new String[0];
+
+    private TitleNormalizer() {
+    }
+
+    public static String normalize(String title) {
+        if (title == null) {
+            return "";
+        }
+        String composed = Normalizer.normalize(title, Normalizer.Form.NFC);
+        return WHITESPACE.matcher(composed.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    public static String[] tokens(String title) {
+        if (title == null) {
+            return NO_TOKENS;
+        }
+        String decomposed = Normalizer.normalize(title, Normalizer.Form.NFD);
+        String folded = MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+        String words = SEPARATORS.matcher(folded).replaceAll(" ").trim();
+        return words.isEmpty() ? NO_TOKENS : words.split(" ");
+    }
+}
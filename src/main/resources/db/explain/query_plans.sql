@@ -0,0 +1,76 @@
+-- Plans of the application's hot queries, for comparing schema changes before and after:
+--   psql -h localhost -U postgres -d popcorn_palace -f query_plans.sql > plans-<commit>.txt
+-- Run against a database with realistic data (e.g. after ./gradlew loadTest --args="db=postgres ...").
+-- Everything runs in a transaction that is rolled back, so the deletes below change nothing.
+
+BEGIN;
+
+\set theater_id '(SELECT min(id) FROM theaters)'
+\set showtime_id '(SELECT max(id) FROM showtimes)'
+\set movie_id '(SELECT min(id) FROM movies)'
+
+\echo '== Overlap check when scheduling (ShowtimeRepository.existsOverlappingShowtime)'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT EXISTS (SELECT 1
+               FROM showtimes s
+               WHERE s.theater_id = :theater_id
+                 AND s.start_time < now() + INTERVAL '30 days 2 hours'
+                 AND s.end_time > now() + INTERVAL '30 days');
+
+\echo '== Overlap check when rescheduling (ShowtimeRepository.existsOverlappingShowtimeExcluding)'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT EXISTS (SELECT 1
+               FROM showtimes s
+               WHERE s.theater_id = :theater_id
+                 AND s.id <> :showtime_id
+                 AND s.start_time < now() + INTERVAL '30 days 2 hours'
+                 AND s.end_time > now() + INTERVAL '30 days');
+
+\echo '== Upcoming showtimes for facets (ShowtimeRepository.findUpcomingFacetKeys)'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT s.id, s.movie_id, s.start_time
+FROM showtimes s
+WHERE s.start_time > now();
+
+\echo '== Booked seats of a showtime (BookingRepository.findSeatIdsByShowtimeId)'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT b.seat_id
+FROM bookings b
+WHERE b.showtime_id = :showtime_id;
+
+\echo '== Seat layout build (SeatRepository.findLayoutEntriesByTheaterId)'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT s.id, s.row, s.seat_number, s.seat_type
+FROM seats s
+WHERE s.theater_id = :theater_id;
+
+\echo '== Booked seats of a theater (BookingRepository.existsBySeatTheaterId)'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT EXISTS (SELECT 1
+               FROM bookings b
+                        JOIN seats s ON s.id = b.seat_id
+               WHERE s.theater_id = :theater_id);
+
+\echo '== Movie keyset page (MovieRepository.findPageAfter)'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT m.id, m.title, m.genre, m.duration_minutes, m.rating, m.release_year, m.version
+FROM movies m
+WHERE m.id > 0
+ORDER BY m.id
+LIMIT 50;
+
+\echo '== Layout replacement (SeatRepository.deleteByTheaterId, includes the bookings foreign key check)'
+EXPLAIN (ANALYZE, BUFFERS)
+DELETE
+FROM seats s
+WHERE s.theater_id = :theater_id
+  AND NOT EXISTS (SELECT 1 FROM bookings b WHERE b.seat_id = s.id);
+
+\echo '== Movie delete (MovieRepository.deleteMovieById, includes the showtimes foreign key check)'
+EXPLAIN (ANALYZE, BUFFERS)
+DELETE
+FROM movies m
+WHERE m.id = :movie_id
+  AND NOT EXISTS (SELECT 1 FROM showtimes s WHERE s.movie_id = m.id);
+
+ROLLBACK;
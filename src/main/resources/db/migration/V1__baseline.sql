@@ -0,0 +1,57 @@
+-- Schema as Hibernate generated it with ddl-auto=update, before the schema was managed by migrations.
+-- Databases created that way are adopted at this version (spring.flyway.baseline-on-migrate) and
+-- continue with V2; empty databases are built from here. Everything added since comes in V2 and
+-- later, with defaults or backfills for the rows those databases already hold.
+
+CREATE TABLE movies
+(
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title            VARCHAR(255)   NOT NULL,
+    genre            VARCHAR(100)   NOT NULL,
+    duration_minutes INTEGER        NOT NULL,
+    rating           NUMERIC(38, 2) NOT NULL,
+    release_year     INTEGER        NOT NULL,
+    CONSTRAINT uk_movies_title UNIQUE (title)
+);
+
+CREATE TABLE theaters
+(
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name     VARCHAR(255) NOT NULL,
+    location VARCHAR(500) NOT NULL,
+    capacity INTEGER      NOT NULL
+);
+
+CREATE TABLE seats
+(
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    theater_id  BIGINT       NOT NULL REFERENCES theaters (id),
+    seat_number VARCHAR(10)  NOT NULL,
+    row         VARCHAR(5)   NOT NULL,
+    seat_type   VARCHAR(255) NOT NULL CHECK (seat_type IN ('REGULAR', 'PREMIUM', 'VIP'))
+);
+
+CREATE TABLE showtimes
+(
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    movie_id   BIGINT         NOT NULL REFERENCES movies (id),
+    theater_id BIGINT         NOT NULL REFERENCES theaters (id),
+    start_time TIMESTAMP(6)   NOT NULL,
+    end_time   TIMESTAMP(6)   NOT NULL,
+    price      NUMERIC(10, 2) NOT NULL
+);
+
+CREATE INDEX idx_showtimes_theater_start ON showtimes (theater_id, start_time);
+CREATE INDEX idx_showtimes_theater_end ON showtimes (theater_id, end_time);
+
+CREATE TABLE bookings
+(
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    showtime_id    BIGINT                      NOT NULL REFERENCES showtimes (id),
+    seat_id        BIGINT                      NOT NULL REFERENCES seats (id),
+    customer_name  VARCHAR(255)                NOT NULL,
+    customer_email VARCHAR(255)                NOT NULL,
+    total_price    NUMERIC(10, 2)              NOT NULL,
+    booking_date   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_bookings_showtime_seat UNIQUE (showtime_id, seat_id)
+);
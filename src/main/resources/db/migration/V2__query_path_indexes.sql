@@ -0,0 +1,29 @@
+-- Indexes for the queries the application actually runs (see db/explain/query_plans.sql).
+-- Built CONCURRENTLY, so a populated database keeps taking bookings and schedule edits while they
+-- build. That cannot run inside a transaction: V2__query_path_indexes.sql.conf turns Flyway's off,
+-- and every statement commits on its own. IF [NOT] EXISTS makes a retry after a failure safe; an
+-- interrupted build leaves an INVALID index behind, which has to be dropped before retrying.
+-- The partitioning script runs on a database past V2 and creates these indexes on the new parents.
+
+-- Overlap checks (theater_id = ? AND start_time < :end AND end_time > :start [AND id <> ?]).
+-- Leading with end_time bounds the scan to showtimes that have not ended before the new slot,
+-- which for scheduling is the handful of upcoming ones rather than the theater's whole history;
+-- start_time and id ride along so the check is answered from the index alone.
+-- Also serves existsByTheaterId. Replaces both theater indexes of V1.
+DROP INDEX CONCURRENTLY IF EXISTS idx_showtimes_theater_start;
+DROP INDEX CONCURRENTLY IF EXISTS idx_showtimes_theater_end;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_showtimes_theater_end ON showtimes (theater_id, end_time) INCLUDE (start_time, id);
+
+-- Upcoming showtimes for the facet counters (start_time > ?), index-only
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_showtimes_start ON showtimes (start_time) INCLUDE (id, movie_id);
+
+-- Foreign key side of movies: deleting a movie checks for its showtimes
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_showtimes_movie ON showtimes (movie_id);
+
+-- Seat map of a theater (layout builds, seat counts, layout replacement), index-only
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_seats_theater ON seats (theater_id) INCLUDE (id, row, seat_number, seat_type);
+
+-- Foreign key side of seats: deleting a layout checks every seat for bookings, and
+-- "is any seat of this theater booked" joins seats to bookings on seat_id.
+-- Bookings by showtime (seat lists, deletes) already lead the unique constraint.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_seat ON bookings (seat_id);
@@ -0,0 +1,4 @@
+-- Capacity is derived from the seat layout; align theaters whose capacity was entered by hand.
+UPDATE theaters t
+SET capacity = (SELECT count(*) FROM seats s WHERE s.theater_id = t.id)
+WHERE capacity <> (SELECT count(*) FROM seats s WHERE s.theater_id = t.id);
@@ -0,0 +1,14 @@
+-- bookings.showtime_start: the start time of the booked showtime, copied into the booking as the
+-- partition key of bookings and for the cancellation cut-off. Added nullable, backfilled from
+-- showtimes, then made NOT NULL; a NOT NULL column without a value cannot be added to a filled table.
+-- IF NOT EXISTS: databases generated by ddl-auto while the column was being introduced already have it.
+
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS showtime_start TIMESTAMP(6);
+
+UPDATE bookings b
+SET showtime_start = s.start_time
+FROM showtimes s
+WHERE s.id = b.showtime_id
+  AND b.showtime_start IS NULL;
+
+ALTER TABLE bookings ALTER COLUMN showtime_start SET NOT NULL;
@@ -0,0 +1,6 @@
+-- movies.version and showtimes.version: optimistic-lock versions, the source of the HTTP ETags.
+-- Existing rows start at 0, as new ones do. A constant default fills a filled table without rewriting it.
+-- IF NOT EXISTS: databases generated by ddl-auto while the columns were being introduced already have them.
+
+ALTER TABLE movies ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE showtimes ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,19 @@
+-- movies.normalized_title: the title's uniqueness key, kept by TitleNormalizer.normalize on every
+-- create and update. Added nullable, backfilled with the same rule (NFC, outer whitespace stripped,
+-- runs of whitespace folded to one space, lower case), then made NOT NULL and uniquely indexed.
+-- normalize() needs PostgreSQL 13+ on a UTF8 database.
+-- IF NOT EXISTS: databases generated by ddl-auto while the column was being introduced already have it.
+--
+-- Titles that differ only in case or spacing make the unique index fail, and with it this migration.
+-- List them with this query, rename or merge them, and start the application again:
+--   SELECT normalized_title, array_agg(id ORDER BY id) FROM movies
+--   GROUP BY normalized_title HAVING count(*) > 1;
+
+ALTER TABLE movies ADD COLUMN IF NOT EXISTS normalized_title VARCHAR(255);
+
+UPDATE movies
+SET normalized_title = lower(regexp_replace(regexp_replace(normalize(title, NFC), '^\s+|\s+$', '', 'g'), '\s+', ' ', 'g'))
+WHERE normalized_title IS NULL;
+
+ALTER TABLE movies ALTER COLUMN normalized_title SET NOT NULL;
+CREATE UNIQUE INDEX IF NOT EXISTS uk_movies_normalized_title ON movies (normalized_title);
@@ -0,0 +1,11 @@
+-- Compact seat layout of each theater (SeatLayout.encode), rewritten with a new version whenever the
+-- layout is generated. Theaters without a row get one built from their seats on first use.
+-- IF NOT EXISTS: databases generated by ddl-auto while the table was being introduced already have it.
+
+CREATE TABLE IF NOT EXISTS theater_layouts
+(
+    theater_id BIGINT  NOT NULL PRIMARY KEY,
+    version    BIGINT  NOT NULL,
+    seat_count INTEGER NOT NULL,
+    data       BYTEA   NOT NULL
+);
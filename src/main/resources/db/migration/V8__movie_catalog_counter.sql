@@ -0,0 +1,13 @@
+-- Single-row change counter, bumped by every transaction that writes movies. Each instance polls it
+-- (a primary key lookup) to notice writes made through other instances, instead of scanning movies.
+-- IF NOT EXISTS / ON CONFLICT: databases generated by ddl-auto may already have the (empty) table.
+
+CREATE TABLE IF NOT EXISTS movie_catalog_counter
+(
+    id      INTEGER NOT NULL PRIMARY KEY,
+    changes BIGINT  NOT NULL
+);
+
+INSERT INTO movie_catalog_counter (id, changes)
+VALUES (1, 0)
+ON CONFLICT (id) DO NOTHING;
@@ -0,0 +1,103 @@
+-- Converts showtimes and bookings into monthly range partitions keyed by showtime start (PostgreSQL 15+:
+-- rescheduling a showtime into another month moves its row to another partition while bookings
+-- reference it, and ON UPDATE CASCADE then moves the bookings; foreign keys survive such cross-partition
+-- updates only from PostgreSQL 15 on).
+-- Run once during a maintenance window on a database migrated to at least V7, then start the app with
+-- popcorn.partitioning.enabled=true.
+--
+-- Partitioned tables need the partition key in every primary key and unique constraint, so:
+--   showtimes  PRIMARY KEY (id, start_time)
+--   bookings   PRIMARY KEY (id, showtime_start), UNIQUE (showtime_id, seat_id, showtime_start)
+-- A seat is still unique per showtime, because showtime_start is functionally dependent on showtime_id.
+
+BEGIN;
+
+ALTER TABLE bookings RENAME TO bookings_legacy;
+ALTER TABLE showtimes RENAME TO showtimes_legacy;
+
+CREATE SEQUENCE showtimes_id_seq;
+CREATE SEQUENCE bookings_id_seq;
+
+CREATE TABLE showtimes
+(
+    id         BIGINT         NOT NULL DEFAULT nextval('showtimes_id_seq'),
+    movie_id   BIGINT         NOT NULL REFERENCES movies (id),
+    theater_id BIGINT         NOT NULL REFERENCES theaters (id),
+    start_time TIMESTAMP(6)   NOT NULL,
+    end_time   TIMESTAMP(6)   NOT NULL,
+    price      NUMERIC(10, 2) NOT NULL,
+    version    BIGINT         NOT NULL DEFAULT 0,
+    PRIMARY KEY (id, start_time)
+) PARTITION BY RANGE (start_time);
+
+-- Same index set as db/migration/V2__query_path_indexes.sql
+CREATE INDEX idx_showtimes_theater_end ON showtimes (theater_id, end_time) INCLUDE (start_time, id);
+CREATE INDEX idx_showtimes_start ON showtimes (start_time) INCLUDE (id, movie_id);
+CREATE INDEX idx_showtimes_movie ON showtimes (movie_id);
+
+CREATE TABLE bookings
+(
+    id             BIGINT                      NOT NULL DEFAULT nextval('bookings_id_seq'),
+    showtime_id    BIGINT                      NOT NULL,
+    showtime_start TIMESTAMP(6)                NOT NULL,
+    seat_id        BIGINT                      NOT NULL REFERENCES seats (id),
+    customer_name  VARCHAR(255)                NOT NULL,
+    customer_email VARCHAR(255)                NOT NULL,
+    total_price    NUMERIC(10, 2)              NOT NULL,
+    booking_date   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id, showtime_start),
+    UNIQUE (showtime_id, seat_id, showtime_start),
+    FOREIGN KEY (showtime_id, showtime_start) REFERENCES showtimes (id, start_time) ON UPDATE CASCADE
+) PARTITION BY RANGE (showtime_start);
+
+CREATE INDEX idx_bookings_seat ON bookings (seat_id);
+
+ALTER SEQUENCE showtimes_id_seq OWNED BY showtimes.id;
+ALTER SEQUENCE bookings_id_seq OWNED BY bookings.id;
+
+-- Catch-all partitions for showtimes scheduled beyond the pre-created window
+CREATE TABLE showtimes_default PARTITION OF showtimes DEFAULT;
+CREATE TABLE bookings_default PARTITION OF bookings DEFAULT;
+
+-- One partition per month from the oldest legacy showtime to three months ahead
+DO
+$$
+    DECLARE
+        month_start DATE := date_trunc('month', coalesce((SELECT min(start_time) FROM showtimes_legacy), now()));
+        last_month  DATE := date_trunc('month', now() + INTERVAL '3 months');
+        suffix      TEXT;
+    BEGIN
+        WHILE month_start <= last_month
+            LOOP
+                suffix := to_char(month_start, 'YYYY_MM');
+                EXECUTE format('CREATE TABLE showtimes_p%s PARTITION OF showtimes FOR VALUES FROM (%L) TO (%L)',
+                               suffix, month_start, month_start + INTERVAL '1 month');
+                EXECUTE format('CREATE TABLE bookings_p%s PARTITION OF bookings FOR VALUES FROM (%L) TO (%L)',
+                               suffix, month_start, month_start + INTERVAL '1 month');
+                month_start := month_start + INTERVAL '1 month';
+            END LOOP;
+    END
+$$;
+
+INSERT INTO showtimes (id, movie_id, theater_id, start_time, end_time, price, version)
+SELECT id, movie_id, theater_id, start_time, end_time, price, version
+FROM showtimes_legacy;
+
+INSERT INTO bookings (id, showtime_id, showtime_start, seat_id, customer_name, customer_email, total_price, booking_date)
+SELECT b.id, b.showtime_id, s.start_time, b.seat_id, b.customer_name, b.customer_email, b.total_price, b.booking_date
+FROM bookings_legacy b
+         JOIN showtimes_legacy s ON s.id = b.showtime_id;
+
+SELECT setval('showtimes_id_seq', coalesce((SELECT max(id) FROM showtimes_legacy), 0) + 1, false);
+SELECT setval('bookings_id_seq', coalesce((SELECT max(id) FROM bookings_legacy), 0) + 1, false);
+
+DROP TABLE bookings_legacy;
+DROP TABLE showtimes_legacy;
+
+-- Cold storage for detached months: plain heap tables packed full, written in index order
+CREATE TABLE showtimes_archive (LIKE showtimes) WITH (fillfactor = 100);
+CREATE TABLE bookings_archive (LIKE bookings) WITH (fillfactor = 100);
+CREATE INDEX idx_showtimes_archive_id ON showtimes_archive (id);
+CREATE INDEX idx_bookings_archive_showtime ON bookings_archive (showtime_id);
+
+COMMIT;
@@ -0,0 +1,76 @@
+package com.popcornpalace;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//  A database as ddl-auto=update left it before migrations, with rows in it, started on the production configuration
+@Testcontainers(disabledWithoutDocker = true)
+class MigrationUpgradeTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Test
+    void preMigrationDatabase_IsAdoptedMigratedAndBackfilled() {
+        // Given - the V1 schema without a Flyway history, and rows the later migrations have to fill in
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__baseline.sql")).execute(dataSource);
+        JdbcTemplate seed = new JdbcTemplate(dataSource);
+        seed.update("""
+                insert into movies (title, genre, duration_minutes, rating, release_year)
+                values ('  The   MATRIX ', 'Sci-Fi', 136, 8.7, 1999)""");
+        seed.update("insert into theaters (name, location, capacity) values ('Hall 1', 'Downtown', 100)");
+        seed.update("""
+                insert into seats (theater_id, seat_number, row, seat_type)
+                values (1, '1', 'A', 'REGULAR'), (1, '2', 'A', 'VIP')""");
+        seed.update("""
+                insert into showtimes (movie_id, theater_id, start_time, end_time, price)
+                values (1, 1, '2099-01-01 18:00', '2099-01-01 20:16', 12.00)""");
+        seed.update("""
+                insert into bookings (showtime_id, seat_id, customer_name, customer_email, total_price, booking_date)
+                values (1, 1, 'Jane Doe', 'jane@example.com', 12.00, now())""");
+
+        // When - Flyway adopts it at V1 and migrates, then Hibernate validates the result
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(PopcornPalaceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword())
+                .run()) {
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+
+            // Then
+            List<String> history = jdbc.queryForList(
+                    "select type from flyway_schema_history where success order by installed_rank", String.class);
+            assertThat(history).first().isEqualTo("BASELINE");
+            assertThat(jdbc.queryForObject(
+                    "select count(*) from flyway_schema_history where not success", Integer.class)).isZero();
+
+            assertThat(jdbc.queryForMap("select normalized_title, version from movies where id = 1"))
+                    .containsEntry("normalized_title", "the matrix")
+                    .containsEntry("version", 0L);
+            assertThat(jdbc.queryForObject("select version from showtimes where id = 1", Long.class)).isZero();
+            assertThat(jdbc.queryForObject("select showtime_start from bookings where id = 1", LocalDateTime.class))
+                    .isEqualTo(LocalDateTime.of(2099, 1, 1, 18, 0));
+            assertThat(jdbc.queryForObject("select capacity from theaters where id = 1", Integer.class)).isEqualTo(2);
+            assertThat(jdbc.queryForObject("select count(*) from theater_layouts", Integer.class)).isZero();
+            assertThat(jdbc.queryForObject("select changes from movie_catalog_counter where id = 1", Long.class)).isZero();
+        }
+    }
+}
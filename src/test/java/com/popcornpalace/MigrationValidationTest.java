@@ -0,0 +1,50 @@
+package com.popcornpalace;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//  The production configuration on an empty PostgreSQL: Flyway builds the schema, Hibernate validates it
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class MigrationValidationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void migrations_ApplyAndPassSchemaValidation() {
+        // Then - the context started, so ddl-auto: validate accepted the migrated schema
+        List<Boolean> applied = jdbc.queryForList("select success from flyway_schema_history", Boolean.class);
+        assertThat(applied).isNotEmpty().allMatch(Boolean.TRUE::equals);
+    }
+
+    @Test
+    void concurrentIndexes_AreValid() {
+        // When
+        List<String> invalid = jdbc.queryForList("""
+                select c.relname from pg_index i join pg_class c on c.oid = i.indexrelid
+                where not i.indisvalid""", String.class);
+        List<String> indexes = jdbc.queryForList(
+                "select indexname from pg_indexes where schemaname = 'public'", String.class);
+
+        // Then
+        assertThat(invalid).isEmpty();
+        assertThat(indexes).contains("idx_showtimes_theater_end", "idx_showtimes_start", "idx_showtimes_movie",
+                "idx_seats_theater", "idx_bookings_seat");
+        assertThat(indexes).doesNotContain("idx_showtimes_theater_start");
+    }
+}
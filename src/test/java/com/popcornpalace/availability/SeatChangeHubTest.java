@@ -0,0 +1,127 @@
+package com.popcornpalace.availability;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popcornpalace.config.SeatStreamProperties;
+import com.popcornpalace.event.BookingCancelledEvent;
+import com.popcornpalace.event.BookingCreatedEvent;
+import com.popcornpalace.repository.BookingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SeatChangeHubTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private SimpleMeterRegistry registry;
+    private SeatChangeHub hub;
+
+    @BeforeEach
+    void setUp() {
+        SeatStreamProperties properties = new SeatStreamProperties();
+        // Flushed by the tests themselves
+        properties.setBatchInterval(Duration.ofHours(1));
+        properties.setSubscriberBuffer(1);
+        properties.setMaxResyncs(1);
+        registry = new SimpleMeterRegistry();
+        hub = new SeatChangeHub(bookingRepository, new ObjectMapper(), properties, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.close();
+    }
+
+    @Test
+    void subscribe_SendsSnapshotThenOneEventPerBatch() throws InterruptedException {
+        // Given
+        when(bookingRepository.findSeatIdsByShowtimeId(1L)).thenReturn(List.of(5L));
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        hub.subscribe(1L, emitter);
+        String snapshot = emitter.next();
+
+        // When
+        hub.onBookingCreated(new BookingCreatedEvent(1L, 7L));
+        hub.onBookingCreated(new BookingCreatedEvent(1L, 8L));
+        hub.onBookingCancelled(new BookingCancelledEvent(1L, 5L));
+        hub.onBookingCreated(new BookingCreatedEvent(2L, 9L));
+        hub.flush();
+
+        // Then
+        assertThat(snapshot).contains("event:snapshot").contains("\"taken\":[5]");
+        assertThat(emitter.next()).contains("event:seats")
+                .contains("\"taken\":[7,8]")
+                .contains("\"released\":[5]");
+        assertThat(emitter.events).isEmpty();
+        assertThat(hub.subscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void flush_SlowSubscriber_IsResyncedThenDropped() {
+        // Given
+        CountDownLatch stuck = new CountDownLatch(1);
+        hub.subscribe(1L, new RecordingEmitter(stuck));
+
+        // When
+        for (long seatId = 1; seatId <= 4; seatId++) {
+            hub.onBookingCreated(new BookingCreatedEvent(1L, seatId));
+            hub.flush();
+        }
+        stuck.countDown();
+
+        // Then
+        assertThat(registry.counter("popcorn.seats.stream.resyncs").count()).isEqualTo(1);
+        assertThat(registry.counter("popcorn.seats.stream.dropped").count()).isEqualTo(1);
+        assertThat(hub.subscriberCount()).isZero();
+    }
+
+    //  Captures sent events; with a latch, every send blocks like a client that stopped reading
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        private final CountDownLatch release;
+
+        private RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            StringBuilder event = new StringBuilder();
+            builder.build().forEach(part -> event.append(part.getData()));
+            events.add(event.toString());
+        }
+
+        private String next() throws InterruptedException {
+            String event = events.poll(5, TimeUnit.SECONDS);
+            assertThat(event).as("event sent within 5s").isNotNull();
+            return event;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.popcornpalace.availability;
+
+import com.popcornpalace.cache.ResponseBodies;
+import com.popcornpalace.cache.SerializedBody;
+import com.popcornpalace.config.SeatMapProperties;
+import com.popcornpalace.dto.SeatAvailabilityDto;
+import com.popcornpalace.dto.SeatMapDto;
+import com.popcornpalace.entity.Seat;
+import com.popcornpalace.event.BookingCancelledEvent;
+import com.popcornpalace.event.BookingCreatedEvent;
+import com.popcornpalace.event.ShowtimeChangedEvent;
+import com.popcornpalace.layout.SeatLayout;
+import com.popcornpalace.layout.SeatLayouts;
+import com.popcornpalace.repository.BookingRepository;
+import com.popcornpalace.repository.ShowtimeRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SeatMapsTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2099, 6, 1, 20, 0);
+
+    @Mock
+    private ShowtimeRepository showtimeRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private SeatLayouts seatLayouts;
+
+    @Mock
+    private ResponseBodies responseBodies;
+
+    private SeatMaps seatMaps;
+
+    @BeforeEach
+    void setUp() {
+        SeatMapProperties properties = new SeatMapProperties();
+        properties.setHistory(3);
+        properties.setMaxMaps(1);
+        seatMaps = new SeatMaps(showtimeRepository, bookingRepository, seatLayouts, properties, responseBodies);
+    }
+
+    private void givenShowtime() {
+        when(showtimeRepository.findScheduledTheaterById(1L)).thenReturn(Optional.of(new ScheduledTheater(7L, START)));
+        when(seatLayouts.layoutOf(7L)).thenReturn(SeatLayout.of(7L, 0L, List.of(
+                new SeatLayout.Entry(10L, "A", "1", Seat.SeatType.REGULAR),
+                new SeatLayout.Entry(11L, "A", "2", Seat.SeatType.REGULAR),
+                new SeatLayout.Entry(12L, "A", "3", Seat.SeatType.VIP))));
+        when(bookingRepository.findSeatIdsByShowtimeId(1L)).thenReturn(List.of(10L));
+    }
+
+    @Test
+    void since_WithoutVersion_ReturnsSnapshot() {
+        // Given
+        givenShowtime();
+
+        // When
+        SeatMapDto map = seatMaps.since(1L, null);
+
+        // Then
+        assertThat(map.isSnapshot()).isTrue();
+        assertThat(map.getSeats()).extracting(SeatAvailabilityDto::getSeatId, SeatAvailabilityDto::isBooked)
+                .containsExactly(tuple(10L, true), tuple(11L, false), tuple(12L, false));
+    }
+
+    @Test
+    void since_KnownVersion_ReturnsChangesFromMemory() {
+        // Given
+        givenShowtime();
+        String version = seatMaps.since(1L, null).getVersion();
+        seatMaps.onBookingCreated(new BookingCreatedEvent(1L, 11L));
+        seatMaps.onBookingCancelled(new BookingCancelledEvent(1L, 10L));
+        seatMaps.onBookingCreated(new BookingCreatedEvent(1L, 12L));
+
+        // When
+        SeatMapDto delta = seatMaps.since(1L, version);
+        SeatMapDto upToDate = seatMaps.since(1L, delta.getVersion());
+
+        // Then
+        assertThat(delta.isSnapshot()).isFalse();
+        assertThat(delta.getVersion()).isNotEqualTo(version);
+        assertThat(delta.getTaken()).containsExactly(11L, 12L);
+        assertThat(delta.getReleased()).containsExactly(10L);
+        assertThat(upToDate.isSnapshot()).isFalse();
+        assertThat(upToDate.getTaken()).isEmpty();
+        verify(bookingRepository, times(1)).findSeatIdsByShowtimeId(1L);
+    }
+
+    @Test
+    void since_VersionOlderThanHistory_ReturnsSnapshot() {
+        // Given
+        givenShowtime();
+        String version = seatMaps.since(1L, null).getVersion();
+        seatMaps.onBookingCreated(new BookingCreatedEvent(1L, 11L));
+        seatMaps.onBookingCreated(new BookingCreatedEvent(1L, 12L));
+        seatMaps.onBookingCancelled(new BookingCancelledEvent(1L, 11L));
+        seatMaps.onBookingCancelled(new BookingCancelledEvent(1L, 12L));
+
+        // When
+        SeatMapDto map = seatMaps.since(1L, version);
+
+        // Then
+        assertThat(map.isSnapshot()).isTrue();
+    }
+
+    @Test
+    void since_CursorOfEarlierLoad_ReturnsSnapshot() {
+        // Given - a client polled, then the map was dropped and reloaded, as after a restart
+        givenShowtime();
+        String version = seatMaps.since(1L, null).getVersion();
+        seatMaps.sweep(START);
+
+        // When
+        SeatMapDto map = seatMaps.since(1L, version);
+
+        // Then
+        assertThat(map.isSnapshot()).isTrue();
+        assertThat(map.getVersion()).isNotEqualTo(version);
+        assertThat(seatMaps.since(1L, "garbage").isSnapshot()).isTrue();
+    }
+
+    @Test
+    void sweep_DropsStartedShowtimes() {
+        // Given
+        givenShowtime();
+        seatMaps.since(1L, null);
+
+        // When
+        seatMaps.sweep(START.minusMinutes(1));
+        seatMaps.since(1L, null);
+        seatMaps.sweep(START);
+        seatMaps.since(1L, null);
+
+        // Then - kept before the start, reloaded after it
+        verify(bookingRepository, times(2)).findSeatIdsByShowtimeId(1L);
+    }
+
+    @Test
+    void sweep_BeyondMaxMaps_DropsLeastRecentlyPolled() {
+        // Given
+        givenShowtime();
+        when(showtimeRepository.findScheduledTheaterById(2L)).thenReturn(Optional.of(new ScheduledTheater(7L, START)));
+        seatMaps.since(2L, null);
+        seatMaps.since(1L, null);
+
+        // When
+        seatMaps.sweep(START.minusDays(1));
+        seatMaps.since(1L, null);
+        seatMaps.since(2L, null);
+
+        // Then
+        verify(bookingRepository, times(1)).findSeatIdsByShowtimeId(1L);
+        verify(bookingRepository, times(2)).findSeatIdsByShowtimeId(2L);
+    }
+
+    @Test
+    void sinceAsBody_SnapshotSerializedOncePerVersion() {
+        // Given
+        givenShowtime();
+        when(responseBodies.serialize(any(SeatMapDto.class)))
+                .thenAnswer(invocation -> new SerializedBody(new byte[0]));
+
+        // When
+        SerializedBody first = seatMaps.sinceAsBody(1L, null);
+        SerializedBody second = seatMaps.sinceAsBody(1L, null);
+        seatMaps.onBookingCreated(new BookingCreatedEvent(1L, 11L));
+        SerializedBody afterBooking = seatMaps.sinceAsBody(1L, null);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(afterBooking).isNotSameAs(first);
+        verify(responseBodies, times(2)).serialize(any(SeatMapDto.class));
+    }
+
+    @Test
+    void since_ShowtimeDeleted_ThrowsNotFound() {
+        // Given
+        givenShowtime();
+        seatMaps.since(1L, null);
+        seatMaps.onShowtimeChanged(ShowtimeChangedEvent.deleted(1L));
+        when(showtimeRepository.findScheduledTheaterById(1L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> seatMaps.since(1L, null))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessageContaining("Showtime not found");
+    }
+}
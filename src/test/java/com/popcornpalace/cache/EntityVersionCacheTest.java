@@ -0,0 +1,48 @@
+package com.popcornpalace.cache;
+
+import com.popcornpalace.repository.ShowtimeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EntityVersionCacheTest {
+
+    @Mock
+    private ShowtimeRepository showtimeRepository;
+
+    private EntityVersionCache versionCache;
+
+    @BeforeEach
+    void setUp() {
+        versionCache = new EntityVersionCache(showtimeRepository);
+    }
+
+    @Test
+    void revalidate_DropsVersionsChangedOrDeletedElsewhere() {
+        // Given
+        long stamp = versionCache.showtimeStamp();
+        versionCache.rememberShowtime(1L, 3L, null, stamp);
+        versionCache.rememberShowtime(2L, 5L, null, stamp);
+        versionCache.rememberShowtime(3L, 7L, null, stamp);
+        when(showtimeRepository.findVersionsByIdIn(anyCollection())).thenReturn(List.of(
+                new Object[]{1L, 3L},
+                new Object[]{2L, 6L}));
+
+        // When
+        versionCache.revalidate();
+
+        // Then
+        assertThat(versionCache.showtimeEtag(1L)).isEqualTo(versionCache.showtimeEtag(1L, 3L));
+        assertThat(versionCache.showtimeEtag(2L)).isNull();
+        assertThat(versionCache.showtimeEtag(3L)).isNull();
+    }
+}
@@ -0,0 +1,154 @@
+package com.popcornpalace.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popcornpalace.dto.MovieDto;
+import com.popcornpalace.entity.MovieCatalogCounter;
+import com.popcornpalace.event.MovieCatalogReloadedEvent;
+import com.popcornpalace.event.MovieChangedEvent;
+import com.popcornpalace.event.MoviesImportedEvent;
+import com.popcornpalace.repository.MovieCatalogCounterRepository;
+import com.popcornpalace.repository.MovieRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MovieCatalogTest {
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    @Mock
+    private MovieCatalogCounterRepository counterRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private MovieCatalog movieCatalog;
+
+    @BeforeEach
+    void setUp() {
+        movieCatalog = new MovieCatalog(movieRepository, counterRepository, new ObjectMapper(), eventPublisher);
+        when(movieRepository.findAllAsDto()).thenReturn(List.of(movie(1L, "Alien"), movie(3L, "Heat")));
+    }
+
+    @Test
+    void snapshot_LoadsOnceAndIsReused() {
+        MovieCatalogSnapshot first = movieCatalog.snapshot();
+        MovieCatalogSnapshot second = movieCatalog.snapshot();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.size()).isEqualTo(2);
+        assertThat(first.findById(3L).getTitle()).isEqualTo("Heat");
+        assertThat(first.findById(2L)).isNull();
+        verify(movieRepository, times(1)).findAllAsDto();
+    }
+
+    @Test
+    void onMovieChanged_InsertsInIdOrderWithoutTouchingOldSnapshot() {
+        MovieCatalogSnapshot before = movieCatalog.snapshot();
+        when(movieRepository.findDtoById(2L)).thenReturn(Optional.of(movie(2L, "Big")));
+
+        movieCatalog.onMovieChanged(MovieChangedEvent.created(movie(2L, "Big")));
+
+        MovieCatalogSnapshot after = movieCatalog.snapshot();
+        assertThat(after.version()).isEqualTo(before.version() + 1);
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+        assertThat(after.movies()).extracting(MovieDto::getId).containsExactly(1L, 2L, 3L);
+        assertThat(before.movies()).extracting(MovieDto::getId).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void onMovieChanged_RemovesMovieThatNoLongerExists() {
+        movieCatalog.snapshot();
+        when(movieRepository.findDtoById(1L)).thenReturn(Optional.empty());
+
+        movieCatalog.onMovieChanged(MovieChangedEvent.deleted(1L));
+
+        assertThat(movieCatalog.snapshot().movies()).extracting(MovieDto::getId).containsExactly(3L);
+    }
+
+    @Test
+    void onMovieChanged_BeforeFirstLoad_DoesNothing() {
+        movieCatalog.onMovieChanged(MovieChangedEvent.deleted(1L));
+
+        verify(movieRepository, never()).findDtoById(any());
+    }
+
+    @Test
+    void revalidate_UnchangedTable_KeepsSnapshot() {
+        MovieCatalogSnapshot before = movieCatalog.snapshot();
+
+        movieCatalog.revalidate();
+
+        assertThat(movieCatalog.snapshot()).isSameAs(before);
+        verify(movieRepository, times(1)).findAllAsDto();
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void revalidate_TableChangedByAnotherInstance_Reloads() {
+        MovieCatalogSnapshot before = movieCatalog.snapshot();
+        when(counterRepository.findChanges()).thenReturn(Optional.of(1L));
+        when(movieRepository.findAllAsDto()).thenReturn(List.of(movie(1L, "Alien"), movie(2L, "Big"), movie(3L, "Heat")));
+
+        movieCatalog.revalidate();
+
+        MovieCatalogSnapshot after = movieCatalog.snapshot();
+        assertThat(after.version()).isEqualTo(before.version() + 1);
+        assertThat(after.movies()).extracting(MovieDto::getId).containsExactly(1L, 2L, 3L);
+        verify(eventPublisher).publishEvent(new MovieCatalogReloadedEvent(after.version()));
+    }
+
+    @Test
+    void countChange_BumpsCounterInWritingTransaction() {
+        when(counterRepository.increment()).thenReturn(1);
+
+        movieCatalog.countMovieChange(MovieChangedEvent.deleted(1L));
+        movieCatalog.countMoviesImported(new MoviesImportedEvent(10));
+
+        verify(counterRepository, times(2)).increment();
+        verify(counterRepository, never()).save(any());
+    }
+
+    @Test
+    void countChange_SchemaWithoutSeededRow_InsertsIt() {
+        when(counterRepository.increment()).thenReturn(0);
+
+        movieCatalog.countMovieChange(MovieChangedEvent.deleted(1L));
+
+        verify(counterRepository).save(new MovieCatalogCounter(MovieCatalogCounter.ID, 1L));
+    }
+
+    @Test
+    void json_IsSerializedOncePerSnapshot() {
+        MovieCatalogSnapshot snapshot = movieCatalog.snapshot();
+
+        byte[] json = snapshot.json();
+
+        assertThat(snapshot.json()).isSameAs(json);
+        assertThat(new String(json)).contains("\"title\":\"Alien\"");
+    }
+
+    private static MovieDto movie(Long id, String title) {
+        return MovieDto.builder()
+                .id(id)
+                .title(title)
+                .genre("Drama")
+                .durationMinutes(100)
+                .rating(new BigDecimal("7.0"))
+                .releaseYear(2000)
+                .version(0L)
+                .build();
+    }
+}
@@ -0,0 +1,127 @@
+package com.popcornpalace.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popcornpalace.config.HttpCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseBodiesTest {
+
+    private ResponseBodies responseBodies;
+
+    @BeforeEach
+    void setUp() {
+        HttpCacheProperties properties = new HttpCacheProperties();
+        properties.setGzipMinBytes(64);
+        responseBodies = new ResponseBodies(new ObjectMapper(), properties);
+    }
+
+    @Test
+    void write_LargeBodyAndGzipAccepted_SendsCompressedCopy() throws IOException {
+        // Given
+        SerializedBody body = responseBodies.serialize(Map.of("title", "x".repeat(200)));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8");
+
+        // When
+        ResponseEntity<byte[]> response = responseBodies.write(ResponseEntity.ok(), body, new ServletWebRequest(request));
+
+        // Then
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeaders().getVary()).contains(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getBody()).isSameAs(body.gzip());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getBody()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).contains("xxxx");
+        }
+    }
+
+    @Test
+    void write_SmallBody_SendsJsonUncompressed() {
+        // Given
+        SerializedBody body = responseBodies.serialize(Map.of("id", 1));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        // When
+        ResponseEntity<byte[]> response = responseBodies.write(ResponseEntity.ok(), body, new ServletWebRequest(request));
+
+        // Then
+        assertThat(response.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(response.getBody()).isSameAs(body.json());
+    }
+
+    @Test
+    void write_GzipAndIdentityBodies_CarryDifferentEtags() {
+        // Given
+        SerializedBody body = responseBodies.serialize(Map.of("title", "x".repeat(200)));
+        MockHttpServletRequest gzipRequest = new MockHttpServletRequest();
+        gzipRequest.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        // When
+        ResponseEntity<byte[]> gzipped = responseBodies.write(ResponseEntity.ok().eTag("\"st-1-2\""), body,
+                new ServletWebRequest(gzipRequest));
+        ResponseEntity<byte[]> identity = responseBodies.write(ResponseEntity.ok().eTag("\"st-1-2\""), body,
+                new ServletWebRequest(new MockHttpServletRequest()));
+
+        // Then
+        assertThat(gzipped.getHeaders().getETag()).isEqualTo("\"st-1-2-gz\"");
+        assertThat(gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzipped.getHeaders().getVary()).contains(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(identity.getHeaders().getETag()).isEqualTo("\"st-1-2\"");
+    }
+
+    @Test
+    void checkNotModified_MatchesEitherVariant() {
+        // Given
+        MockHttpServletRequest gzipRequest = new MockHttpServletRequest("GET", "/api/showtimes/1");
+        gzipRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "\"st-1-2-gz\"");
+        MockHttpServletResponse gzipResponse = new MockHttpServletResponse();
+        MockHttpServletRequest identityRequest = new MockHttpServletRequest("GET", "/api/showtimes/1");
+        identityRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"st-1-2\"");
+
+        // When & Then
+        assertThat(ResponseBodies.checkNotModified(new ServletWebRequest(gzipRequest, gzipResponse), "\"st-1-2\"")).isTrue();
+        assertThat(gzipResponse.getHeader(HttpHeaders.ETAG)).isEqualTo("\"st-1-2-gz\"");
+        assertThat(ResponseBodies.checkNotModified(new ServletWebRequest(identityRequest, new MockHttpServletResponse()),
+                "\"st-1-2\"")).isTrue();
+    }
+
+    @Test
+    void checkNotModified_OtherVersion_LeavesResponseUntouched() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/showtimes/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"st-1-1-gz\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean notModified = ResponseBodies.checkNotModified(new ServletWebRequest(request, response), "\"st-1-2\"");
+
+        // Then - the ETag is left to the body that write() sends
+        assertThat(notModified).isFalse();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void acceptsGzip_HonoursQualityZero() {
+        // When & Then
+        assertThat(ResponseBodies.acceptsGzip("gzip, deflate")).isTrue();
+        assertThat(ResponseBodies.acceptsGzip("*")).isTrue();
+        assertThat(ResponseBodies.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(ResponseBodies.acceptsGzip("identity")).isFalse();
+        assertThat(ResponseBodies.acceptsGzip(null)).isFalse();
+    }
+}
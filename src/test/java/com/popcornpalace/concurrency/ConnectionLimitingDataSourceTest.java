@@ -0,0 +1,65 @@
+package com.popcornpalace.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConnectionLimitingDataSourceTest {
+
+    private SimpleMeterRegistry registry;
+    private ConnectionLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        dataSource = new ConnectionLimitingDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:connection-limit;DB_CLOSE_DELAY=-1", "sa", ""),
+                1, Duration.ofMillis(10));
+        dataSource.bindTo(registry);
+    }
+
+    @Test
+    void getConnection_ReleasesPermitOnClose() throws Exception {
+        // When
+        try (Connection first = dataSource.getConnection()) {
+            assertThat(registry.get("popcorn.connections.in.use").gauge().value()).isEqualTo(1.0);
+        }
+        try (Connection second = dataSource.getConnection()) {
+            assertThat(second.isValid(1)).isTrue();
+        }
+
+        // Then
+        assertThat(registry.get("popcorn.connections.in.use").gauge().value()).isZero();
+    }
+
+    @Test
+    void getConnection_RejectsWhenNoPermitFreesUp() throws Exception {
+        // Given: the only permit is held
+        try (Connection held = dataSource.getConnection()) {
+
+            // When & Then
+            assertThatThrownBy(dataSource::getConnection).isInstanceOf(ConnectionLimitExceededException.class);
+        }
+        assertThat(registry.get("popcorn.connections.rejected").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void close_Twice_ReleasesOnce() throws Exception {
+        // Given
+        Connection connection = dataSource.getConnection();
+
+        // When
+        connection.close();
+        connection.close();
+
+        // Then
+        assertThat(registry.get("popcorn.connections.in.use").gauge().value()).isZero();
+    }
+}
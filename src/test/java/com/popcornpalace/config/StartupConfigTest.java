@@ -0,0 +1,29 @@
+package com.popcornpalace.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popcornpalace.job.PartitionMaintenanceJob;
+import com.popcornpalace.service.MovieService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StartupConfigTest {
+
+    @Test
+    void isEager_ApplicationAndRequestPathBeans() {
+        // When & Then
+        assertThat(StartupConfig.isEager(MovieService.class)).isTrue();
+        assertThat(StartupConfig.isEager(PartitionMaintenanceJob.class)).isTrue();
+        assertThat(StartupConfig.isEager(RequestMappingHandlerMapping.class)).isTrue();
+        assertThat(StartupConfig.isEager(ObjectMapper.class)).isTrue();
+    }
+
+    @Test
+    void isEager_OtherBeansStayLazy() {
+        // When & Then
+        assertThat(StartupConfig.isEager(HealthEndpoint.class)).isFalse();
+        assertThat(StartupConfig.isEager(null)).isFalse();
+    }
+}
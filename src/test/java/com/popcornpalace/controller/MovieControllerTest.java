@@ -1,14 +1,25 @@
 package com.popcornpalace.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popcornpalace.cache.CacheControlPolicies;
+import com.popcornpalace.cache.ResponseBodies;
+import com.popcornpalace.cache.MovieCatalogSnapshot;
+import com.popcornpalace.cache.SerializedBody;
 import com.popcornpalace.dto.MovieDto;
+import com.popcornpalace.dto.MovieImportReportDto;
+import com.popcornpalace.dto.MoviePageDto;
+import com.popcornpalace.importer.ImportFormat;
 import com.popcornpalace.service.IMovieService;
+import com.popcornpalace.service.MovieImportService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
@@ -29,6 +40,15 @@ class MovieControllerTest {
     @MockBean
     private IMovieService movieService;
 
+    @MockBean
+    private MovieImportService movieImportService;
+
+    @MockBean
+    private CacheControlPolicies cachePolicies;
+
+    @MockBean
+    private ResponseBodies responseBodies;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -44,6 +64,10 @@ class MovieControllerTest {
                 .rating(BigDecimal.valueOf(8.5))
                 .releaseYear(2024)
                 .build();
+
+        when(cachePolicies.forEndpoint(any())).thenReturn(CacheControl.noCache());
+        when(responseBodies.write(any(), any(), any())).thenAnswer(invocation ->
+                invocation.<ResponseEntity.BodyBuilder>getArgument(0).body(invocation.<SerializedBody>getArgument(1).json()));
     }
 
     @Test
@@ -87,11 +111,11 @@ class MovieControllerTest {
     @Test
     void getAllMovies_Success() throws Exception {
         // Given
-        List<MovieDto> movies = List.of(
+        MovieDto[] movies = {
                 MovieDto.builder().id(1L).title("Movie 1").genre("Action").durationMinutes(120).rating(BigDecimal.valueOf(8.0)).releaseYear(2024).build(),
                 MovieDto.builder().id(2L).title("Movie 2").genre("Comedy").durationMinutes(90).rating(BigDecimal.valueOf(7.5)).releaseYear(2023).build()
-        );
-        when(movieService.getAllMovies()).thenReturn(movies);
+        };
+        when(movieService.getCatalogSnapshot()).thenReturn(snapshot(movies));
 
         // When & Then
         mockMvc.perform(get("/api/movies"))
@@ -102,9 +126,96 @@ class MovieControllerTest {
                 .andExpect(jsonPath("$[1].id").value(2))
                 .andExpect(jsonPath("$[1].title").value("Movie 2"));
 
-        verify(movieService).getAllMovies();
+        verify(movieService).getCatalogSnapshot();
+    }
+
+    @Test
+    void getMoviesPage_Success() throws Exception {
+        // Given
+        when(movieService.getMoviesPage(5L, 1)).thenReturn(MoviePageDto.builder()
+                .items(List.of(testMovieDto))
+                .nextAfter(1L)
+                .build());
+
+        // When & Then
+        mockMvc.perform(get("/api/movies/page").param("after", "5").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Test Movie"))
+                .andExpect(jsonPath("$.nextAfter").value(1));
+    }
+
+    @Test
+    void importMovies_Csv() throws Exception {
+        // Given
+        when(movieImportService.importMovies(any(), eq(ImportFormat.CSV))).thenReturn(MovieImportReportDto.builder()
+                .received(1)
+                .imported(1)
+                .errors(List.of())
+                .build());
+
+        // When & Then
+        mockMvc.perform(post("/api/movies/import")
+                        .contentType("text/csv")
+                        .content("title,genre,durationMinutes,rating,releaseYear\nHeat,Crime,170,8.3,1995\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1));
+    }
+
+    @Test
+    void importMovies_UnsupportedContentType() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/movies/import")
+                        .contentType(MediaType.APPLICATION_XML)
+                        .content("<movies/>"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verifyNoInteractions(movieImportService);
+    }
+
+    @Test
+    void searchMovies_Success() throws Exception {
+        // Given
+        when(movieService.searchMovies("test mov", "Action", 5)).thenReturn(List.of(testMovieDto));
+
+        // When & Then
+        mockMvc.perform(get("/api/movies/search")
+                        .param("q", "test mov")
+                        .param("genre", "Action")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Test Movie"));
     }
 
+    @Test
+    void searchMovies_BlankQuery() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/movies/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+
+        verify(movieService, never()).searchMovies(any(), any(), anyInt());
+    }
+
+    @Test
+    void getAllMovies_NotModified() throws Exception {
+        // Given
+        when(movieService.getCatalogSnapshot()).thenReturn(snapshot(testMovieDto));
+
+        // When & Then
+        mockMvc.perform(get("/api/movies").header(HttpHeaders.IF_NONE_MATCH, "\"movies-3\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getAllMovies_SetsEtag() throws Exception {
+        // Given
+        when(movieService.getCatalogSnapshot()).thenReturn(snapshot(testMovieDto));
+
+        // When & Then
+        mockMvc.perform(get("/api/movies"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"movies-3\""))
+                .andExpect(header().exists(HttpHeaders.CACHE_CONTROL));
+    }
 
     @Test
     void updateMovie_Success() throws Exception {
@@ -168,4 +279,9 @@ class MovieControllerTest {
 
         verify(movieService).deleteMovie(1L);
     }
+
+    private MovieCatalogSnapshot snapshot(MovieDto... movies) {
+        return new MovieCatalogSnapshot(3, 1_700_000_000_000L, "\"movies-3\"", movies,
+                objectMapper.writerFor(MovieDto[].class));
+    }
 }
@@ -1,14 +1,26 @@
 package com.popcornpalace.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popcornpalace.availability.SeatChangeHub;
+import com.popcornpalace.availability.SeatMaps;
+import com.popcornpalace.cache.CacheControlPolicies;
+import com.popcornpalace.cache.ResponseBodies;
+import com.popcornpalace.cache.EntityVersionCache;
+import com.popcornpalace.cache.SerializedBody;
 import com.popcornpalace.dto.ShowtimeDto;
+import com.popcornpalace.pricing.Occupancy;
+import com.popcornpalace.pricing.PricedShowtime;
+import com.popcornpalace.pricing.PricingEngine;
 import com.popcornpalace.service.IShowtimeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
@@ -29,6 +41,24 @@ class ShowtimeControllerTest {
     @MockBean
     private IShowtimeService showtimeService;
 
+    @MockBean
+    private EntityVersionCache versionCache;
+
+    @MockBean
+    private CacheControlPolicies cachePolicies;
+
+    @MockBean
+    private ResponseBodies responseBodies;
+
+    @MockBean
+    private SeatChangeHub seatChangeHub;
+
+    @MockBean
+    private SeatMaps seatMaps;
+
+    @MockBean
+    private PricingEngine pricingEngine;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -44,6 +74,12 @@ class ShowtimeControllerTest {
                 .endTime(LocalDateTime.of(2024, 12, 25, 20, 0))
                 .price(new BigDecimal("15.00"))
                 .build();
+
+        when(cachePolicies.forEndpoint(any())).thenReturn(CacheControl.noCache());
+        when(responseBodies.serialize(any())).thenAnswer(invocation ->
+                new SerializedBody(objectMapper.writeValueAsBytes(invocation.getArgument(0))));
+        when(responseBodies.write(any(), any(), any())).thenAnswer(invocation ->
+                invocation.<ResponseEntity.BodyBuilder>getArgument(0).body(invocation.<SerializedBody>getArgument(1).json()));
     }
 
     @Test
@@ -97,6 +133,47 @@ class ShowtimeControllerTest {
         verify(showtimeService).getShowtimeById(1L);
     }
 
+    @Test
+    void getShowtimeById_CachedVersion_NotModified() throws Exception {
+        // Given
+        when(versionCache.showtimeEtag(1L)).thenReturn("\"st-1-2\"");
+
+        // When & Then
+        mockMvc.perform(get("/api/showtimes/1").header(HttpHeaders.IF_NONE_MATCH, "\"st-1-2\""))
+                .andExpect(status().isNotModified());
+
+        verify(showtimeService, never()).getShowtimeById(any());
+    }
+
+    @Test
+    void getShowtimeById_CachedGzipVersion_NotModified() throws Exception {
+        // Given
+        when(versionCache.showtimeEtag(1L)).thenReturn("\"st-1-2\"");
+
+        // When & Then
+        mockMvc.perform(get("/api/showtimes/1").header(HttpHeaders.IF_NONE_MATCH, "\"st-1-2-gz\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"st-1-2-gz\""));
+
+        verify(showtimeService, never()).getShowtimeById(any());
+    }
+
+    @Test
+    void getShowtimePrices_SameInputs_NotModifiedWithoutQuote() throws Exception {
+        // Given
+        PricedShowtime showtime = new PricedShowtime(1L, 1L, new BigDecimal("15.00"), 2L);
+        Occupancy occupancy = new Occupancy(60, 100);
+        when(showtimeService.getPricedShowtime(1L)).thenReturn(showtime);
+        when(pricingEngine.occupancy(1L, 1L)).thenReturn(occupancy);
+        when(pricingEngine.tag(showtime, occupancy)).thenReturn("c-1-2-60-100");
+
+        // When & Then
+        mockMvc.perform(get("/api/showtimes/1/prices").header(HttpHeaders.IF_NONE_MATCH, "\"pr-c-1-2-60-100\""))
+                .andExpect(status().isNotModified());
+
+        verify(showtimeService, never()).getShowtimePrices(any(PricedShowtime.class), any());
+    }
+
     @Test
     void getShowtimeById_NotFound() throws Exception {
         // Given
@@ -0,0 +1,86 @@
+package com.popcornpalace.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popcornpalace.dto.SeatLayoutRequestDto;
+import com.popcornpalace.dto.TheaterDto;
+import com.popcornpalace.service.TheaterService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(TheaterController.class)
+class TheaterControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TheaterService theaterService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private TheaterDto testTheaterDto;
+
+    @BeforeEach
+    void setUp() {
+        testTheaterDto = TheaterDto.builder()
+                .id(1L)
+                .name("Hall 1")
+                .location("Ground floor")
+                .capacity(100)
+                .build();
+    }
+
+    @Test
+    void createTheater_Success() throws Exception {
+        // Given
+        when(theaterService.createTheater(any(TheaterDto.class))).thenReturn(testTheaterDto);
+
+        // When & Then
+        mockMvc.perform(post("/api/theaters")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testTheaterDto)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "http://localhost/api/theaters/1"))
+                .andExpect(jsonPath("$.name").value("Hall 1"));
+    }
+
+    @Test
+    void generateLayout_Success() throws Exception {
+        // Given
+        testTheaterDto.setCapacity(200);
+        when(theaterService.generateLayout(eq(1L), any(SeatLayoutRequestDto.class))).thenReturn(testTheaterDto);
+
+        // When & Then
+        mockMvc.perform(post("/api/theaters/1/layout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"rows": 10, "seatsPerRow": 20,
+                                 "typeRanges": [{"seatType": "VIP", "fromRow": 10, "toRow": 10}]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.capacity").value(200));
+    }
+
+    @Test
+    void generateLayout_ValidationError() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/theaters/1/layout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rows\": 0, \"seatsPerRow\": 20}"))
+                .andExpect(status().isBadRequest());
+
+        verify(theaterService, never()).generateLayout(any(), any());
+    }
+}
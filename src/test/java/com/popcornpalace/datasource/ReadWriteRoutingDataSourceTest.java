@@ -0,0 +1,117 @@
+package com.popcornpalace.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//  Two in-memory H2 databases that each know their own name stand in for primary and replica
+class ReadWriteRoutingDataSourceTest {
+
+    private JdbcTemplate jdbc;
+    private TransactionTemplate writes;
+    private TransactionTemplate reads;
+    private ReplicaMonitor monitor;
+
+    @AfterEach
+    void tearDown() {
+        PrimaryReads.clear();
+    }
+
+    @Test
+    void readOnlyTransaction_GoesToReplica() {
+        // Given
+        setUp(null);
+
+        // When & Then
+        assertThat(reads.execute(status -> whoami())).isEqualTo("replica");
+        assertThat(writes.execute(status -> whoami())).isEqualTo("primary");
+        assertThat(whoami()).isEqualTo("primary");
+    }
+
+    @Test
+    void readYourWrites_ReadsFromPrimary() {
+        // Given
+        setUp(null);
+        PrimaryReads.require();
+
+        // When & Then
+        assertThat(reads.execute(status -> whoami())).isEqualTo("primary");
+    }
+
+    @Test
+    void cacheLoad_ReadsFromPrimaryEvenWhenReplicaIsAvailable() {
+        // Given - the replica counts as available but has not caught up, as any replica may
+        setUp(null);
+
+        // When
+        String seededFrom = PrimaryReads.during(() -> reads.execute(status -> whoami()));
+
+        // Then
+        assertThat(seededFrom).isEqualTo("primary");
+        assertThat(PrimaryReads.required()).isFalse();
+        assertThat(reads.execute(status -> whoami())).isEqualTo("replica");
+    }
+
+    @Test
+    void cacheLoad_InsideReadYourWritesRequest_KeepsPrimaryAfterwards() {
+        // Given
+        setUp(null);
+        PrimaryReads.require();
+
+        // When
+        PrimaryReads.during(() -> reads.execute(status -> whoami()));
+
+        // Then
+        assertThat(PrimaryReads.required()).isTrue();
+        assertThat(reads.execute(status -> whoami())).isEqualTo("primary");
+    }
+
+    @Test
+    void laggingReplica_FallsBackToPrimary() {
+        // Given
+        setUp("select 10");
+
+        // When & Then
+        assertThat(monitor.replicas().get(0).available()).isFalse();
+        assertThat(monitor.replicas().get(0).lagSeconds()).isEqualTo(10.0);
+        assertThat(reads.execute(status -> whoami())).isEqualTo("primary");
+    }
+
+    private void setUp(String lagQuery) {
+        DataSource primary = database("primary");
+        Replica replica = new Replica("replica", database("replica"), lagQuery);
+        monitor = new ReplicaMonitor(List.of(replica), Duration.ofSeconds(2));
+        monitor.checkAll();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, List.of(replica)));
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writes = new TransactionTemplate(transactionManager);
+        reads = new TransactionTemplate(transactionManager);
+        reads.setReadOnly(true);
+    }
+
+    private String whoami() {
+        return jdbc.queryForObject("select name from whoami", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table if not exists whoami (name varchar(20))");
+        jdbc.update("delete from whoami");
+        jdbc.update("insert into whoami values (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,98 @@
+package com.popcornpalace.exception;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popcornpalace.concurrency.ConnectionLimitExceededException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void onDomainConflict_RendersProblemFromTemplate() throws IOException {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/movies");
+        ConflictException conflict = new ConflictException("Movie with title \"Heat\" already exists");
+
+        // When
+        ResponseEntity<byte[]> response = handler.onDomainConflict(conflict, request);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_PROBLEM_JSON);
+        JsonNode body = objectMapper.readTree(response.getBody());
+        assertThat(body.get("type").asText()).isEqualTo("https://errors.popcornpalace.dev/conflict");
+        assertThat(body.get("title").asText()).isEqualTo("Conflict");
+        assertThat(body.get("status").asInt()).isEqualTo(409);
+        assertThat(body.get("detail").asText()).isEqualTo("Movie with title \"Heat\" already exists");
+        assertThat(body.get("instance").asText()).isEqualTo("/api/movies");
+        assertThat(body.get("code").asText()).isEqualTo("CONFLICT");
+        assertThat(OffsetDateTime.parse(body.get("timestamp").asText())).isNotNull();
+    }
+
+    @Test
+    void onNotFound_RendersProblemFromTemplate() throws IOException {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/showtimes/42");
+
+        // When
+        ResponseEntity<byte[]> response = handler.onNotFound(new NotFoundException("Showtime not found: 42"), request);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        JsonNode body = objectMapper.readTree(response.getBody());
+        assertThat(body.get("detail").asText()).isEqualTo("Showtime not found: 42");
+        assertThat(body.get("code").asText()).isEqualTo("NOT_FOUND");
+    }
+
+    @Test
+    void onConnectionUnavailable_ConnectionLimit_Returns503WithRetryAfter() throws IOException {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/bookings");
+        CannotCreateTransactionException ex = new CannotCreateTransactionException("Could not open JPA EntityManager",
+                new DataAccessResourceFailureException("Unable to acquire JDBC Connection",
+                        new ConnectionLimitExceededException("No database connection freed up in time")));
+
+        // When
+        ResponseEntity<?> response = handler.onConnectionUnavailable(ex, request);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst("Retry-After")).isEqualTo("1");
+        JsonNode body = objectMapper.readTree((byte[]) response.getBody());
+        assertThat(body.get("code").asText()).isEqualTo("OVERLOADED");
+    }
+
+    @Test
+    void onConnectionUnavailable_OtherCause_Returns500() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/movies");
+
+        // When
+        ResponseEntity<?> response = handler.onConnectionUnavailable(
+                new DataAccessResourceFailureException("Connection refused"), request);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    @Test
+    void expectedOutcomeExceptions_HaveNoStackTrace() {
+        // When & Then
+        assertThat(new ConflictException("Seat is already booked for this showtime").getStackTrace()).isEmpty();
+        assertThat(new NotFoundException("Booking not found: 1").getStackTrace()).isEmpty();
+    }
+}
@@ -0,0 +1,66 @@
+package com.popcornpalace.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvMovieRowReaderTest {
+
+    @Test
+    void next_ParsesQuotedFieldsInHeaderOrder() throws IOException {
+        try (MovieRowReader reader = open("""
+                release_year,title,genre,rating,duration_minutes\r
+                1995,"Heat, the ""director's"" cut",Crime,8.3,170\r
+                \r
+                1986,"Multi
+                line",Drama,7.0,90
+                """)) {
+            MovieRow first = reader.next();
+            assertThat(first.row()).isEqualTo(1);
+            assertThat(first.movie().getTitle()).isEqualTo("Heat, the \"director's\" cut");
+            assertThat(first.movie().getReleaseYear()).isEqualTo(1995);
+            assertThat(first.movie().getRating()).isEqualTo(new BigDecimal("8.3"));
+            assertThat(first.movie().getDurationMinutes()).isEqualTo(170);
+
+            MovieRow second = reader.next();
+            assertThat(second.row()).isEqualTo(2);
+            assertThat(second.movie().getTitle()).isEqualTo("Multi\nline");
+
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void next_ReportsBadNumbersPerRow() throws IOException {
+        try (MovieRowReader reader = open("""
+                title,genre,durationMinutes,rating,releaseYear
+                Heat,Crime,long,8.3,1995
+                Alien,Horror,117,8.5,
+                """)) {
+            assertThat(reader.next().error()).isEqualTo("Invalid number in column durationMinutes: long");
+
+            MovieRow missingYear = reader.next();
+            assertThat(missingYear.error()).isNull();
+            assertThat(missingYear.movie().getReleaseYear()).isNull();
+        }
+    }
+
+    @Test
+    void open_MissingColumn() {
+        assertThatThrownBy(() -> open("title,genre\nHeat,Crime\n"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("durationminutes");
+    }
+
+    private static MovieRowReader open(String csv) throws IOException {
+        return MovieRowReader.open(ImportFormat.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), new ObjectMapper());
+    }
+}
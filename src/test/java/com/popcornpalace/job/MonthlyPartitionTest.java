@@ -0,0 +1,31 @@
+package com.popcornpalace.job;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MonthlyPartitionTest {
+
+    @Test
+    void name_And_Bounds() {
+        MonthlyPartition partition = MonthlyPartition.of("showtimes", YearMonth.of(2025, 12));
+
+        assertThat(partition.name()).isEqualTo("showtimes_p2025_12");
+        assertThat(partition.from()).isEqualTo(LocalDateTime.of(2025, 12, 1, 0, 0));
+        assertThat(partition.to()).isEqualTo(LocalDateTime.of(2026, 1, 1, 0, 0));
+    }
+
+    @Test
+    void parse_RoundTrip() {
+        assertThat(MonthlyPartition.parse("bookings_p2024_03"))
+                .contains(MonthlyPartition.of("bookings", YearMonth.of(2024, 3)));
+    }
+
+    @Test
+    void parse_IgnoresDefaultPartition() {
+        assertThat(MonthlyPartition.parse("bookings_default")).isEmpty();
+    }
+}
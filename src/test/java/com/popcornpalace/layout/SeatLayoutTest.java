@@ -0,0 +1,86 @@
+package com.popcornpalace.layout;
+
+import com.popcornpalace.entity.Seat;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SeatLayoutTest {
+
+    @Test
+    void of_OrdersSeatsById() {
+        // Given
+        List<SeatLayout.Entry> seats = List.of(
+                new SeatLayout.Entry(30L, "B", "1", Seat.SeatType.VIP),
+                new SeatLayout.Entry(10L, "A", "1", Seat.SeatType.REGULAR),
+                new SeatLayout.Entry(20L, "A", "2", Seat.SeatType.REGULAR));
+
+        // When
+        SeatLayout layout = SeatLayout.of(1L, 0L, seats);
+
+        // Then
+        assertThat(layout.size()).isEqualTo(3);
+        assertThat(layout.ordinalOf(10L)).isZero();
+        assertThat(layout.ordinalOf(20L)).isEqualTo(1);
+        assertThat(layout.ordinalOf(30L)).isEqualTo(2);
+        assertThat(layout.ordinalOf(15L)).isEqualTo(-1);
+        assertThat(layout.row(2)).isEqualTo("B");
+        assertThat(layout.seatType(2)).isEqualTo(Seat.SeatType.VIP);
+    }
+
+    @Test
+    void encodeDecode_RoundTrip() {
+        // Given
+        SeatLayout layout = SeatLayout.of(7L, 3L, grid(1_000L, 20, 50));
+
+        // When
+        SeatLayout decoded = SeatLayout.decode(7L, 3L, layout.encode());
+
+        // Then
+        assertThat(decoded.theaterId()).isEqualTo(7L);
+        assertThat(decoded.version()).isEqualTo(3L);
+        assertThat(decoded.size()).isEqualTo(layout.size());
+        for (int i = 0; i < layout.size(); i++) {
+            assertThat(decoded.seatId(i)).isEqualTo(layout.seatId(i));
+            assertThat(decoded.row(i)).isEqualTo(layout.row(i));
+            assertThat(decoded.seatNumber(i)).isEqualTo(layout.seatNumber(i));
+            assertThat(decoded.seatType(i)).isEqualTo(layout.seatType(i));
+        }
+    }
+
+    @Test
+    void encode_ConsecutiveIdsTakeAFewBytesPerSeat() {
+        // Given
+        SeatLayout layout = SeatLayout.of(1L, 0L, grid(5_000_000L, 20, 50));
+
+        // When
+        byte[] data = layout.encode();
+
+        // Then
+        assertThat(data.length).isLessThan(1_000 * 8);
+    }
+
+    @Test
+    void decode_UnknownFormat_Throws() {
+        // When & Then
+        assertThatThrownBy(() -> SeatLayout.decode(1L, 0L, new byte[]{99, 0, 0, 0, 0}))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Unknown seat layout format");
+    }
+
+    private static List<SeatLayout.Entry> grid(long firstId, int rows, int seatsPerRow) {
+        List<SeatLayout.Entry> seats = new ArrayList<>();
+        long id = firstId;
+        for (int r = 0; r < rows; r++) {
+            for (int s = 1; s <= seatsPerRow; s++) {
+                Seat.SeatType type = r == 0 ? Seat.SeatType.VIP : Seat.SeatType.REGULAR;
+                seats.add(new SeatLayout.Entry(id++, String.valueOf((char) ('A' + r)), String.valueOf(s), type));
+            }
+        }
+        return seats;
+    }
+}
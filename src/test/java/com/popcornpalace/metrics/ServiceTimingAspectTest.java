@@ -0,0 +1,62 @@
+package com.popcornpalace.metrics;
+
+import com.popcornpalace.service.ITheaterService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ServiceTimingAspectTest {
+
+    private SimpleMeterRegistry registry;
+    private ITheaterService target;
+    private ITheaterService service;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        target = mock(ITheaterService.class);
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new ServiceTimingAspect(registry));
+        service = factory.getProxy();
+    }
+
+    @Test
+    void time_RecordsSuccessPerMethod() {
+        // Given
+        when(target.getAllTheaters()).thenReturn(List.of());
+
+        // When
+        service.getAllTheaters();
+        service.getAllTheaters();
+
+        // Then
+        Timer timer = registry.get("popcorn.service.calls")
+                .tags("method", "getAllTheaters", "outcome", "success")
+                .timer();
+        assertThat(timer.count()).isEqualTo(2);
+    }
+
+    @Test
+    void time_RecordsErrorAndRethrows() {
+        // Given
+        when(target.getTheaterById(9L)).thenThrow(new EntityNotFoundException("Theater not found: 9"));
+
+        // When & Then
+        assertThatThrownBy(() -> service.getTheaterById(9L))
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThat(registry.get("popcorn.service.calls")
+                .tags("method", "getTheaterById", "outcome", "error")
+                .timer()
+                .count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,119 @@
+package com.popcornpalace.pricing;
+
+import com.popcornpalace.event.BookingCancelledEvent;
+import com.popcornpalace.event.BookingCreatedEvent;
+import com.popcornpalace.event.ShowtimeChangedEvent;
+import com.popcornpalace.repository.BookingRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OccupancyCountersTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private OccupancyCounters counters;
+
+    @Test
+    void booked_CountsOnceThenFollowsBookings() {
+        // Given
+        when(bookingRepository.findSeatIdsByShowtimeId(1L)).thenReturn(List.of(1L, 2L, 3L, 4L));
+
+        // When
+        int first = counters.booked(1L);
+        counters.onBookingCreated(new BookingCreatedEvent(1L, 10L));
+        int second = counters.booked(1L);
+
+        // Then
+        assertThat(first).isEqualTo(4);
+        assertThat(second).isEqualTo(5);
+        verify(bookingRepository, times(1)).findSeatIdsByShowtimeId(1L);
+    }
+
+    @Test
+    void isBooked_FollowsBookingsAndCancellations() {
+        // Given
+        when(bookingRepository.findSeatIdsByShowtimeId(1L)).thenReturn(List.of(1L, 2L));
+
+        // When
+        boolean initiallyBooked = counters.isBooked(1L, 2L);
+        counters.onBookingCreated(new BookingCreatedEvent(1L, 10L));
+        counters.onBookingCancelled(new BookingCancelledEvent(1L, 2L));
+
+        // Then
+        assertThat(initiallyBooked).isTrue();
+        assertThat(counters.isBooked(1L, 10L)).isTrue();
+        assertThat(counters.isBooked(1L, 2L)).isFalse();
+        verify(bookingRepository, times(1)).findSeatIdsByShowtimeId(1L);
+    }
+
+    @Test
+    void onBookingCreated_BookingAlreadySeenByInitialRead_IsNotCountedTwice() {
+        // Given: the booking committed before the read, its event arrives after
+        when(bookingRepository.findSeatIdsByShowtimeId(1L)).thenReturn(List.of(1L, 10L));
+        counters.booked(1L);
+
+        // When
+        counters.onBookingCreated(new BookingCreatedEvent(1L, 10L));
+
+        // Then
+        assertThat(counters.booked(1L)).isEqualTo(2);
+    }
+
+    @Test
+    void onBookingCancelled_DecrementsCounter() {
+        // Given
+        when(bookingRepository.findSeatIdsByShowtimeId(1L)).thenReturn(List.of(1L, 2L, 3L, 10L));
+        counters.booked(1L);
+
+        // When
+        counters.onBookingCancelled(new BookingCancelledEvent(1L, 10L));
+        counters.onBookingCancelled(new BookingCancelledEvent(1L, 10L));
+
+        // Then
+        assertThat(counters.booked(1L)).isEqualTo(3);
+        verify(bookingRepository, times(1)).findSeatIdsByShowtimeId(1L);
+    }
+
+    @Test
+    void recount_CorrectsDrift() {
+        // Given
+        when(bookingRepository.findSeatIdsByShowtimeId(1L)).thenReturn(List.of(1L, 2L));
+        counters.booked(1L);
+        when(bookingRepository.findShowtimeAndSeatIdsByShowtimeIdIn(anyCollection())).thenReturn(List.of(
+                new Object[]{1L, 1L}, new Object[]{1L, 2L}, new Object[]{1L, 3L}));
+
+        // When
+        counters.recount();
+
+        // Then
+        assertThat(counters.booked(1L)).isEqualTo(3);
+    }
+
+    @Test
+    void onShowtimeDeleted_DropsCounter() {
+        // Given
+        when(bookingRepository.findSeatIdsByShowtimeId(1L)).thenReturn(List.of(1L, 2L, 3L), List.of());
+        counters.booked(1L);
+
+        // When
+        counters.onShowtimeChanged(ShowtimeChangedEvent.deleted(1L));
+
+        // Then
+        assertThat(counters.booked(1L)).isZero();
+        verify(bookingRepository, times(2)).findSeatIdsByShowtimeId(1L);
+    }
+}
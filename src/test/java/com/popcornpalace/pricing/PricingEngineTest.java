@@ -0,0 +1,85 @@
+package com.popcornpalace.pricing;
+
+import com.popcornpalace.config.PricingProperties;
+import com.popcornpalace.entity.Seat;
+import com.popcornpalace.layout.SeatLayout;
+import com.popcornpalace.layout.SeatLayouts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PricingEngineTest {
+
+    @Mock
+    private OccupancyCounters occupancy;
+
+    @Mock
+    private SeatLayouts seatLayouts;
+
+    private PricingEngine pricingEngine;
+
+    @BeforeEach
+    void setUp() {
+        pricingEngine = new PricingEngine(occupancy, seatLayouts, new PricingProperties());
+    }
+
+    @Test
+    void quote_EmptyShowtime_ChargesSeatTypeMultipliersOnly() {
+        // Given
+        when(occupancy.booked(1L)).thenReturn(0);
+        when(seatLayouts.layoutOf(7L)).thenReturn(layoutOf(100));
+
+        // When
+        PriceQuote quote = pricingEngine.quote(1L, 7L, new BigDecimal("12.00"));
+
+        // Then
+        assertThat(quote.capacity()).isEqualTo(100);
+        assertThat(quote.occupancyMultiplier()).isEqualByComparingTo("1.00");
+        assertThat(quote.priceFor(Seat.SeatType.REGULAR)).isEqualByComparingTo("12.00");
+        assertThat(quote.priceFor(Seat.SeatType.PREMIUM)).isEqualByComparingTo("15.00");
+        assertThat(quote.priceFor(Seat.SeatType.VIP)).isEqualByComparingTo("18.00");
+    }
+
+    @Test
+    void quote_HighOccupancy_AppliesHighestTierReached() {
+        // Given
+        when(occupancy.booked(1L)).thenReturn(80);
+        when(seatLayouts.layoutOf(7L)).thenReturn(layoutOf(100));
+
+        // When
+        PriceQuote quote = pricingEngine.quote(1L, 7L, new BigDecimal("9.99"));
+
+        // Then
+        assertThat(quote.bookedSeats()).isEqualTo(80);
+        assertThat(quote.occupancyMultiplier()).isEqualByComparingTo("1.25");
+        assertThat(quote.priceFor(Seat.SeatType.REGULAR)).isEqualByComparingTo("12.49");
+        assertThat(quote.priceFor(Seat.SeatType.VIP)).isEqualByComparingTo("18.73");
+    }
+
+    @Test
+    void occupancyMultiplier_TierBoundaries() {
+        // When & Then
+        assertThat(pricingEngine.occupancyMultiplier(49, 100)).isEqualByComparingTo("1.00");
+        assertThat(pricingEngine.occupancyMultiplier(50, 100)).isEqualByComparingTo("1.10");
+        assertThat(pricingEngine.occupancyMultiplier(79, 100)).isEqualByComparingTo("1.10");
+        assertThat(pricingEngine.occupancyMultiplier(0, 0)).isEqualByComparingTo("1.00");
+    }
+
+    private static SeatLayout layoutOf(int seats) {
+        List<SeatLayout.Entry> entries = new ArrayList<>();
+        for (int i = 1; i <= seats; i++) {
+            entries.add(new SeatLayout.Entry(i, "A", String.valueOf(i), Seat.SeatType.REGULAR));
+        }
+        return SeatLayout.of(7L, 0L, entries);
+    }
+}
@@ -0,0 +1,91 @@
+package com.popcornpalace.repository;
+
+import com.popcornpalace.dto.MovieDto;
+import com.popcornpalace.dto.SeatAvailabilityDto;
+import com.popcornpalace.dto.ShowtimeDto;
+import com.popcornpalace.entity.Seat;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ReactiveReadRepositoryTest {
+
+    private static final String OPTIONS = "NON_KEYWORDS=ROW;DB_CLOSE_DELAY=-1";
+
+    private JdbcTemplate jdbc;
+    private ReactiveReadRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:reactive;" + OPTIONS, "sa", ""));
+        jdbc.execute("""
+                create table movies (id bigint primary key, title varchar(255), genre varchar(100),
+                    duration_minutes integer, rating numeric(38, 2), release_year integer, version bigint)""");
+        jdbc.execute("""
+                create table showtimes (id bigint primary key, movie_id bigint, theater_id bigint,
+                    start_time timestamp(6), end_time timestamp(6), price numeric(10, 2), version bigint)""");
+        jdbc.execute("create table seats (id bigint primary key, theater_id bigint, row varchar(5), seat_number varchar(10), seat_type varchar(255))");
+        jdbc.execute("create table bookings (id bigint primary key, showtime_id bigint, seat_id bigint)");
+        for (long id = 1; id <= 5; id++) {
+            jdbc.update("insert into movies values (?, ?, 'Drama', 120, 7.5, 2024, 0)", id, "Movie " + id);
+        }
+        jdbc.update("insert into showtimes values (10, 1, 7, timestamp '2099-01-01 18:00:00', timestamp '2099-01-01 20:00:00', 12.50, 3)");
+        jdbc.update("insert into seats values (100, 7, 'A', '1', 'REGULAR'), (101, 7, 'A', '2', 'VIP'), (200, 8, 'A', '1', 'REGULAR')");
+        jdbc.update("insert into bookings values (1, 10, 101)");
+
+        ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///reactive?options=" + OPTIONS);
+        repository = new ReactiveReadRepository(connectionFactory, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+        jdbc.execute("drop all objects");
+    }
+
+    @Test
+    void findAllMovies_StreamsInIdOrderAcrossFetches() {
+        // When
+        List<MovieDto> movies = repository.findAllMovies().collectList().block();
+
+        // Then
+        assertThat(movies).extracting(MovieDto::getId).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(movies.get(0).getRating()).isEqualByComparingTo("7.5");
+    }
+
+    @Test
+    void findShowtime_MapsRowOrIsEmpty() {
+        // When
+        ShowtimeDto showtime = repository.findShowtime(10).block();
+
+        // Then
+        assertThat(showtime.getTheaterId()).isEqualTo(7L);
+        assertThat(showtime.getStartTime()).isEqualTo(LocalDateTime.of(2099, 1, 1, 18, 0));
+        assertThat(showtime.getPrice()).isEqualByComparingTo(new BigDecimal("12.50"));
+        assertThat(repository.findShowtime(99).blockOptional()).isEmpty();
+    }
+
+    @Test
+    void findSeatAvailability_MarksSeatsBookedForTheShowtime() {
+        // When
+        List<SeatAvailabilityDto> seats = repository.findSeatAvailability(10, 7).collectList().block();
+
+        // Then
+        assertThat(seats).extracting(SeatAvailabilityDto::getSeatId, SeatAvailabilityDto::isBooked)
+                .containsExactly(
+                        tuple(100L, false),
+                        tuple(101L, true));
+        assertThat(seats.get(1).getSeatType()).isEqualTo(Seat.SeatType.VIP);
+    }
+}
@@ -0,0 +1,112 @@
+package com.popcornpalace.search;
+
+import com.popcornpalace.datasource.PrimaryReads;
+import com.popcornpalace.dto.MovieDto;
+import com.popcornpalace.dto.MovieFacetsDto;
+import com.popcornpalace.dto.ShowtimeDto;
+import com.popcornpalace.event.MovieChangedEvent;
+import com.popcornpalace.event.ShowtimeChangedEvent;
+import com.popcornpalace.repository.MovieRepository;
+import com.popcornpalace.repository.ShowtimeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MovieFacetIndexTest {
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    @Mock
+    private ShowtimeRepository showtimeRepository;
+
+    @InjectMocks
+    private MovieFacetIndex facetIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(movieRepository.findFacetKeys()).thenReturn(List.of(
+                new Object[]{1L, "Crime", 1995},
+                new Object[]{2L, "Crime", 1972},
+                new Object[]{3L, "Horror", 1979}));
+        when(showtimeRepository.findUpcomingFacetKeys(any())).thenReturn(List.<Object[]>of(
+                new Object[]{10L, 1L, LocalDateTime.now().plusDays(1)}));
+        facetIndex.recompute();
+    }
+
+    @Test
+    void getFacets_CountsCatalogAndNowPlaying() {
+        MovieFacetsDto facets = facetIndex.getFacets();
+
+        assertThat(facets.getGenres()).isEqualTo(Map.of("Crime", 2, "Horror", 1));
+        assertThat(facets.getReleaseYears()).isEqualTo(Map.of(1995, 1, 1972, 1, 1979, 1));
+        assertThat(facets.getDecades()).isEqualTo(Map.of(1970, 2, 1990, 1));
+        assertThat(facets.getNowPlayingGenres()).isEqualTo(Map.of("Crime", 1));
+        assertThat(facets.getNowPlayingDecades()).isEqualTo(Map.of(1990, 1));
+        assertThat(facetIndex.getFacets()).isSameAs(facets);
+    }
+
+    @Test
+    void events_AdjustCountsWithoutQueries() {
+        clearInvocations(movieRepository, showtimeRepository);
+
+        facetIndex.onMovieChanged(MovieChangedEvent.updated(movie(3L, "Crime", 1979)));
+        facetIndex.onShowtimeChanged(ShowtimeChangedEvent.created(showtime(11L, 3L, LocalDateTime.now().plusDays(2))));
+        facetIndex.onShowtimeChanged(ShowtimeChangedEvent.deleted(10L));
+        facetIndex.onMovieChanged(MovieChangedEvent.deleted(2L));
+
+        MovieFacetsDto facets = facetIndex.getFacets();
+        assertThat(facets.getGenres()).isEqualTo(Map.of("Crime", 2));
+        assertThat(facets.getNowPlayingGenres()).isEqualTo(Map.of("Crime", 1));
+        assertThat(facets.getNowPlayingDecades()).isEqualTo(Map.of(1970, 1));
+        verifyNoInteractions(movieRepository, showtimeRepository);
+    }
+
+    @Test
+    void sweep_DropsStartedShowtimes() {
+        assertThat(facetIndex.getFacets().getNowPlayingGenres()).isNotEmpty();
+
+        facetIndex.sweep(LocalDateTime.now().plusDays(2));
+
+        assertThat(facetIndex.getFacets().getNowPlayingGenres()).isEmpty();
+    }
+
+    @Test
+    void recompute_ReadsFromPrimary() {
+        List<Boolean> onPrimary = new ArrayList<>();
+        when(movieRepository.findFacetKeys()).thenAnswer(invocation -> {
+            onPrimary.add(PrimaryReads.required());
+            return List.of();
+        });
+        when(showtimeRepository.findUpcomingFacetKeys(any())).thenAnswer(invocation -> {
+            onPrimary.add(PrimaryReads.required());
+            return List.of();
+        });
+
+        facetIndex.recompute();
+
+        assertThat(onPrimary).containsExactly(true, true);
+        assertThat(PrimaryReads.required()).isFalse();
+    }
+
+    private static MovieDto movie(Long id, String genre, int releaseYear) {
+        return MovieDto.builder().id(id).title("Movie " + id).genre(genre).releaseYear(releaseYear).build();
+    }
+
+    private static ShowtimeDto showtime(Long id, Long movieId, LocalDateTime startTime) {
+        return ShowtimeDto.builder().id(id).movieId(movieId).startTime(startTime).build();
+    }
+}
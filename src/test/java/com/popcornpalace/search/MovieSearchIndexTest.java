@@ -0,0 +1,117 @@
+package com.popcornpalace.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popcornpalace.cache.MovieCatalog;
+import com.popcornpalace.cache.MovieCatalogSnapshot;
+import com.popcornpalace.dto.MovieDto;
+import com.popcornpalace.event.MovieCatalogReloadedEvent;
+import com.popcornpalace.event.MovieChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MovieSearchIndexTest {
+
+    @Mock
+    private MovieCatalog movieCatalog;
+
+    @InjectMocks
+    private MovieSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(movieCatalog.snapshot()).thenReturn(snapshot(
+                movie(1L, "The Godfather", "Crime"),
+                movie(2L, "The Godfather Part II", "Crime"),
+                movie(3L, "Gone Girl", "Thriller"),
+                movie(4L, "Amélie", "Comedy"),
+                movie(5L, "Interstellar", "Sci-Fi")));
+    }
+
+    @Test
+    void search_PrefixOfLastToken() {
+        assertThat(searchIndex.search("the godf", null, 10))
+                .extracting(MovieDto::getId)
+                .containsExactly(1L, 2L);
+    }
+
+    @Test
+    void search_TiesGoToShorterTitle() {
+        assertThat(searchIndex.search("go", null, 10))
+                .extracting(MovieDto::getId)
+                .containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    void search_ToleratesTypos() {
+        assertThat(searchIndex.search("intersteller", null, 10))
+                .extracting(MovieDto::getId)
+                .containsExactly(5L);
+    }
+
+    @Test
+    void search_IgnoresCaseAndAccents() {
+        assertThat(searchIndex.search("AMELIE", null, 10))
+                .extracting(MovieDto::getId)
+                .containsExactly(4L);
+    }
+
+    @Test
+    void search_FiltersByGenreAndLimits() {
+        assertThat(searchIndex.search("g", "thriller", 10))
+                .extracting(MovieDto::getId)
+                .containsExactly(3L);
+        assertThat(searchIndex.search("godfather", null, 1)).hasSize(1);
+    }
+
+    @Test
+    void onMovieChanged_UpdatesIndexFromCatalog() {
+        searchIndex.search("heat", null, 10);
+        when(movieCatalog.snapshot()).thenReturn(snapshot(
+                movie(1L, "The Godfather", "Crime"),
+                movie(6L, "Heat", "Crime")));
+
+        searchIndex.onMovieChanged(MovieChangedEvent.created(movie(6L, "Heat", "Crime")));
+        searchIndex.onMovieChanged(MovieChangedEvent.deleted(2L));
+
+        assertThat(searchIndex.search("heat", null, 10)).extracting(MovieDto::getId).containsExactly(6L);
+        assertThat(searchIndex.search("part", null, 10)).isEmpty();
+    }
+
+    @Test
+    void onCatalogReloaded_RebuildsFromNewSnapshot() {
+        searchIndex.search("heat", null, 10);
+        when(movieCatalog.snapshot()).thenReturn(snapshot(
+                movie(1L, "The Godfather", "Crime"),
+                movie(6L, "Heat", "Crime")));
+
+        searchIndex.onCatalogReloaded(new MovieCatalogReloadedEvent(2L));
+
+        assertThat(searchIndex.search("heat", null, 10)).extracting(MovieDto::getId).containsExactly(6L);
+        assertThat(searchIndex.search("interstellar", null, 10)).isEmpty();
+    }
+
+    private static MovieCatalogSnapshot snapshot(MovieDto... movies) {
+        return new MovieCatalogSnapshot(1, 0L, "\"movies-1\"", movies, new ObjectMapper().writerFor(MovieDto[].class));
+    }
+
+    private static MovieDto movie(Long id, String title, String genre) {
+        return MovieDto.builder()
+                .id(id)
+                .title(title)
+                .genre(genre)
+                .durationMinutes(120)
+                .rating(new BigDecimal("8.0"))
+                .releaseYear(2000)
+                .build();
+    }
+}
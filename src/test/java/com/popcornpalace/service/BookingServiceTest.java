@@ -6,7 +6,16 @@ import com.popcornpalace.entity.Movie;
 import com.popcornpalace.entity.Seat;
 import com.popcornpalace.entity.Showtime;
 import com.popcornpalace.entity.Theater;
+import com.popcornpalace.event.BookingCancelledEvent;
+import com.popcornpalace.event.BookingCreatedEvent;
 import com.popcornpalace.exception.ConflictException;
+import com.popcornpalace.layout.SeatLayout;
+import com.popcornpalace.layout.SeatLayouts;
+import com.popcornpalace.metrics.BookingOutcome;
+import com.popcornpalace.metrics.DomainMetrics;
+import com.popcornpalace.pricing.OccupancyCounters;
+import com.popcornpalace.pricing.PriceQuote;
+import com.popcornpalace.pricing.PricingEngine;
 import com.popcornpalace.repository.BookingRepository;
 import org.springframework.dao.DataIntegrityViolationException;
 import com.popcornpalace.repository.SeatRepository;
@@ -17,15 +26,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +54,21 @@ class BookingServiceTest {
     @Mock
     private SeatRepository seatRepository;
 
+    @Mock
+    private SeatLayouts seatLayouts;
+
+    @Mock
+    private PricingEngine pricingEngine;
+
+    @Mock
+    private OccupancyCounters occupancyCounters;
+
+    @Mock
+    private DomainMetrics metrics;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BookingService bookingService;
 
@@ -49,6 +78,8 @@ class BookingServiceTest {
     private Seat testSeat;
     private Booking testBooking;
     private BookingDto testBookingDto;
+    private SeatLayout testLayout;
+    private PriceQuote testQuote;
 
     @BeforeEach
     void setUp() {
@@ -71,8 +102,8 @@ class BookingServiceTest {
                 .id(1L)
                 .movie(testMovie)
                 .theater(testTheater)
-                .startTime(LocalDateTime.of(2024, 12, 25, 18, 0))
-                .endTime(LocalDateTime.of(2024, 12, 25, 20, 0))
+                .startTime(LocalDateTime.of(2099, 12, 25, 18, 0))
+                .endTime(LocalDateTime.of(2099, 12, 25, 20, 0))
                 .price(new BigDecimal("15.00"))
                 .build();
 
@@ -92,6 +123,7 @@ class BookingServiceTest {
                 .customerEmail("john@example.com")
                 .totalPrice(new BigDecimal("15.00"))
                 .bookingDate(OffsetDateTime.now())
+                .showtimeStart(LocalDateTime.now().plusDays(1))
                 .build();
 
         testBookingDto = BookingDto.builder()
@@ -100,15 +132,25 @@ class BookingServiceTest {
                 .customerName("John Doe")
                 .customerEmail("john@example.com")
                 .build();
+
+        testLayout = SeatLayout.of(1L, 0L,
+                List.of(new SeatLayout.Entry(1L, "A", "1", Seat.SeatType.REGULAR),
+                        new SeatLayout.Entry(3L, "A", "2", Seat.SeatType.VIP)));
+
+        testQuote = new PriceQuote(1L, new BigDecimal("15.00"), 0, 2, new BigDecimal("1.00"), Map.of(
+                Seat.SeatType.REGULAR, new BigDecimal("15.00"),
+                Seat.SeatType.PREMIUM, new BigDecimal("18.75"),
+                Seat.SeatType.VIP, new BigDecimal("22.50")));
     }
 
     @Test
     void createBooking_Success() {
         // Given
         when(showtimeRepository.findById(1L)).thenReturn(Optional.of(testShowtime));
-        when(seatRepository.findById(1L)).thenReturn(Optional.of(testSeat));
-
-        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+        when(seatLayouts.layoutOf(1L)).thenReturn(testLayout);
+        when(seatRepository.getReferenceById(1L)).thenReturn(testSeat);
+        when(pricingEngine.quote(1L, 1L, new BigDecimal("15.00"))).thenReturn(testQuote);
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(testBooking);
 
         // When
         BookingDto result = bookingService.createBooking(testBookingDto);
@@ -122,8 +164,34 @@ class BookingServiceTest {
         assertThat(result.getCustomerEmail()).isEqualTo("john@example.com");
 
         verify(showtimeRepository).findById(1L);
-        verify(seatRepository).findById(1L);
-        verify(bookingRepository).save(any(Booking.class));
+        verify(seatRepository, never()).findById(any());
+        verify(bookingRepository).saveAndFlush(any(Booking.class));
+        verify(eventPublisher).publishEvent(new BookingCreatedEvent(1L, 1L));
+        verify(metrics).booking(BookingOutcome.SUCCESS);
+    }
+
+    @Test
+    void createBooking_ChargesPriceOfSeatType() {
+        // Given
+        Seat vipSeat = Seat.builder().id(3L).row("A").seatNumber("2").seatType(Seat.SeatType.VIP).build();
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(testShowtime));
+        when(seatLayouts.layoutOf(1L)).thenReturn(testLayout);
+        when(seatRepository.getReferenceById(3L)).thenReturn(vipSeat);
+        when(pricingEngine.quote(1L, 1L, new BigDecimal("15.00"))).thenReturn(testQuote);
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BookingDto vipDto = BookingDto.builder()
+                .showtimeId(1L)
+                .seatId(3L)
+                .customerName("John Doe")
+                .customerEmail("john@example.com")
+                .build();
+
+        // When
+        BookingDto result = bookingService.createBooking(vipDto);
+
+        // Then
+        assertThat(result.getTotalPrice()).isEqualByComparingTo("22.50");
     }
 
     @Test
@@ -144,15 +212,16 @@ class BookingServiceTest {
                 .hasMessageContaining("Showtime not found");
 
         verify(showtimeRepository).findById(999L);
-        verify(seatRepository, never()).findById(any());
-        verify(bookingRepository, never()).save(any());
+        verify(seatLayouts, never()).layoutOf(any());
+        verify(bookingRepository, never()).saveAndFlush(any());
     }
 
     @Test
     void createBooking_SeatNotFound_ThrowsException() {
         // Given
         when(showtimeRepository.findById(1L)).thenReturn(Optional.of(testShowtime));
-        when(seatRepository.findById(999L)).thenReturn(Optional.empty());
+        when(seatLayouts.layoutOf(1L)).thenReturn(testLayout);
+        when(seatRepository.existsById(999L)).thenReturn(false);
 
         BookingDto invalidDto = BookingDto.builder()
                 .showtimeId(1L)
@@ -167,16 +236,18 @@ class BookingServiceTest {
                 .hasMessageContaining("Seat not found");
 
         verify(showtimeRepository).findById(1L);
-        verify(seatRepository).findById(999L);
-        verify(bookingRepository, never()).save(any());
+        verify(seatRepository).existsById(999L);
+        verify(bookingRepository, never()).saveAndFlush(any());
     }
 
     @Test
     void createBooking_SeatAlreadyBooked_ThrowsConflictException() {
         // Given
         when(showtimeRepository.findById(1L)).thenReturn(Optional.of(testShowtime));
-        when(seatRepository.findById(1L)).thenReturn(Optional.of(testSeat));
-        when(bookingRepository.save(any(Booking.class)))
+        when(seatLayouts.layoutOf(1L)).thenReturn(testLayout);
+        when(seatRepository.getReferenceById(1L)).thenReturn(testSeat);
+        when(pricingEngine.quote(1L, 1L, new BigDecimal("15.00"))).thenReturn(testQuote);
+        when(bookingRepository.saveAndFlush(any(Booking.class)))
                 .thenThrow(new DataIntegrityViolationException("Duplicate key"));
 
         // When & Then
@@ -185,29 +256,54 @@ class BookingServiceTest {
                 .hasMessageContaining("Seat is already booked");
 
         verify(showtimeRepository).findById(1L);
-        verify(seatRepository).findById(1L);
-        verify(bookingRepository).save(any(Booking.class));
+        verify(bookingRepository).saveAndFlush(any(Booking.class));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+        verify(metrics).booking(BookingOutcome.CONFLICT);
     }
 
     @Test
-    void createBooking_SeatFromDifferentTheater_ThrowsException() {
+    void createBooking_SeatKnownTaken_ConflictsBeforeInsert() {
         // Given
-        Theater differentTheater = Theater.builder()
-                .id(2L)
-                .name("Different Theater")
-                .capacity(50)
-                .build();
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(testShowtime));
+        when(seatLayouts.layoutOf(1L)).thenReturn(testLayout);
+        when(occupancyCounters.isBooked(1L, 1L)).thenReturn(true);
+        when(bookingRepository.existsByShowtimeIdAndSeatId(1L, 1L)).thenReturn(true);
 
-        Seat seatFromDifferentTheater = Seat.builder()
-                .id(2L)
-                .row("A")
-                .seatNumber("1")
-                .seatType(Seat.SeatType.REGULAR)
-                .theater(differentTheater)
-                .build();
+        // When & Then
+        assertThatThrownBy(() -> bookingService.createBooking(testBookingDto))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("Seat is already booked");
+
+        verify(bookingRepository, never()).saveAndFlush(any());
+        verify(pricingEngine, never()).quote(anyLong(), anyLong(), any());
+        verify(metrics).booking(BookingOutcome.CONFLICT);
+    }
 
+    @Test
+    void createBooking_SeatTakenInMemoryButFreeInDatabase_Books() {
+        // Given: a cancellation through another instance has not reached this one
         when(showtimeRepository.findById(1L)).thenReturn(Optional.of(testShowtime));
-        when(seatRepository.findById(2L)).thenReturn(Optional.of(seatFromDifferentTheater));
+        when(seatLayouts.layoutOf(1L)).thenReturn(testLayout);
+        when(occupancyCounters.isBooked(1L, 1L)).thenReturn(true);
+        when(bookingRepository.existsByShowtimeIdAndSeatId(1L, 1L)).thenReturn(false);
+        when(seatRepository.getReferenceById(1L)).thenReturn(testSeat);
+        when(pricingEngine.quote(1L, 1L, new BigDecimal("15.00"))).thenReturn(testQuote);
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(testBooking);
+
+        // When
+        BookingDto result = bookingService.createBooking(testBookingDto);
+
+        // Then
+        assertThat(result.getId()).isEqualTo(1L);
+        verify(metrics).booking(BookingOutcome.SUCCESS);
+    }
+
+    @Test
+    void createBooking_SeatFromDifferentTheater_ThrowsException() {
+        // Given
+        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(testShowtime));
+        when(seatLayouts.layoutOf(1L)).thenReturn(testLayout);
+        when(seatRepository.existsById(2L)).thenReturn(true);
 
         BookingDto invalidDto = BookingDto.builder()
                 .showtimeId(1L)
@@ -219,10 +315,67 @@ class BookingServiceTest {
         // When & Then
         assertThatThrownBy(() -> bookingService.createBooking(invalidDto))
                 .isInstanceOf(IllegalArgumentException.class)
-                .hasMessageContaining("Seat does not belong to the showtime's theater");
+                .hasMessageContaining("Seat does not belong to the theater of the selected showtime");
 
         verify(showtimeRepository).findById(1L);
-        verify(seatRepository).findById(2L);
-        verify(bookingRepository, never()).save(any());
+        verify(seatRepository, never()).getReferenceById(any());
+        verify(metrics).booking(BookingOutcome.WRONG_THEATER);
+        verify(bookingRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void cancelBooking_Success() {
+        // Given
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
+        when(bookingRepository.deleteBookingById(1L)).thenReturn(1);
+
+        // When
+        bookingService.cancelBooking(1L, "John@Example.com");
+
+        // Then
+        verify(bookingRepository).deleteBookingById(1L);
+        verify(eventPublisher).publishEvent(new BookingCancelledEvent(1L, 1L));
+    }
+
+    @Test
+    void cancelBooking_NotFound_ThrowsException() {
+        // Given
+        when(bookingRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> bookingService.cancelBooking(999L, "john@example.com"))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessageContaining("Booking not found");
+
+        verify(bookingRepository, never()).deleteBookingById(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void cancelBooking_WrongEmail_ThrowsNotFound() {
+        // Given
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
+
+        // When & Then
+        assertThatThrownBy(() -> bookingService.cancelBooking(1L, "someone@example.com"))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessageContaining("Booking not found");
+
+        verify(bookingRepository, never()).deleteBookingById(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void cancelBooking_AlreadyCancelledConcurrently_ThrowsNotFoundWithoutEvent() {
+        // Given - found, but another cancellation deleted the row first
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
+        when(bookingRepository.deleteBookingById(1L)).thenReturn(0);
+
+        // When & Then
+        assertThatThrownBy(() -> bookingService.cancelBooking(1L, "john@example.com"))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessageContaining("Booking not found");
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 }
@@ -0,0 +1,116 @@
+package com.popcornpalace.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popcornpalace.cache.MovieTitleFilter;
+import com.popcornpalace.dto.MovieImportReportDto;
+import com.popcornpalace.event.MoviesImportedEvent;
+import com.popcornpalace.importer.ImportFormat;
+import com.popcornpalace.repository.MovieBulkRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MovieImportServiceTest {
+
+    @Mock
+    private MovieBulkRepository movieBulkRepository;
+
+    @Mock
+    private MovieBulkRepository.Load load;
+
+    @Mock
+    private MovieTitleFilter movieTitleFilter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private MovieImportService movieImportService;
+
+    private final List<MovieBulkRepository.Row> loaded = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        movieImportService = new MovieImportService(
+                movieBulkRepository,
+                movieTitleFilter,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper(),
+                eventPublisher);
+        when(movieBulkRepository.open()).thenReturn(load);
+        doAnswer(invocation -> loaded.addAll(invocation.getArgument(0))).when(load).add(any());
+    }
+
+    @Test
+    void importMovies_ReportsInvalidDuplicateAndExistingRows() throws Exception {
+        // Given
+        when(load.finish()).thenReturn(new MovieBulkRepository.MergeResult(1,
+                List.of(new MovieBulkRepository.Conflict(4, "Alien"))));
+
+        // When
+        MovieImportReportDto report = movieImportService.importMovies(ndjson("""
+                {"title":"Heat","genre":"Crime","durationMinutes":170,"rating":8.3,"releaseYear":1995}
+                {"title":"","genre":"Crime","durationMinutes":170,"rating":8.3,"releaseYear":1995}
+                {"title":"HEAT!","genre":"Crime","durationMinutes":170,"rating":8.3,"releaseYear":1995}
+                {"title":"Alien","genre":"Horror","durationMinutes":117,"rating":8.5,"releaseYear":1979}
+                {"title":
+                """), ImportFormat.NDJSON);
+
+        // Then
+        assertThat(report.getReceived()).isEqualTo(5);
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getRejected()).isEqualTo(4);
+        assertThat(report.getErrors()).extracting("row").containsExactly(2, 3, 4, 5);
+        assertThat(report.getErrors().get(0).getMessage()).isEqualTo("title: Title is required");
+        assertThat(report.getErrors().get(1).getMessage()).isEqualTo("Duplicate title in import, first seen in row 1");
+        assertThat(report.getErrors().get(2).getMessage()).isEqualTo("Movie with title 'Alien' already exists");
+        assertThat(report.getErrors().get(3).getMessage()).startsWith("Malformed JSON");
+        assertThat(report.isErrorsTruncated()).isFalse();
+
+        assertThat(loaded).extracting(MovieBulkRepository.Row::normalizedTitle).containsExactly("heat", "alien");
+        verify(movieTitleFilter).add("heat");
+        ArgumentCaptor<MoviesImportedEvent> event = ArgumentCaptor.forClass(MoviesImportedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().imported()).isEqualTo(1);
+    }
+
+    @Test
+    void importMovies_LoadsInChunks() throws Exception {
+        // Given
+        int rows = MovieImportService.CHUNK_SIZE + 1;
+        StringBuilder csv = new StringBuilder("title,genre,durationMinutes,rating,releaseYear\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append("Movie ").append(i).append(",Drama,100,7.0,2000\n");
+        }
+        when(load.finish()).thenReturn(new MovieBulkRepository.MergeResult(rows, List.of()));
+
+        // When
+        MovieImportReportDto report = movieImportService.importMovies(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), ImportFormat.CSV);
+
+        // Then
+        assertThat(report.getImported()).isEqualTo(rows);
+        assertThat(report.getErrors()).isEmpty();
+        assertThat(loaded).hasSize(rows);
+        verify(load, times(2)).add(any());
+    }
+
+    private static InputStream ndjson(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
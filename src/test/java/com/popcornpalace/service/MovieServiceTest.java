@@ -1,7 +1,13 @@
 package com.popcornpalace.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.popcornpalace.cache.MovieCatalog;
+import com.popcornpalace.cache.MovieCatalogSnapshot;
+import com.popcornpalace.cache.MovieTitleFilter;
 import com.popcornpalace.dto.MovieDto;
+import com.popcornpalace.dto.MoviePageDto;
 import com.popcornpalace.entity.Movie;
+import com.popcornpalace.exception.ConflictException;
 import com.popcornpalace.repository.MovieRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,14 +15,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.List;
-import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +32,15 @@ class MovieServiceTest {
     @Mock
     private MovieRepository movieRepository;
 
+    @Mock
+    private MovieCatalog movieCatalog;
+
+    @Mock
+    private MovieTitleFilter movieTitleFilter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private MovieService movieService;
 
@@ -68,15 +84,32 @@ class MovieServiceTest {
         assertThat(result.getReleaseYear()).isEqualTo(2024);
         
         verify(movieRepository).save(any(Movie.class));
+        verify(movieRepository, never()).existsByNormalizedTitle(any()); // filter says the title is new
+        verify(movieTitleFilter).add("test movie");
+    }
+
+    @Test
+    void createMovie_DuplicateTitle_ThrowsConflictException() {
+        // Given
+        when(movieTitleFilter.mightContain("test movie")).thenReturn(true);
+        when(movieRepository.existsByNormalizedTitle("test movie")).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> movieService.createMovie(testMovieDto))
+                .isInstanceOf(ConflictException.class);
+
+        verify(movieRepository, never()).save(any());
     }
 
     @Test
     void getAllMovies_Success() {
         // Given
-        Movie movie1 = Movie.builder().id(1L).title("Movie 1").genre("Action").durationMinutes(120).rating(BigDecimal.valueOf(8.0)).releaseYear(2024).build();
-        Movie movie2 = Movie.builder().id(2L).title("Movie 2").genre("Comedy").durationMinutes(90).rating(BigDecimal.valueOf(7.5)).releaseYear(2023).build();
-        
-        when(movieRepository.findAll()).thenReturn(List.of(movie1, movie2));
+        MovieDto[] movies = {
+                MovieDto.builder().id(1L).title("Movie 1").genre("Action").durationMinutes(120).rating(BigDecimal.valueOf(8.0)).releaseYear(2024).build(),
+                MovieDto.builder().id(2L).title("Movie 2").genre("Comedy").durationMinutes(90).rating(BigDecimal.valueOf(7.5)).releaseYear(2023).build()
+        };
+        when(movieCatalog.snapshot()).thenReturn(new MovieCatalogSnapshot(
+                1, 0L, "\"movies-1\"", movies, new ObjectMapper().writerFor(MovieDto[].class)));
 
         // When
         List<MovieDto> result = movieService.getAllMovies();
@@ -85,8 +118,37 @@ class MovieServiceTest {
         assertThat(result).hasSize(2);
         assertThat(result.get(0).getTitle()).isEqualTo("Movie 1");
         assertThat(result.get(1).getTitle()).isEqualTo("Movie 2");
-        
-        verify(movieRepository).findAll();
+
+        verifyNoInteractions(movieRepository);
+    }
+
+    @Test
+    void getMoviesPage_FullPage_ReturnsNextCursor() {
+        // Given
+        when(movieRepository.findPageAfter(eq(10L), any())).thenReturn(List.of(
+                MovieDto.builder().id(11L).title("Movie 11").build(),
+                MovieDto.builder().id(12L).title("Movie 12").build()));
+
+        // When
+        MoviePageDto page = movieService.getMoviesPage(10L, 2);
+
+        // Then
+        assertThat(page.getItems()).hasSize(2);
+        assertThat(page.getNextAfter()).isEqualTo(12L);
+    }
+
+    @Test
+    void getMoviesPage_LastPage_HasNoCursor() {
+        // Given
+        when(movieRepository.findPageAfter(eq(0L), any())).thenReturn(List.of(
+                MovieDto.builder().id(1L).title("Movie 1").build()));
+
+        // When
+        MoviePageDto page = movieService.getMoviesPage(null, 2);
+
+        // Then
+        assertThat(page.getItems()).hasSize(1);
+        assertThat(page.getNextAfter()).isNull();
     }
 
 
@@ -102,72 +164,77 @@ class MovieServiceTest {
                 .releaseYear(2025)
                 .build();
 
-        Movie updatedMovie = Movie.builder()
-                .id(1L)
-                .title("Updated Movie")
-                .genre("Drama")
-                .durationMinutes(150)
-                .rating(BigDecimal.valueOf(9.0))
-                .releaseYear(2025)
-                .build();
-
-        when(movieRepository.findById(1L)).thenReturn(Optional.of(testMovie));
-        when(movieRepository.save(any(Movie.class))).thenReturn(updatedMovie);
+        when(movieTitleFilter.mightContain("updated movie")).thenReturn(true);
+        when(movieRepository.existsByNormalizedTitleAndIdNot("updated movie", 1L)).thenReturn(false);
+        when(movieRepository.updateById(1L, "Updated Movie", "updated movie", "Drama", 150, BigDecimal.valueOf(9.0), 2025))
+                .thenReturn(1);
 
         // When
         MovieDto result = movieService.updateMovie(1L, updateDto);
 
         // Then
         assertThat(result).isNotNull();
+        assertThat(result.getId()).isEqualTo(1L);
         assertThat(result.getTitle()).isEqualTo("Updated Movie");
         assertThat(result.getGenre()).isEqualTo("Drama");
         assertThat(result.getDurationMinutes()).isEqualTo(150);
-        assertThat(result.getRating()).isEqualTo(9.0);
+        assertThat(result.getRating()).isEqualTo(BigDecimal.valueOf(9.0));
         assertThat(result.getReleaseYear()).isEqualTo(2025);
-        
-        verify(movieRepository).findById(1L);
-        verify(movieRepository).save(any(Movie.class));
+
+        verify(movieRepository, never()).findById(any());
+        verify(movieRepository, never()).save(any());
     }
 
     @Test
     void updateMovie_NotFound() {
         // Given
-        when(movieRepository.findById(999L)).thenReturn(Optional.empty());
+        when(movieRepository.updateById(eq(999L), any(), any(), any(), any(), any(), any())).thenReturn(0);
 
         // When & Then
         assertThatThrownBy(() -> movieService.updateMovie(999L, testMovieDto))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Movie not found");
-        
-        verify(movieRepository).findById(999L);
-        verify(movieRepository, never()).save(any());
+
+        verify(movieRepository, never()).findById(any());
+    }
+
+    @Test
+    void updateMovie_DuplicateTitle_ThrowsConflictException() {
+        // Given
+        when(movieTitleFilter.mightContain("test movie")).thenReturn(true);
+        when(movieRepository.existsByNormalizedTitleAndIdNot("test movie", 1L)).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> movieService.updateMovie(1L, testMovieDto))
+                .isInstanceOf(ConflictException.class);
+
+        verify(movieRepository, never()).updateById(any(), any(), any(), any(), any(), any(), any());
     }
 
     @Test
     void deleteMovie_Success() {
         // Given
-        when(movieRepository.findById(1L)).thenReturn(Optional.of(testMovie));
-        doNothing().when(movieRepository).delete(testMovie);
+        when(movieRepository.deleteMovieById(1L)).thenReturn(1);
 
         // When
         movieService.deleteMovie(1L);
 
         // Then
-        verify(movieRepository).findById(1L);
-        verify(movieRepository).delete(testMovie);
+        verify(movieRepository).deleteMovieById(1L);
+        verify(movieRepository, never()).existsById(any());
+        verify(movieRepository, never()).findById(any());
     }
 
     @Test
     void deleteMovie_NotFound() {
         // Given
-        when(movieRepository.findById(999L)).thenReturn(Optional.empty());
+        when(movieRepository.deleteMovieById(999L)).thenReturn(0);
 
         // When & Then
         assertThatThrownBy(() -> movieService.deleteMovie(999L))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Movie not found");
-        
-        verify(movieRepository).findById(999L);
-        verify(movieRepository, never()).delete(any());
+
+        verify(movieRepository).deleteMovieById(999L);
     }
 }
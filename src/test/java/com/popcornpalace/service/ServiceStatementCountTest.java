@@ -0,0 +1,198 @@
+package com.popcornpalace.service;
+
+import com.popcornpalace.cache.MovieCatalog;
+import com.popcornpalace.dto.MovieDto;
+import com.popcornpalace.dto.ShowtimeDto;
+import com.popcornpalace.entity.Booking;
+import com.popcornpalace.entity.Movie;
+import com.popcornpalace.entity.Seat;
+import com.popcornpalace.entity.Showtime;
+import com.popcornpalace.entity.Theater;
+import com.popcornpalace.repository.BookingRepository;
+import com.popcornpalace.repository.MovieRepository;
+import com.popcornpalace.repository.SeatRepository;
+import com.popcornpalace.repository.ShowtimeRepository;
+import com.popcornpalace.repository.TheaterRepository;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Locks in the number of SQL statements each write path costs.
+ * After-commit cache listeners that read from the database are mocked out, they are not part of the write path.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ServiceStatementCountTest {
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private ShowtimeService showtimeService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private TheaterRepository theaterRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private MovieCatalog movieCatalog;
+
+    private Statistics statistics;
+    private Movie movie;
+    private Theater theater;
+    private Showtime showtime;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository.deleteAllInBatch();
+        showtimeRepository.deleteAllInBatch();
+        seatRepository.deleteAllInBatch();
+        theaterRepository.deleteAllInBatch();
+        movieRepository.deleteAllInBatch();
+
+        movie = movieRepository.save(Movie.builder()
+                .title("Statement Count")
+                .genre("Drama")
+                .durationMinutes(120)
+                .rating(new BigDecimal("7.5"))
+                .releaseYear(2024)
+                .build());
+        theater = theaterRepository.save(Theater.builder()
+                .name("Hall 1")
+                .location("Ground floor")
+                .capacity(10)
+                .build());
+        LocalDateTime start = LocalDateTime.now().plusDays(7).truncatedTo(ChronoUnit.MINUTES);
+        showtime = showtimeRepository.save(Showtime.builder()
+                .movie(movie)
+                .theater(theater)
+                .startTime(start)
+                .endTime(start.plusMinutes(120))
+                .price(new BigDecimal("12.00"))
+                .build());
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void updateMovie_OneStatement() {
+        movieService.updateMovie(movie.getId(), MovieDto.builder()
+                .title("Statement Count 2")
+                .genre("Comedy")
+                .durationMinutes(90)
+                .rating(new BigDecimal("6.0"))
+                .releaseYear(2023)
+                .build());
+
+        // update only: the title filter knows the new title is not taken
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(movieRepository.findById(movie.getId()))
+                .get()
+                .extracting(Movie::getTitle)
+                .isEqualTo("Statement Count 2");
+    }
+
+    @Test
+    void deleteMovie_OneStatement() {
+        Movie other = movieRepository.save(Movie.builder()
+                .title("Without Showtimes")
+                .genre("Drama")
+                .durationMinutes(100)
+                .rating(new BigDecimal("5.0"))
+                .releaseYear(2020)
+                .build());
+        statistics.clear();
+
+        movieService.deleteMovie(other.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(movieRepository.existsById(other.getId())).isFalse();
+    }
+
+    @Test
+    void deleteMovie_NotFound_OneStatement() {
+        assertThatThrownBy(() -> movieService.deleteMovie(Long.MAX_VALUE))
+                .isInstanceOf(EntityNotFoundException.class);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void updateShowtime_FiveStatements() {
+        LocalDateTime newStart = showtime.getStartTime().plusDays(1);
+
+        showtimeService.updateShowtime(showtime.getId(), ShowtimeDto.builder()
+                .movieId(movie.getId())
+                .theaterId(theater.getId())
+                .startTime(newStart)
+                .endTime(newStart.plusMinutes(120))
+                .price(new BigDecimal("14.00"))
+                .build());
+
+        // movie duration + theater check + overlap check + update + bookings partition key
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(5);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void deleteShowtime_TwoStatementsRegardlessOfBookings() {
+        for (int i = 1; i <= 3; i++) {
+            Seat seat = seatRepository.save(Seat.builder()
+                    .theater(theater)
+                    .row("A")
+                    .seatNumber(String.valueOf(i))
+                    .seatType(Seat.SeatType.REGULAR)
+                    .build());
+            bookingRepository.save(Booking.builder()
+                    .showtime(showtime)
+                    .showtimeStart(showtime.getStartTime())
+                    .seat(seat)
+                    .customerName("Customer " + i)
+                    .customerEmail("customer" + i + "@example.com")
+                    .totalPrice(showtime.getPrice())
+                    .bookingDate(OffsetDateTime.now())
+                    .build());
+        }
+        statistics.clear();
+
+        showtimeService.deleteShowtime(showtime.getId());
+
+        // bookings delete + showtime delete
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(bookingRepository.count()).isZero();
+    }
+}
@@ -1,20 +1,33 @@
 package com.popcornpalace.service;
 
+import com.popcornpalace.config.PartitioningProperties;
 import com.popcornpalace.dto.ShowtimeDto;
+import com.popcornpalace.dto.ShowtimePricesDto;
 import com.popcornpalace.entity.Movie;
+import com.popcornpalace.entity.Seat;
 import com.popcornpalace.entity.Showtime;
 import com.popcornpalace.entity.Theater;
 import com.popcornpalace.exception.ConflictException;
+import com.popcornpalace.metrics.DomainMetrics;
+import com.popcornpalace.pricing.Occupancy;
+import com.popcornpalace.pricing.PriceQuote;
+import com.popcornpalace.pricing.PricedShowtime;
+import com.popcornpalace.pricing.PricingEngine;
+import com.popcornpalace.repository.BookingRepository;
+import com.popcornpalace.repository.MovieRepository;
 import com.popcornpalace.repository.ShowtimeRepository;
+import com.popcornpalace.repository.TheaterRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -29,6 +42,27 @@ class ShowtimeServiceTest {
     @Mock
     private ShowtimeRepository showtimeRepository;
 
+    @Mock
+    private MovieRepository movieRepository;
+
+    @Mock
+    private TheaterRepository theaterRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PricingEngine pricingEngine;
+
+    @Mock
+    private DomainMetrics metrics;
+
+    @Mock
+    private PartitioningProperties partitioning;
+
     @InjectMocks
     private ShowtimeService showtimeService;
 
@@ -58,16 +92,16 @@ class ShowtimeServiceTest {
                 .id(1L)
                 .movie(testMovie)
                 .theater(testTheater)
-                .startTime(LocalDateTime.of(2024, 12, 25, 18, 0))
-                .endTime(LocalDateTime.of(2024, 12, 25, 20, 0)) // 18:00 + 2 hours = 20:00
+                .startTime(LocalDateTime.of(2099, 12, 25, 18, 0))
+                .endTime(LocalDateTime.of(2099, 12, 25, 20, 0)) // 18:00 + 2 hours = 20:00
                 .price(new BigDecimal("15.00"))
                 .build();
 
         testShowtimeDto = ShowtimeDto.builder()
                 .movieId(1L)
                 .theaterId(1L)
-                .startTime(LocalDateTime.of(2024, 12, 25, 18, 0))
-                .endTime(LocalDateTime.of(2024, 12, 25, 20, 0)) // 18:00 + 2 hours = 20:00
+                .startTime(LocalDateTime.of(2099, 12, 25, 18, 0))
+                .endTime(LocalDateTime.of(2099, 12, 25, 20, 0)) // 18:00 + 2 hours = 20:00
                 .price(new BigDecimal("15.00"))
                 .build();
     }
@@ -96,8 +130,8 @@ class ShowtimeServiceTest {
                 .id(2L)
                 .movie(testMovie)
                 .theater(testTheater)
-                .startTime(LocalDateTime.of(2024, 12, 25, 19, 0))
-                .endTime(LocalDateTime.of(2024, 12, 25, 21, 0)) // 19:00 + 2 hours = 21:00
+                .startTime(LocalDateTime.of(2099, 12, 25, 19, 0))
+                .endTime(LocalDateTime.of(2099, 12, 25, 21, 0)) // 19:00 + 2 hours = 21:00
                 .price(new BigDecimal("15.00"))
                 .build();
 
@@ -126,8 +160,8 @@ class ShowtimeServiceTest {
         ShowtimeDto invalidDto = ShowtimeDto.builder()
                 .movieId(1L)
                 .theaterId(1L)
-                .startTime(LocalDateTime.of(2024, 12, 25, 18, 0))
-                .endTime(LocalDateTime.of(2024, 12, 25, 19, 30)) // Wrong: should be 20:00 (18:00 + 2 hours)
+                .startTime(LocalDateTime.of(2099, 12, 25, 18, 0))
+                .endTime(LocalDateTime.of(2099, 12, 25, 19, 30)) // Wrong: should be 20:00 (18:00 + 2 hours)
                 .price(new BigDecimal("15.00"))
                 .build();
 
@@ -168,85 +202,124 @@ class ShowtimeServiceTest {
         verify(showtimeRepository).findById(999L);
     }
 
+    @Test
+    void getShowtimePrices_Success() {
+        // Given
+        Occupancy occupancy = new Occupancy(60, 100);
+        when(showtimeRepository.findPricedById(1L)).thenReturn(Optional.of(
+                new PricedShowtime(1L, 1L, new BigDecimal("15.00"), 0L)));
+        when(pricingEngine.occupancy(1L, 1L)).thenReturn(occupancy);
+        when(pricingEngine.quote(1L, new BigDecimal("15.00"), occupancy)).thenReturn(new PriceQuote(
+                1L, new BigDecimal("15.00"), 60, 100, new BigDecimal("1.10"),
+                Map.of(Seat.SeatType.REGULAR, new BigDecimal("16.50"))));
+
+        // When
+        ShowtimePricesDto result = showtimeService.getShowtimePrices(1L);
+
+        // Then
+        assertThat(result.getShowtimeId()).isEqualTo(1L);
+        assertThat(result.getBookedSeats()).isEqualTo(60);
+        assertThat(result.getCapacity()).isEqualTo(100);
+        assertThat(result.getPrices()).containsEntry(Seat.SeatType.REGULAR, new BigDecimal("16.50"));
+        verify(showtimeRepository, never()).findById(any());
+    }
+
     @Test
     void updateShowtime_Success() {
         // Given
         ShowtimeDto updateDto = ShowtimeDto.builder()
                 .movieId(1L)
                 .theaterId(1L)
-                .startTime(LocalDateTime.of(2024, 12, 25, 19, 0))
-                .endTime(LocalDateTime.of(2024, 12, 25, 21, 0))
-                .price(new BigDecimal("20.00"))
-                .build();
-
-        Showtime updatedShowtime = Showtime.builder()
-                .id(1L)
-                .movie(testMovie)
-                .theater(testTheater)
-                .startTime(LocalDateTime.of(2024, 12, 25, 19, 0))
-                .endTime(LocalDateTime.of(2024, 12, 25, 21, 0))
+                .startTime(LocalDateTime.of(2099, 12, 25, 19, 0))
+                .endTime(LocalDateTime.of(2099, 12, 25, 21, 0))
                 .price(new BigDecimal("20.00"))
                 .build();
 
-        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(testShowtime));
-        when(showtimeRepository.existsOverlappingShowtime(
+        when(movieRepository.findDurationMinutesById(1L)).thenReturn(Optional.of(120));
+        when(theaterRepository.existsById(1L)).thenReturn(true);
+        when(showtimeRepository.existsOverlappingShowtimeExcluding(
                 eq(testTheater.getId()),
                 any(LocalDateTime.class),
-                any(LocalDateTime.class)
+                any(LocalDateTime.class),
+                eq(1L)
         )).thenReturn(false);
-        when(showtimeRepository.save(any(Showtime.class))).thenReturn(updatedShowtime);
+        when(showtimeRepository.updateById(eq(1L), any(), any(), any(), any(), any())).thenReturn(1);
 
         // When
         ShowtimeDto result = showtimeService.updateShowtime(1L, updateDto);
 
         // Then
         assertThat(result).isNotNull();
-        assertThat(result.getPrice()).isEqualTo(20.0);
-        assertThat(result.getStartTime()).isEqualTo(LocalDateTime.of(2024, 12, 25, 19, 0));
+        assertThat(result.getPrice()).isEqualTo(new BigDecimal("20.00"));
+        assertThat(result.getStartTime()).isEqualTo(LocalDateTime.of(2099, 12, 25, 19, 0));
 
-        verify(showtimeRepository).findById(1L);
-        verify(showtimeRepository).save(any(Showtime.class));
+        verify(showtimeRepository, never()).findById(any());
+        verify(showtimeRepository, never()).save(any());
+        verify(bookingRepository).updateShowtimeStart(1L, LocalDateTime.of(2099, 12, 25, 19, 0));
+    }
+
+    @Test
+    void updateShowtime_Partitioned_LeavesBookingsToTheCascade() {
+        // Given
+        ShowtimeDto updateDto = ShowtimeDto.builder()
+                .movieId(1L)
+                .theaterId(1L)
+                .startTime(LocalDateTime.of(2099, 12, 25, 19, 0))
+                .endTime(LocalDateTime.of(2099, 12, 25, 21, 0))
+                .price(new BigDecimal("20.00"))
+                .build();
+
+        when(partitioning.isEnabled()).thenReturn(true);
+        when(movieRepository.findDurationMinutesById(1L)).thenReturn(Optional.of(120));
+        when(theaterRepository.existsById(1L)).thenReturn(true);
+        when(showtimeRepository.updateById(eq(1L), any(), any(), any(), any(), any())).thenReturn(1);
+
+        // When
+        showtimeService.updateShowtime(1L, updateDto);
+
+        // Then
+        verifyNoInteractions(bookingRepository);
     }
 
     @Test
     void updateShowtime_NotFound() {
         // Given
-        when(showtimeRepository.findById(999L)).thenReturn(Optional.empty());
+        when(movieRepository.findDurationMinutesById(1L)).thenReturn(Optional.of(120));
+        when(theaterRepository.existsById(1L)).thenReturn(true);
+        when(showtimeRepository.updateById(eq(999L), any(), any(), any(), any(), any())).thenReturn(0);
 
         // When & Then
         assertThatThrownBy(() -> showtimeService.updateShowtime(999L, testShowtimeDto))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Showtime not found");
 
-        verify(showtimeRepository).findById(999L);
-        verify(showtimeRepository, never()).save(any());
+        verify(bookingRepository, never()).updateShowtimeStart(any(), any());
     }
 
     @Test
     void deleteShowtime_Success() {
         // Given
-        when(showtimeRepository.findById(1L)).thenReturn(Optional.of(testShowtime));
-        doNothing().when(showtimeRepository).delete(testShowtime);
+        when(showtimeRepository.deleteShowtimeById(1L)).thenReturn(1);
 
         // When
         showtimeService.deleteShowtime(1L);
 
         // Then
-        verify(showtimeRepository).findById(1L);
-        verify(showtimeRepository).delete(testShowtime);
+        verify(bookingRepository).deleteByShowtimeId(1L);
+        verify(showtimeRepository).deleteShowtimeById(1L);
+        verify(showtimeRepository, never()).findById(any());
     }
 
     @Test
     void deleteShowtime_NotFound() {
         // Given
-        when(showtimeRepository.findById(999L)).thenReturn(Optional.empty());
+        when(showtimeRepository.deleteShowtimeById(999L)).thenReturn(0);
 
         // When & Then
         assertThatThrownBy(() -> showtimeService.deleteShowtime(999L))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Showtime not found");
 
-        verify(showtimeRepository).findById(999L);
-        verify(showtimeRepository, never()).delete(any());
+        verify(showtimeRepository).deleteShowtimeById(999L);
     }
 }
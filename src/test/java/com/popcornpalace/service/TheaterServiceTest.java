@@ -0,0 +1,188 @@
+package com.popcornpalace.service;
+
+import com.popcornpalace.dto.SeatLayoutRequestDto;
+import com.popcornpalace.dto.TheaterDto;
+import com.popcornpalace.entity.Seat;
+import com.popcornpalace.entity.Theater;
+import com.popcornpalace.event.SeatLayoutChangedEvent;
+import com.popcornpalace.exception.ConflictException;
+import com.popcornpalace.layout.SeatLayouts;
+import com.popcornpalace.repository.BookingRepository;
+import com.popcornpalace.repository.SeatBulkRepository;
+import com.popcornpalace.repository.SeatRepository;
+import com.popcornpalace.repository.ShowtimeRepository;
+import com.popcornpalace.repository.TheaterRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TheaterServiceTest {
+
+    @Mock
+    private TheaterRepository theaterRepository;
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    @Mock
+    private SeatBulkRepository seatBulkRepository;
+
+    @Mock
+    private ShowtimeRepository showtimeRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private SeatLayouts seatLayouts;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private TheaterService theaterService;
+
+    private Theater testTheater;
+
+    @BeforeEach
+    void setUp() {
+        testTheater = Theater.builder()
+                .id(1L)
+                .name("Hall 1")
+                .location("Ground floor")
+                .capacity(100)
+                .build();
+    }
+
+    @Test
+    void generateLayout_ThousandSeats_OneBulkInsert() {
+        // Given
+        when(theaterRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testTheater));
+        when(bookingRepository.existsBySeatTheaterId(1L)).thenReturn(false);
+        SeatLayoutRequestDto layout = SeatLayoutRequestDto.builder()
+                .rows(40)
+                .seatsPerRow(25)
+                .typeRanges(List.of(
+                        SeatLayoutRequestDto.TypeRange.builder().seatType(Seat.SeatType.PREMIUM).fromRow(30).toRow(40).build(),
+                        SeatLayoutRequestDto.TypeRange.builder().seatType(Seat.SeatType.VIP).fromRow(40).toRow(40).fromSeat(10).toSeat(15).build()))
+                .build();
+
+        // When
+        TheaterDto result = theaterService.generateLayout(1L, layout);
+
+        // Then
+        assertThat(result.getCapacity()).isEqualTo(1000);
+        assertThat(testTheater.getCapacity()).isEqualTo(1000);
+        verify(seatRepository).deleteByTheaterId(1L);
+        verify(seatLayouts).store(1L);
+        verify(eventPublisher).publishEvent(new SeatLayoutChangedEvent(1L));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SeatBulkRepository.NewSeat>> seats = ArgumentCaptor.forClass(List.class);
+        verify(seatBulkRepository).insertSeats(eq(1L), seats.capture());
+        assertThat(seats.getValue()).hasSize(1000);
+        assertThat(seats.getValue().get(0)).isEqualTo(new SeatBulkRepository.NewSeat("A", "1", Seat.SeatType.REGULAR));
+        assertThat(seats.getValue().get(999)).isEqualTo(new SeatBulkRepository.NewSeat("AN", "25", Seat.SeatType.PREMIUM));
+        assertThat(seats.getValue().get(39 * 25 + 9)).isEqualTo(new SeatBulkRepository.NewSeat("AN", "10", Seat.SeatType.VIP));
+    }
+
+    @Test
+    void generateLayout_WithBookings_ThrowsConflictException() {
+        // Given
+        when(theaterRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(testTheater));
+        when(bookingRepository.existsBySeatTheaterId(1L)).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> theaterService.generateLayout(1L, SeatLayoutRequestDto.builder().rows(2).seatsPerRow(2).build()))
+                .isInstanceOf(ConflictException.class);
+
+        verify(seatRepository, never()).deleteByTheaterId(any());
+        verify(seatBulkRepository, never()).insertSeats(anyLong(), any());
+    }
+
+    @Test
+    void generateLayout_TooManySeats_ThrowsIllegalArgument() {
+        // When & Then
+        assertThatThrownBy(() -> theaterService.generateLayout(1L, SeatLayoutRequestDto.builder().rows(11).seatsPerRow(100).build()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("1100 seats");
+
+        verifyNoInteractions(theaterRepository);
+    }
+
+    @Test
+    void createTheater_CapacityIsZeroUntilLayout() {
+        // Given
+        when(theaterRepository.save(any(Theater.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        TheaterDto create = TheaterDto.builder().name("Hall 2").location("First floor").capacity(120).build();
+
+        // When
+        TheaterDto result = theaterService.createTheater(create);
+
+        // Then
+        assertThat(result.getCapacity()).isZero();
+    }
+
+    @Test
+    void updateTheater_KeepsCapacityOfLayout() {
+        // Given
+        when(theaterRepository.findById(1L)).thenReturn(Optional.of(testTheater));
+        TheaterDto update = TheaterDto.builder().name("Hall 1A").location("Ground floor").capacity(120).build();
+
+        // When
+        TheaterDto result = theaterService.updateTheater(1L, update);
+
+        // Then
+        assertThat(result.getName()).isEqualTo("Hall 1A");
+        assertThat(result.getCapacity()).isEqualTo(100);
+    }
+
+    @Test
+    void deleteTheater_WithShowtimes_ThrowsConflictException() {
+        // Given
+        when(theaterRepository.existsById(1L)).thenReturn(true);
+        when(showtimeRepository.existsByTheaterId(1L)).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> theaterService.deleteTheater(1L))
+                .isInstanceOf(ConflictException.class);
+
+        verify(theaterRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void getTheaterById_NotFound() {
+        // Given
+        when(theaterRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> theaterService.getTheaterById(999L))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessageContaining("Theater not found");
+    }
+
+    @Test
+    void rowLabel_SpreadsheetStyle() {
+        assertThat(TheaterService.rowLabel(1)).isEqualTo("A");
+        assertThat(TheaterService.rowLabel(26)).isEqualTo("Z");
+        assertThat(TheaterService.rowLabel(27)).isEqualTo("AA");
+        assertThat(TheaterService.rowLabel(100)).isEqualTo("CV");
+    }
+}
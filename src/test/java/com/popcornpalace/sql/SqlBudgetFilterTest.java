@@ -0,0 +1,90 @@
+package com.popcornpalace.sql;
+
+import com.popcornpalace.config.SqlBudgetProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SqlBudgetFilterTest {
+
+    private SqlBudgetProperties properties;
+    private SimpleMeterRegistry registry;
+    private SqlBudgetFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SqlBudgetProperties();
+        properties.setDefaultMaxStatements(3);
+        properties.setFailOnViolation(true);
+        registry = new SimpleMeterRegistry();
+        filter = new SqlBudgetFilter(properties, registry);
+    }
+
+    @Test
+    void withinBudget_RecordsStatementsPerEndpoint() {
+        // When & Then
+        assertThatCode(() -> filter.doFilter(request(), new MockHttpServletResponse(), statements(
+                "select * from showtimes where id=?",
+                "insert into bookings values (?)")))
+                .doesNotThrowAnyException();
+        assertThat(registry.get("popcorn.request.sql.statements")
+                .tag("endpoint", "POST /api/bookings")
+                .summary()
+                .totalAmount()).isEqualTo(2);
+        assertThat(RequestSqlStats.current()).isNull();
+    }
+
+    @Test
+    void overBudget_FailsWhenConfigured() {
+        // When & Then
+        assertThatThrownBy(() -> filter.doFilter(request(), new MockHttpServletResponse(), statements(
+                "select a", "select b", "select c", "select d")))
+                .isInstanceOf(SqlBudgetExceededException.class)
+                .hasMessageContaining("POST /api/bookings ran 4 SQL statements, budget is 3");
+    }
+
+    @Test
+    void endpointBudget_OverridesDefault() {
+        // Given
+        properties.getEndpoints().put("POST /api/bookings", 5);
+
+        // When & Then
+        assertThatCode(() -> filter.doFilter(request(), new MockHttpServletResponse(), statements(
+                "select a", "select b", "select c", "select d")))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void repeatedSelect_ReportedAsProbableNPlusOne() {
+        // When & Then
+        assertThatThrownBy(() -> filter.doFilter(request(), new MockHttpServletResponse(), statements(
+                "select * from seats where id=?",
+                "select * from seats where id=?",
+                "select * from seats where id=?")))
+                .isInstanceOf(SqlBudgetExceededException.class)
+                .hasMessageContaining("Probable N+1 in POST /api/bookings: 3x select * from seats where id=?");
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/bookings");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/bookings");
+        return request;
+    }
+
+    //  Chain that "runs" the given statements as the request's SQL
+    private static FilterChain statements(String... sql) {
+        return (request, response) -> {
+            for (String statement : sql) {
+                RequestSqlStats.current().statement(statement, 1);
+            }
+        };
+    }
+}
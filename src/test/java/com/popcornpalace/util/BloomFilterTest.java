@@ -0,0 +1,37 @@
+package com.popcornpalace.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_NoFalseNegativesAndFewFalsePositives() {
+        // Given
+        BloomFilter filter = BloomFilter.create(1_000, 0.01);
+        IntStream.range(0, 1_000).forEach(i -> filter.add("title " + i));
+
+        // When & Then
+        assertThat(IntStream.range(0, 1_000).allMatch(i -> filter.mightContain("title " + i))).isTrue();
+        long falsePositives = IntStream.range(1_000, 11_000)
+                .filter(i -> filter.mightContain("title " + i))
+                .count();
+        assertThat(falsePositives).isLessThan(300); // about 100 expected at 1%
+        assertThat(filter.isSaturated()).isFalse();
+    }
+
+    @Test
+    void isSaturated_AfterMoreValuesThanExpected() {
+        // Given
+        BloomFilter filter = BloomFilter.create(10, 0.01);
+
+        // When
+        IntStream.range(0, 11).forEach(i -> filter.add("title " + i));
+
+        // Then
+        assertThat(filter.isSaturated()).isTrue();
+    }
+}
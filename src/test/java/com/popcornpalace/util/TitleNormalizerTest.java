@@ -0,0 +1,25 @@
+package com.popcornpalace.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TitleNormalizerTest {
+
+    @Test
+    void normalize_FoldsCaseAndWhitespaceOnly() {
+        assertThat(TitleNormalizer.normalize("  The   MATRIX ")).isEqualTo("the matrix");
+        assertThat(TitleNormalizer.normalize("Les Misérables")).isNotEqualTo(TitleNormalizer.normalize("Les Miserables"));
+        assertThat(TitleNormalizer.normalize("Heat!")).isNotEqualTo(TitleNormalizer.normalize("Heat"));
+        assertThat(TitleNormalizer.normalize("!!!")).isNotEqualTo(TitleNormalizer.normalize("?"));
+        assertThat(TitleNormalizer.normalize(null)).isEmpty();
+    }
+
+    @Test
+    void tokens_SplitsFoldedWords() {
+        assertThat(TitleNormalizer.tokens("Star Wars: Episode IV")).containsExactly("star", "wars", "episode", "iv");
+        assertThat(TitleNormalizer.tokens("  Amélie!  ")).containsExactly("amelie");
+        assertThat(TitleNormalizer.tokens("WALL·E")).containsExactly("wall", "e");
+        assertThat(TitleNormalizer.tokens("!!!")).isEmpty();
+    }
+}